@@ -38,13 +38,25 @@ public final class ArchConfiguration {
     static final String RESOLVE_MISSING_DEPENDENCIES_FROM_CLASS_PATH = "resolveMissingDependenciesFromClassPath";
     static final String CLASS_RESOLVER = "classResolver";
     static final String CLASS_RESOLVER_ARGS = "classResolver.args";
+    static final String CLASS_RESOLVER_MAX_DEPTH = "classResolver.maxDepth";
+    static final String CLASS_RESOLVER_MAX_CLASSES = "classResolver.maxClasses";
     @Internal
     public static final String ENABLE_MD5_IN_CLASS_SOURCES = "enableMd5InClassSources";
+    static final String ENABLE_PARALLEL_IMPORT = "enableParallelImport";
+    static final String IMPORT_CACHE_DIRECTORY = "importCache.directory";
+    static final String IMPORT_CACHE_MAX_SIZE_IN_MEGABYTES = "importCache.maxSizeInMegabytes";
+    static final String IMPORT_CACHE_MAX_AGE_IN_DAYS = "importCache.maxAgeInDays";
+    static final String CLASS_LOCATION_PRECEDENCE = "classLocationPrecedence";
 
-    private static final Map<String, String> PROPERTY_DEFAULTS = ImmutableMap.of(
-            RESOLVE_MISSING_DEPENDENCIES_FROM_CLASS_PATH, "" + false,
-            ENABLE_MD5_IN_CLASS_SOURCES, "" + false
-    );
+    private static final Map<String, String> PROPERTY_DEFAULTS = ImmutableMap.<String, String>builder()
+            .put(RESOLVE_MISSING_DEPENDENCIES_FROM_CLASS_PATH, "" + false)
+            .put(CLASS_RESOLVER_MAX_DEPTH, "" + Integer.MAX_VALUE)
+            .put(CLASS_RESOLVER_MAX_CLASSES, "" + Integer.MAX_VALUE)
+            .put(ENABLE_MD5_IN_CLASS_SOURCES, "" + false)
+            .put(ENABLE_PARALLEL_IMPORT, "" + false)
+            .put(IMPORT_CACHE_MAX_SIZE_IN_MEGABYTES, "" + 512)
+            .put(IMPORT_CACHE_MAX_AGE_IN_DAYS, "" + 30)
+            .build();
 
     private static final Supplier<ArchConfiguration> INSTANCE = Suppliers.memoize(new Supplier<ArchConfiguration>() {
         @Override
@@ -62,7 +74,14 @@ public final class ArchConfiguration {
     private boolean resolveMissingDependenciesFromClassPath;
     private Optional<String> classResolver = Optional.absent();
     private List<String> classResolverArguments = Collections.emptyList();
+    private int classResolverMaxDepth;
+    private int classResolverMaxClasses;
     private boolean enableMd5InClassSources;
+    private boolean enableParallelImport;
+    private Optional<String> importCacheDirectory = Optional.absent();
+    private long importCacheMaxSizeInMegabytes;
+    private int importCacheMaxAgeInDays;
+    private List<String> classLocationPrecedence = Collections.emptyList();
 
     private ArchConfiguration() {
         this(ARCHUNIT_PROPERTIES_RESOURCE_NAME);
@@ -105,8 +124,21 @@ public final class ArchConfiguration {
         classResolver = Optional.fromNullable(properties.getProperty(CLASS_RESOLVER));
         classResolverArguments = Splitter.on(",").trimResults().omitEmptyStrings()
                 .splitToList(properties.getProperty(CLASS_RESOLVER_ARGS, ""));
+        classResolverMaxDepth = Integer.parseInt(
+                propertyOrDefault(properties, CLASS_RESOLVER_MAX_DEPTH).trim());
+        classResolverMaxClasses = Integer.parseInt(
+                propertyOrDefault(properties, CLASS_RESOLVER_MAX_CLASSES).trim());
         enableMd5InClassSources = Boolean.valueOf(
                 propertyOrDefault(properties, ENABLE_MD5_IN_CLASS_SOURCES));
+        enableParallelImport = Boolean.valueOf(
+                propertyOrDefault(properties, ENABLE_PARALLEL_IMPORT));
+        importCacheDirectory = Optional.fromNullable(properties.getProperty(IMPORT_CACHE_DIRECTORY));
+        importCacheMaxSizeInMegabytes = Long.parseLong(
+                propertyOrDefault(properties, IMPORT_CACHE_MAX_SIZE_IN_MEGABYTES).trim());
+        importCacheMaxAgeInDays = Integer.parseInt(
+                propertyOrDefault(properties, IMPORT_CACHE_MAX_AGE_IN_DAYS).trim());
+        classLocationPrecedence = Splitter.on(",").trimResults().omitEmptyStrings()
+                .splitToList(properties.getProperty(CLASS_LOCATION_PRECEDENCE, ""));
     }
 
     @PublicAPI(usage = ACCESS)
@@ -119,6 +151,66 @@ public final class ArchConfiguration {
         this.enableMd5InClassSources = enabled;
     }
 
+    @PublicAPI(usage = ACCESS)
+    public boolean parallelImportEnabled() {
+        return enableParallelImport;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setParallelImportEnabled(boolean enabled) {
+        this.enableParallelImport = enabled;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public Optional<String> getImportCacheDirectory() {
+        return importCacheDirectory;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportCacheDirectory(String directory) {
+        this.importCacheDirectory = Optional.of(directory);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void unsetImportCacheDirectory() {
+        this.importCacheDirectory = Optional.absent();
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public long getImportCacheMaxSizeInMegabytes() {
+        return importCacheMaxSizeInMegabytes;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportCacheMaxSizeInMegabytes(long maxSizeInMegabytes) {
+        this.importCacheMaxSizeInMegabytes = maxSizeInMegabytes;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int getImportCacheMaxAgeInDays() {
+        return importCacheMaxAgeInDays;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setImportCacheMaxAgeInDays(int maxAgeInDays) {
+        this.importCacheMaxAgeInDays = maxAgeInDays;
+    }
+
+    /**
+     * @return Parts of location URIs (e.g. 'target/classes' or 'some-lib.jar') in the order of precedence,
+     * if several imported locations contain a class file for the same class. Locations containing none of the parts
+     * come last.
+     */
+    @PublicAPI(usage = ACCESS)
+    public List<String> getClassLocationPrecedence() {
+        return classLocationPrecedence;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setClassLocationPrecedence(String... locationParts) {
+        classLocationPrecedence = ImmutableList.copyOf(locationParts);
+    }
+
     @PublicAPI(usage = ACCESS)
     public Optional<String> getClassResolver() {
         return classResolver;
@@ -144,6 +236,35 @@ public final class ArchConfiguration {
         classResolverArguments = ImmutableList.copyOf(args);
     }
 
+    /**
+     * @return The maximal number of levels of missing types to resolve, where the first level are the types
+     * referenced by the imported classes, the second level the super types of those resolved types, and so on.
+     * Types beyond this level will not be passed to the {@link ClassResolver}.
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getClassResolverMaxDepth() {
+        return classResolverMaxDepth;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setClassResolverMaxDepth(int maxDepth) {
+        this.classResolverMaxDepth = maxDepth;
+    }
+
+    /**
+     * @return The maximal number of types to pass to the {@link ClassResolver} during one import. All further
+     * missing types will not be resolved.
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getClassResolverMaxClasses() {
+        return classResolverMaxClasses;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public void setClassResolverMaxClasses(int maxClasses) {
+        this.classResolverMaxClasses = maxClasses;
+    }
+
     private String propertyOrDefault(Properties properties, String propertyName) {
         return properties.getProperty(propertyName, PROPERTY_DEFAULTS.get(propertyName));
     }
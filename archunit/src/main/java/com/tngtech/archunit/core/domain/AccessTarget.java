@@ -224,7 +224,7 @@ public abstract class AccessTarget implements HasName.AndFullName, CanBeAnnotate
 
         ConstructorCallTarget(ConstructorCallTargetBuilder builder) {
             super(builder);
-            constructor = builder.getConstructor();
+            constructor = Suppliers.memoize(builder.getConstructor());
         }
 
         /**
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Splitter;
+import com.tngtech.archunit.base.Optional;
+
+/**
+ * Holds classes sorted by package (where a package directly precedes its sub packages) and by name within a package.
+ * Thus the classes of each package, as well as those of each package together with its sub packages, occupy a
+ * contiguous range of indexes, which is looked up in a trie of packages.
+ * Several {@link JavaClasses} share one {@link ClassesByPackage} and only differ by the {@link BitSet} of indexes they select.
+ */
+class ClassesByPackage {
+    private static final Comparator<JavaClass> BY_PACKAGE_AND_NAME = new Comparator<JavaClass>() {
+        @Override
+        public int compare(JavaClass first, JavaClass second) {
+            int result = comparePackages(first.getPackage(), second.getPackage());
+            return result != 0 ? result : first.getName().compareTo(second.getName());
+        }
+    };
+
+    private final JavaClass[] classes;
+    private final Map<String, Integer> indexByName;
+    private final PackageNode rootPackage = new PackageNode();
+
+    ClassesByPackage(Collection<JavaClass> classes) {
+        this.classes = classes.toArray(new JavaClass[classes.size()]);
+        Arrays.sort(this.classes, BY_PACKAGE_AND_NAME);
+        indexByName = new HashMap<>(this.classes.length * 2);
+        for (int index = 0; index < this.classes.length; index++) {
+            indexByName.put(this.classes[index].getName(), index);
+            addToPackages(index);
+        }
+    }
+
+    private void addToPackages(int index) {
+        List<String> parts = packagePartsOf(classes[index].getPackage());
+        int lastNonWordPart = -1;
+        for (int i = 0; i < parts.size(); i++) {
+            if (!isWord(parts.get(i))) {
+                lastNonWordPart = i;
+            }
+        }
+        PackageNode node = rootPackage.extendSubPackagesBy(index);
+        for (int i = 0; i < parts.size(); i++) {
+            node.onlyWordsBelow &= i > lastNonWordPart;
+            node = node.getOrCreateChild(parts.get(i)).extendSubPackagesBy(index);
+        }
+        node.extendOwnClassesBy(index);
+    }
+
+    int size() {
+        return classes.length;
+    }
+
+    JavaClass get(int index) {
+        return classes[index];
+    }
+
+    Optional<Integer> tryGetIndexOf(String typeName) {
+        return Optional.fromNullable(indexByName.get(typeName));
+    }
+
+    BitSet all() {
+        BitSet result = new BitSet(classes.length);
+        result.set(0, classes.length);
+        return result;
+    }
+
+    /**
+     * @return The indexes of the classes residing in exactly this package
+     */
+    BitSet inPackage(String packageName) {
+        BitSet result = new BitSet(classes.length);
+        Optional<PackageNode> node = findPackage(packageName);
+        if (node.isPresent() && node.get().ownStart >= 0) {
+            result.set(node.get().ownStart, node.get().ownEnd);
+        }
+        return result;
+    }
+
+    /**
+     * @return The indexes of the classes residing in this package or any sub package, where sub packages are
+     * only considered, if their names consist of word characters (i.e. [a-zA-Z_0-9]), like
+     * {@link com.tngtech.archunit.base.PackageMatcher} does for '..'
+     */
+    BitSet inPackageTree(String packageName) {
+        BitSet result = new BitSet(classes.length);
+        Optional<PackageNode> node = findPackage(packageName);
+        if (node.isPresent()) {
+            addPackageTree(node.get(), result);
+        }
+        return result;
+    }
+
+    private void addPackageTree(PackageNode node, BitSet result) {
+        if (node.onlyWordsBelow) {
+            setRange(result, node.start, node.end);
+            return;
+        }
+        setRange(result, node.ownStart, node.ownEnd);
+        for (Map.Entry<String, PackageNode> child : node.children.entrySet()) {
+            if (isWord(child.getKey())) {
+                addPackageTree(child.getValue(), result);
+            }
+        }
+    }
+
+    private static void setRange(BitSet result, int start, int end) {
+        if (start >= 0) {
+            result.set(start, end);
+        }
+    }
+
+    /**
+     * @return The indexes of the classes residing in any package matching the identifiers, if all identifiers are
+     * either a plain package name (e.g. 'com.foo') or a plain package name followed by '..' (e.g. 'com.foo..'),
+     * otherwise {@link Optional#absent()}, since the identifiers can't be looked up by range
+     * @see com.tngtech.archunit.base.PackageMatcher
+     */
+    Optional<BitSet> tryFindResidingInAnyPackage(Iterable<String> packageIdentifiers) {
+        BitSet result = new BitSet(classes.length);
+        for (String identifier : packageIdentifiers) {
+            boolean withSubPackages = identifier.endsWith("..");
+            String packageName = withSubPackages ? identifier.substring(0, identifier.length() - 2) : identifier;
+            if (!isPlainPackageName(packageName)) {
+                return Optional.absent();
+            }
+            result.or(withSubPackages ? inPackageTree(packageName) : inPackage(packageName));
+        }
+        return Optional.of(result);
+    }
+
+    // '$' is excluded, since PackageMatcher doesn't quote it
+    private static boolean isPlainPackageName(String packageName) {
+        for (String part : Splitter.on('.').split(packageName)) {
+            if (part.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < part.length(); i++) {
+                char c = part.charAt(i);
+                if (!Character.isLetterOrDigit(c) && c != '_') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWord(String part) {
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            boolean asciiLetterOrDigit = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (!asciiLetterOrDigit && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Optional<PackageNode> findPackage(String packageName) {
+        PackageNode node = rootPackage;
+        for (String part : packagePartsOf(packageName)) {
+            node = node.children.get(part);
+            if (node == null) {
+                return Optional.absent();
+            }
+        }
+        return Optional.of(node);
+    }
+
+    private static List<String> packagePartsOf(String packageName) {
+        return Splitter.on('.').omitEmptyStrings().splitToList(packageName);
+    }
+
+    // Like String.compareTo(..), but with '.' preceding any other character, so sub packages directly follow their parent
+    private static int comparePackages(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            char firstChar = first.charAt(i);
+            char secondChar = second.charAt(i);
+            if (firstChar != secondChar) {
+                if (firstChar == '.') {
+                    return -1;
+                }
+                return secondChar == '.' ? 1 : firstChar - secondChar;
+            }
+        }
+        return first.length() - second.length();
+    }
+
+    private static class PackageNode {
+        private final Map<String, PackageNode> children = new HashMap<>();
+        private int start = -1;
+        private int end = -1;
+        private int ownStart = -1;
+        private int ownEnd = -1;
+        private boolean onlyWordsBelow = true;
+
+        PackageNode getOrCreateChild(String part) {
+            PackageNode child = children.get(part);
+            if (child == null) {
+                child = new PackageNode();
+                children.put(part, child);
+            }
+            return child;
+        }
+
+        PackageNode extendSubPackagesBy(int index) {
+            if (start < 0) {
+                start = index;
+            }
+            end = index + 1;
+            return this;
+        }
+
+        void extendOwnClassesBy(int index) {
+            if (ownStart < 0) {
+                ownStart = index;
+            }
+            ownEnd = index + 1;
+        }
+    }
+}
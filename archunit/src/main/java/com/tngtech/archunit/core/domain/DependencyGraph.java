@@ -0,0 +1,372 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.base.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * An immutable graph of the {@link JavaClass#getDirectDependencies() direct dependencies} between a set of
+ * {@link JavaClasses}. Each class is identified by a dense id from <code>0</code> to <code>size() - 1</code>;
+ * dependencies to classes outside of the set, as well as dependencies of a class on itself, are not part of the graph.
+ * Each dependency between two classes is contained once, no matter how many accesses cause it.
+ * <br><br>
+ * Outgoing and incoming dependencies are stored as adjacency arrays, i.e. the targets of class <code>id</code> are
+ * <code>getOutgoing(id, 0)</code> until <code>getOutgoing(id, getOutDegree(id) - 1)</code>, thus traversals
+ * don't need to allocate any objects.
+ * <br><br>
+ * Transitive dependencies and dependents are computed on the graph condensed to its strongly connected components,
+ * once per component, and memoized as {@link BitSet BitSets} of class ids.
+ */
+public final class DependencyGraph {
+    private final JavaClass[] classes;
+    private final Map<JavaClass, Integer> ids;
+    private final int[] outgoingOffsets;
+    private final int[] outgoingTargets;
+    private final int[] incomingOffsets;
+    private final int[] incomingOrigins;
+    private final Supplier<Reachability> dependencies = Suppliers.memoize(new Supplier<Reachability>() {
+        @Override
+        public Reachability get() {
+            return new Reachability(outgoingOffsets, outgoingTargets);
+        }
+    });
+    private final Supplier<Reachability> dependents = Suppliers.memoize(new Supplier<Reachability>() {
+        @Override
+        public Reachability get() {
+            return new Reachability(incomingOffsets, incomingOrigins);
+        }
+    });
+
+    private DependencyGraph(JavaClass[] classes, Map<JavaClass, Integer> ids, int[] outgoingOffsets, int[] outgoingTargets) {
+        this.classes = classes;
+        this.ids = ids;
+        this.outgoingOffsets = outgoingOffsets;
+        this.outgoingTargets = outgoingTargets;
+        this.incomingOffsets = new int[classes.length + 1];
+        this.incomingOrigins = new int[outgoingTargets.length];
+        invertOutgoing();
+    }
+
+    private void invertOutgoing() {
+        for (int target : outgoingTargets) {
+            incomingOffsets[target + 1]++;
+        }
+        for (int id = 0; id < classes.length; id++) {
+            incomingOffsets[id + 1] += incomingOffsets[id];
+        }
+        int[] next = Arrays.copyOf(incomingOffsets, classes.length);
+        for (int origin = 0; origin < classes.length; origin++) {
+            for (int i = outgoingOffsets[origin]; i < outgoingOffsets[origin + 1]; i++) {
+                incomingOrigins[next[outgoingTargets[i]]++] = origin;
+            }
+        }
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int size() {
+        return classes.length;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int getNumberOfDependencies() {
+        return outgoingTargets.length;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public JavaClass getJavaClass(int id) {
+        checkId(id);
+        return classes[id];
+    }
+
+    /**
+     * @return The id of the supplied class, or {@link Optional#absent()}, if the class is not part of this graph
+     */
+    @PublicAPI(usage = ACCESS)
+    public Optional<Integer> tryGetId(JavaClass javaClass) {
+        return Optional.fromNullable(ids.get(javaClass));
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int getId(JavaClass javaClass) {
+        Integer id = ids.get(javaClass);
+        checkArgument(id != null, "%s is not part of this %s", javaClass.getName(), getClass().getSimpleName());
+        return id;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int getOutDegree(int id) {
+        checkId(id);
+        return outgoingOffsets[id + 1] - outgoingOffsets[id];
+    }
+
+    /**
+     * @return The id of the <code>index</code>-th class the class with the supplied id depends on
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getOutgoing(int id, int index) {
+        checkArgument(index >= 0 && index < getOutDegree(id), "Index %s is out of bounds", index);
+        return outgoingTargets[outgoingOffsets[id] + index];
+    }
+
+    /**
+     * @return The ids of all classes the class with the supplied id depends on (as a copy)
+     */
+    @PublicAPI(usage = ACCESS)
+    public int[] getOutgoing(int id) {
+        checkId(id);
+        return Arrays.copyOfRange(outgoingTargets, outgoingOffsets[id], outgoingOffsets[id + 1]);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int getInDegree(int id) {
+        checkId(id);
+        return incomingOffsets[id + 1] - incomingOffsets[id];
+    }
+
+    /**
+     * @return The id of the <code>index</code>-th class depending on the class with the supplied id
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getIncoming(int id, int index) {
+        checkArgument(index >= 0 && index < getInDegree(id), "Index %s is out of bounds", index);
+        return incomingOrigins[incomingOffsets[id] + index];
+    }
+
+    /**
+     * @return The ids of all classes depending on the class with the supplied id (as a copy)
+     */
+    @PublicAPI(usage = ACCESS)
+    public int[] getIncoming(int id) {
+        checkId(id);
+        return Arrays.copyOfRange(incomingOrigins, incomingOffsets[id], incomingOffsets[id + 1]);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public boolean dependsOn(int originId, int targetId) {
+        checkId(originId);
+        checkId(targetId);
+        for (int i = outgoingOffsets[originId]; i < outgoingOffsets[originId + 1]; i++) {
+            if (outgoingTargets[i] == targetId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The ids of all classes the class with the supplied id depends on directly or indirectly (as a copy).
+     * The class itself is only contained, if it is part of a dependency cycle.
+     */
+    @PublicAPI(usage = ACCESS)
+    public BitSet getTransitiveDependencies(int id) {
+        checkId(id);
+        return (BitSet) dependencies.get().getReachableFrom(id).clone();
+    }
+
+    /**
+     * @return The ids of all classes that depend directly or indirectly on the class with the supplied id (as a copy).
+     * The class itself is only contained, if it is part of a dependency cycle.
+     */
+    @PublicAPI(usage = ACCESS)
+    public BitSet getTransitiveDependents(int id) {
+        checkId(id);
+        return (BitSet) dependents.get().getReachableFrom(id).clone();
+    }
+
+    /**
+     * @return The ids of all classes any of the supplied classes depends on directly or indirectly
+     */
+    @PublicAPI(usage = ACCESS)
+    public BitSet getTransitiveDependencies(BitSet ids) {
+        return union(dependencies.get(), ids);
+    }
+
+    /**
+     * @return The ids of all classes that depend directly or indirectly on any of the supplied classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public BitSet getTransitiveDependents(BitSet ids) {
+        return union(dependents.get(), ids);
+    }
+
+    private BitSet union(Reachability reachability, BitSet ids) {
+        BitSet result = new BitSet(classes.length);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            checkId(id);
+            result.or(reachability.getReachableFrom(id));
+        }
+        return result;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public boolean dependsTransitivelyOn(int originId, int targetId) {
+        checkId(originId);
+        checkId(targetId);
+        return dependencies.get().getReachableFrom(originId).get(targetId);
+    }
+
+    /**
+     * @return true, if the classes with the supplied ids depend on each other, directly or indirectly
+     */
+    @PublicAPI(usage = ACCESS)
+    public boolean areInSameCycle(int firstId, int secondId) {
+        checkId(firstId);
+        checkId(secondId);
+        Reachability reachability = dependencies.get();
+        return firstId != secondId && reachability.getComponent(firstId) == reachability.getComponent(secondId);
+    }
+
+    Set<JavaClass> getTransitiveDependenciesOf(JavaClass javaClass) {
+        Integer id = ids.get(javaClass);
+        return id != null ? new ClassSet(dependencies.get().getReachableFrom(id)) : Collections.<JavaClass>emptySet();
+    }
+
+    Set<JavaClass> getTransitiveDependentsOf(JavaClass javaClass) {
+        Integer id = ids.get(javaClass);
+        return id != null ? new ClassSet(dependents.get().getReachableFrom(id)) : Collections.<JavaClass>emptySet();
+    }
+
+    Set<JavaClass> classesOf(BitSet ids) {
+        return new ClassSet(ids);
+    }
+
+    private void checkId(int id) {
+        checkArgument(id >= 0 && id < classes.length, "There is no class with id %s", id);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{classes=" + classes.length + ", dependencies=" + outgoingTargets.length + '}';
+    }
+
+    static DependencyGraph of(Collection<JavaClass> javaClasses) {
+        JavaClass[] classes = javaClasses.toArray(new JavaClass[javaClasses.size()]);
+        Map<JavaClass, Integer> ids = new IdentityHashMap<>(classes.length);
+        for (int id = 0; id < classes.length; id++) {
+            ids.put(classes[id], id);
+        }
+
+        int[] offsets = new int[classes.length + 1];
+        IntList targets = new IntList();
+        // The last origin each target was added for, to add each dependency only once
+        int[] lastOrigin = new int[classes.length];
+        Arrays.fill(lastOrigin, -1);
+        for (int origin = 0; origin < classes.length; origin++) {
+            JavaClass javaClass = classes[origin];
+            for (JavaAccess<?> access : javaClass.getAccessesFromSelf()) { // Includes direct super class due to super(..) call
+                add(origin, ids.get(access.getTargetOwner()), lastOrigin, targets);
+            }
+            for (JavaClass i : javaClass.getInterfaces()) {
+                add(origin, ids.get(i), lastOrigin, targets);
+            }
+            offsets[origin + 1] = targets.size();
+        }
+        return new DependencyGraph(classes, ids, offsets, targets.toArray());
+    }
+
+    private static void add(int origin, Integer target, int[] lastOrigin, IntList targets) {
+        if (target != null && target != origin && lastOrigin[target] != origin) {
+            lastOrigin[target] = origin;
+            targets.add(target);
+        }
+    }
+
+    // An unmodifiable view of the classes with certain ids, the ids must not be modified
+    private class ClassSet extends AbstractSet<JavaClass> {
+        private final BitSet ids;
+        private final int size;
+
+        ClassSet(BitSet ids) {
+            this.ids = ids;
+            this.size = ids.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer id = DependencyGraph.this.ids.get(o);
+            return id != null && ids.get(id);
+        }
+
+        @Override
+        public Iterator<JavaClass> iterator() {
+            return new Iterator<JavaClass>() {
+                private int next = ids.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public JavaClass next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    JavaClass result = classes[next];
+                    next = ids.nextSetBit(next + 1);
+                    return result;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -17,18 +17,15 @@ package com.tngtech.archunit.core.domain;
 
 import java.net.URI;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.SetMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.tngtech.archunit.Internal;
-import com.tngtech.archunit.base.Function;
+import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.importer.DomainBuilders;
 import com.tngtech.archunit.core.importer.DomainBuilders.ConstructorCallTargetBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.FieldAccessTargetBuilder;
@@ -58,14 +55,26 @@ import com.tngtech.archunit.core.importer.DomainBuilders.MethodCallTargetBuilder
  */
 @Internal
 public class DomainObjectCreationContext {
-    public static JavaClasses createJavaClasses(Map<String, JavaClass> classes, ImportContext importContext) {
-        return JavaClasses.of(classes, importContext);
+    public static JavaClasses createJavaClasses(Map<String, JavaClass> classes, ImportContext importContext, boolean accessDataAvailable) {
+        return JavaClasses.of(classes, importContext, accessDataAvailable);
     }
 
     public static JavaClass createJavaClass(JavaClassBuilder builder) {
         return new JavaClass(builder);
     }
 
+    /**
+     * Creates a stub, that is only completed from the supplied {@link ImportContext}, once any details
+     * (e.g. super classes or members) are requested. The class file is then imported via the supplied import,
+     * which returns absent, if the class file couldn't be imported.
+     */
+    public static JavaClass createLazyJavaClass(JavaClassBuilder builder,
+            Supplier<Optional<JavaClassBuilder>> classFileImport, ImportContext importContext) {
+        JavaClass javaClass = new JavaClass(builder);
+        javaClass.importLazilyFrom(classFileImport, importContext);
+        return javaClass;
+    }
+
     public static void completeClassHierarchy(JavaClass javaClass, ImportContext importContext) {
         javaClass.completeClassHierarchyFrom(importContext);
     }
@@ -74,6 +83,18 @@ public class DomainObjectCreationContext {
         javaClass.completeMembers(importContext);
     }
 
+    public static Set<JavaField> getAllFieldsWithName(JavaClass javaClass, String name) {
+        return javaClass.getAllFieldsWithName(name);
+    }
+
+    public static Set<JavaMethod> getMethodsWithName(JavaClass javaClass, String name) {
+        return javaClass.getMethodsWithName(name);
+    }
+
+    public static Set<JavaMethod> getAllMethodsWithName(JavaClass javaClass, String name) {
+        return javaClass.getAllMethodsWithName(name);
+    }
+
     public static JavaAnnotation createJavaAnnotation(JavaAnnotationBuilder builder) {
         return new JavaAnnotation(builder);
     }
@@ -130,39 +151,57 @@ public class DomainObjectCreationContext {
         return new Source(uri);
     }
 
-    static class AccessContext {
-        final SetMultimap<JavaClass, JavaFieldAccess> fieldAccessesByTarget = HashMultimap.create();
-        final SetMultimap<JavaClass, JavaMethodCall> methodCallsByTarget = HashMultimap.create();
-        final SetMultimap<String, JavaConstructorCall> constructorCallsByTarget = HashMultimap.create();
-
-        private AccessContext() {
-        }
-
-        void mergeWith(AccessContext other) {
-            fieldAccessesByTarget.putAll(other.fieldAccessesByTarget);
-            methodCallsByTarget.putAll(other.methodCallsByTarget);
-            constructorCallsByTarget.putAll(other.constructorCallsByTarget);
-        }
-
-        static class Part extends AccessContext {
-            Part() {
-            }
+    public static Source createSource(URI uri, byte[] bytes) {
+        return new Source(uri, bytes);
+    }
 
-            Part(JavaCodeUnit codeUnit) {
-                for (JavaFieldAccess access : codeUnit.getFieldAccesses()) {
-                    fieldAccessesByTarget.put(access.getTarget().getOwner(), access);
-                }
-                for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
-                    methodCallsByTarget.put(call.getTarget().getOwner(), call);
-                }
-                for (JavaConstructorCall call : codeUnit.getConstructorCallsFromSelf()) {
-                    constructorCallsByTarget.put(call.getTarget().getFullName(), call);
+    /**
+     * Reverse index of all accesses, i.e. for each member all accesses of imported classes, that resolve to
+     * this member. The index is created in a single pass over all accesses, resolving each target only once.
+     */
+    static class AccessContext {
+        private final ImmutableSetMultimap<JavaField, JavaFieldAccess> fieldAccessesByTarget;
+        private final ImmutableSetMultimap<JavaMethod, JavaMethodCall> methodCallsByTarget;
+        private final ImmutableSetMultimap<String, JavaConstructorCall> constructorCallsByTarget;
+
+        private AccessContext(Collection<JavaClass> classes) {
+            ImmutableSetMultimap.Builder<JavaField, JavaFieldAccess> fieldAccesses = ImmutableSetMultimap.builder();
+            ImmutableSetMultimap.Builder<JavaMethod, JavaMethodCall> methodCalls = ImmutableSetMultimap.builder();
+            ImmutableSetMultimap.Builder<String, JavaConstructorCall> constructorCalls = ImmutableSetMultimap.builder();
+            for (JavaClass javaClass : classes) {
+                for (JavaCodeUnit codeUnit : javaClass.getCodeUnits()) {
+                    for (JavaFieldAccess access : codeUnit.getFieldAccesses()) {
+                        for (JavaField field : access.getTarget().resolveField().asSet()) {
+                            fieldAccesses.put(field, access);
+                        }
+                    }
+                    for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+                        for (JavaMethod method : call.getTarget().resolve()) {
+                            methodCalls.put(method, call);
+                        }
+                    }
+                    for (JavaConstructorCall call : codeUnit.getConstructorCallsFromSelf()) {
+                        constructorCalls.put(call.getTarget().getFullName(), call);
+                    }
                 }
             }
+            fieldAccessesByTarget = fieldAccesses.build();
+            methodCallsByTarget = methodCalls.build();
+            constructorCallsByTarget = constructorCalls.build();
         }
 
-        static class TopProcess extends AccessContext {
+        /**
+         * The accesses of all classes are only collected, once accesses to any member are requested
+         * for the first time, since collecting them might require decoding the bodies of all code units.
+         */
+        static class TopProcess {
             private final Collection<JavaClass> classes;
+            private final Supplier<AccessContext> context = Suppliers.memoize(new Supplier<AccessContext>() {
+                @Override
+                public AccessContext get() {
+                    return new AccessContext(classes);
+                }
+            });
 
             TopProcess(Collection<JavaClass> classes) {
                 this.classes = classes;
@@ -177,68 +216,36 @@ public class DomainObjectCreationContext {
                         method.registerCallsToMethod(getMethodCallsOf(method));
                     }
                     for (final JavaConstructor constructor : clazz.getConstructors()) {
-                        constructor.registerCallsToConstructor(constructorCallsByTarget.get(constructor.getFullName()));
+                        constructor.registerCallsToConstructor(getCallsOf(constructor));
                     }
                 }
             }
 
-            private Supplier<Set<JavaFieldAccess>> getFieldAccessesTo(final JavaField field) {
-                return newAccessSupplier(field.getOwner(), fieldAccessTargetResolvesTo(field));
-            }
-
-            private Function<JavaClass, Set<JavaFieldAccess>> fieldAccessTargetResolvesTo(final JavaField field) {
-                return new Function<JavaClass, Set<JavaFieldAccess>>() {
+            private Supplier<Set<JavaConstructorCall>> getCallsOf(final JavaConstructor constructor) {
+                return new Supplier<Set<JavaConstructorCall>>() {
                     @Override
-                    public Set<JavaFieldAccess> apply(JavaClass input) {
-                        Set<JavaFieldAccess> result = new HashSet<>();
-                        for (JavaFieldAccess access : fieldAccessesByTarget.get(input)) {
-                            if (access.getTarget().resolveField().asSet().contains(field)) {
-                                result.add(access);
-                            }
-                        }
-                        return result;
+                    public Set<JavaConstructorCall> get() {
+                        return context.get().constructorCallsByTarget.get(constructor.getFullName());
                     }
                 };
             }
 
-            private Supplier<Set<JavaMethodCall>> getMethodCallsOf(final JavaMethod method) {
-                return newAccessSupplier(method.getOwner(), methodCallTargetResolvesTo(method));
-            }
-
-            private Function<JavaClass, Set<JavaMethodCall>> methodCallTargetResolvesTo(final JavaMethod method) {
-                return new Function<JavaClass, Set<JavaMethodCall>>() {
+            private Supplier<Set<JavaFieldAccess>> getFieldAccessesTo(final JavaField field) {
+                return new Supplier<Set<JavaFieldAccess>>() {
                     @Override
-                    public Set<JavaMethodCall> apply(JavaClass input) {
-                        Set<JavaMethodCall> result = new HashSet<>();
-                        for (JavaMethodCall call : methodCallsByTarget.get(input)) {
-                            if (call.getTarget().resolve().contains(method)) {
-                                result.add(call);
-                            }
-                        }
-                        return result;
+                    public Set<JavaFieldAccess> get() {
+                        return context.get().fieldAccessesByTarget.get(field);
                     }
                 };
             }
 
-            private <T> Supplier<Set<T>> newAccessSupplier(final JavaClass owner, final Function<JavaClass, Set<T>> doWithEachClass) {
-
-                return Suppliers.memoize(new Supplier<Set<T>>() {
+            private Supplier<Set<JavaMethodCall>> getMethodCallsOf(final JavaMethod method) {
+                return new Supplier<Set<JavaMethodCall>>() {
                     @Override
-                    public Set<T> get() {
-                        ImmutableSet.Builder<T> result = ImmutableSet.builder();
-                        for (final JavaClass javaClass : getPossibleTargetClassesForAccess()) {
-                            result.addAll(doWithEachClass.apply(javaClass));
-                        }
-                        return result.build();
+                    public Set<JavaMethodCall> get() {
+                        return context.get().methodCallsByTarget.get(method);
                     }
-
-                    private Set<JavaClass> getPossibleTargetClassesForAccess() {
-                        return ImmutableSet.<JavaClass>builder()
-                                .add(owner)
-                                .addAll(owner.getAllSubClasses())
-                                .build();
-                    }
-                });
+                };
             }
         }
     }
@@ -56,24 +56,35 @@ import static com.tngtech.archunit.core.domain.properties.HasName.Functions.GET_
 public class JavaClass implements HasName, HasAnnotations, HasModifiers {
     private final Optional<Source> source;
     private final JavaType javaType;
-    private final boolean isInterface;
-    private final Set<JavaModifier> modifiers;
+    private boolean isInterface;
+    private Set<JavaModifier> modifiers;
     private final Supplier<Class<?>> reflectSupplier;
+    private LazyImport lazyImport;
+    private Optional<JavaClasses> importedClasses = Optional.absent();
     private Set<JavaField> fields = new HashSet<>();
     private Set<JavaCodeUnit> codeUnits = new HashSet<>();
     private Set<JavaMethod> methods = new HashSet<>();
     private Set<JavaMember> members = new HashSet<>();
     private Set<JavaConstructor> constructors = new HashSet<>();
+    private MemberIndex<JavaField> fieldIndex = MemberIndex.empty();
+    private MemberIndex<JavaCodeUnit> codeUnitIndex = MemberIndex.empty();
+    private MemberIndex<JavaMethod> methodIndex = MemberIndex.empty();
     private Optional<JavaStaticInitializer> staticInitializer = Optional.absent();
     private Optional<JavaClass> superClass = Optional.absent();
     private final Set<JavaClass> interfaces = new HashSet<>();
-    private final Set<JavaClass> subClasses = new HashSet<>();
+    private final Set<JavaClass> subClasses = Sets.newConcurrentHashSet();
+    // Computed on first request from the respective views of the direct super types (resp. sub types). Thus if a view
+    // is computed, so are the views of all super types (resp. sub types), and changes only need to reset computed views.
+    private volatile SuperTypes superTypes;
+    private volatile SubTypes subTypes;
     private Optional<JavaClass> enclosingClass = Optional.absent();
     private Supplier<Map<String, JavaAnnotation>> annotations =
             Suppliers.ofInstance(Collections.<String, JavaAnnotation>emptyMap());
     private Supplier<Set<JavaMethod>> allMethods;
     private Supplier<Set<JavaConstructor>> allConstructors;
     private Supplier<Set<JavaField>> allFields;
+    private Supplier<MemberIndex<JavaField>> allFieldIndex;
+    private Supplier<MemberIndex<JavaMethod>> allMethodIndex;
     private Supplier<Set<JavaMember>> allMembers = Suppliers.memoize(new Supplier<Set<JavaMember>>() {
         @Override
         public Set<JavaMember> get() {
@@ -84,6 +95,72 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
                     .build();
         }
     });
+    // Accesses are only complete once the import is done, thus these views are computed on first request
+    private final Supplier<Set<JavaFieldAccess>> fieldAccessesFromSelf = Suppliers.memoize(new Supplier<Set<JavaFieldAccess>>() {
+        @Override
+        public Set<JavaFieldAccess> get() {
+            ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
+            for (JavaCodeUnit codeUnit : getCodeUnits()) {
+                result.addAll(codeUnit.getFieldAccesses());
+            }
+            return result.build();
+        }
+    });
+    private final Supplier<Set<JavaMethodCall>> methodCallsFromSelf = Suppliers.memoize(new Supplier<Set<JavaMethodCall>>() {
+        @Override
+        public Set<JavaMethodCall> get() {
+            ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
+            for (JavaCodeUnit codeUnit : getCodeUnits()) {
+                result.addAll(codeUnit.getMethodCallsFromSelf());
+            }
+            return result.build();
+        }
+    });
+    private final Supplier<Set<JavaConstructorCall>> constructorCallsFromSelf = Suppliers.memoize(new Supplier<Set<JavaConstructorCall>>() {
+        @Override
+        public Set<JavaConstructorCall> get() {
+            ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
+            for (JavaCodeUnit codeUnit : getCodeUnits()) {
+                result.addAll(codeUnit.getConstructorCallsFromSelf());
+            }
+            return result.build();
+        }
+    });
+    private final Supplier<Set<JavaAccess<?>>> accessesFromSelf = Suppliers.memoize(new Supplier<Set<JavaAccess<?>>>() {
+        @Override
+        public Set<JavaAccess<?>> get() {
+            return ImmutableSet.<JavaAccess<?>>builder()
+                    .addAll(getFieldAccessesFromSelf())
+                    .addAll(getMethodCallsFromSelf())
+                    .addAll(getConstructorCallsFromSelf())
+                    .build();
+        }
+    });
+    private final Supplier<Set<JavaAccess<?>>> accessesToSelf = Suppliers.memoize(new Supplier<Set<JavaAccess<?>>>() {
+        @Override
+        public Set<JavaAccess<?>> get() {
+            return ImmutableSet.<JavaAccess<?>>builder()
+                    .addAll(getFieldAccessesToSelf())
+                    .addAll(getMethodCallsToSelf())
+                    .addAll(getConstructorCallsToSelf())
+                    .build();
+        }
+    });
+    private final Supplier<Set<Dependency>> directDependencies = Suppliers.memoize(new Supplier<Set<Dependency>>() {
+        @Override
+        public Set<Dependency> get() {
+            ImmutableSet.Builder<Dependency> result = ImmutableSet.builder();
+            for (JavaAccess<?> access : getAccessesFromSelf()) { // Includes direct super class due to super(..) call
+                if (!access.getTarget().getOwner().equals(JavaClass.this)) {
+                    result.add(Dependency.from(access));
+                }
+            }
+            for (JavaClass i : getInterfaces()) {
+                result.add(Dependency.from(JavaClass.this, i));
+            }
+            return result.build();
+        }
+    });
 
     JavaClass(JavaClassBuilder builder) {
         source = checkNotNull(builder.getSource());
@@ -115,11 +192,13 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public boolean isInterface() {
+        ensureImported();
         return isInterface;
     }
 
     @Override
     public Set<JavaModifier> getModifiers() {
+        ensureImported();
         return modifiers;
     }
 
@@ -130,12 +209,12 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @Override
     public boolean isAnnotatedWith(String annotationTypeName) {
-        return annotations.get().containsKey(annotationTypeName);
+        return getAnnotationsByTypeName().containsKey(annotationTypeName);
     }
 
     @Override
     public boolean isAnnotatedWith(DescribedPredicate<? super JavaAnnotation> predicate) {
-        return CanBeAnnotated.Utils.isAnnotatedWith(annotations.get().values(), predicate);
+        return CanBeAnnotated.Utils.isAnnotatedWith(getAnnotationsByTypeName().values(), predicate);
     }
 
     /**
@@ -158,7 +237,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @Override
     public Set<JavaAnnotation> getAnnotations() {
-        return ImmutableSet.copyOf(annotations.get().values());
+        return ImmutableSet.copyOf(getAnnotationsByTypeName().values());
     }
 
     /**
@@ -178,11 +257,17 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
      */
     @Override
     public Optional<JavaAnnotation> tryGetAnnotationOfType(String typeName) {
-        return Optional.fromNullable(annotations.get().get(typeName));
+        return Optional.fromNullable(getAnnotationsByTypeName().get(typeName));
+    }
+
+    private Map<String, JavaAnnotation> getAnnotationsByTypeName() {
+        ensureImported();
+        return annotations.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Optional<JavaClass> getSuperClass() {
+        ensureImported();
         return superClass;
     }
 
@@ -191,10 +276,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
      */
     @PublicAPI(usage = ACCESS)
     public List<JavaClass> getClassHierarchy() {
-        ImmutableList.Builder<JavaClass> result = ImmutableList.builder();
-        result.add(this);
-        result.addAll(getAllSuperClasses());
-        return result.build();
+        return getSuperTypes().classHierarchy;
     }
 
     /**
@@ -203,13 +285,8 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
      */
     @PublicAPI(usage = ACCESS)
     public List<JavaClass> getAllSuperClasses() {
-        ImmutableList.Builder<JavaClass> result = ImmutableList.builder();
-        JavaClass current = this;
-        while (current.getSuperClass().isPresent()) {
-            current = current.getSuperClass().get();
-            result.add(current);
-        }
-        return result.build();
+        List<JavaClass> classHierarchy = getSuperTypes().classHierarchy;
+        return classHierarchy.subList(1, classHierarchy.size());
     }
 
     @PublicAPI(usage = ACCESS)
@@ -219,20 +296,13 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getInterfaces() {
+        ensureImported();
         return interfaces;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllInterfaces() {
-        ImmutableSet.Builder<JavaClass> result = ImmutableSet.builder();
-        for (JavaClass i : interfaces) {
-            result.add(i);
-            result.addAll(i.getAllInterfaces());
-        }
-        if (superClass.isPresent()) {
-            result.addAll(superClass.get().getAllInterfaces());
-        }
-        return result.build();
+        return getSuperTypes().allInterfaces;
     }
 
     /**
@@ -245,11 +315,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
      */
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllClassesSelfIsAssignableTo() {
-        return ImmutableSet.<JavaClass>builder()
-                .add(this)
-                .addAll(getAllSuperClasses())
-                .addAll(getAllInterfaces())
-                .build();
+        return getSuperTypes().allClassesSelfIsAssignableTo;
     }
 
     @PublicAPI(usage = ACCESS)
@@ -259,16 +325,51 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaClass> getAllSubClasses() {
-        Set<JavaClass> result = new HashSet<>();
-        for (JavaClass subClass : subClasses) {
-            result.add(subClass);
-            result.addAll(subClass.getAllSubClasses());
+        return getSubTypes().allSubClasses;
+    }
+
+    private SuperTypes getSuperTypes() {
+        SuperTypes result = superTypes;
+        if (result == null) {
+            result = superTypes = new SuperTypes(this);
         }
         return result;
     }
 
+    private SubTypes getSubTypes() {
+        SubTypes result = subTypes;
+        if (result == null) {
+            result = subTypes = new SubTypes(this);
+        }
+        return result;
+    }
+
+    private void resetSuperTypes() {
+        if (superTypes != null) {
+            superTypes = null;
+            for (JavaClass subClass : subClasses) {
+                subClass.resetSuperTypes();
+            }
+        }
+    }
+
+    private void resetSubTypes() {
+        if (subTypes != null) {
+            subTypes = null;
+            for (JavaClass superType : concat(superClass.asSet(), interfaces)) {
+                superType.resetSubTypes();
+            }
+        }
+    }
+
+    private void addSubClass(JavaClass subClass) {
+        subClasses.add(subClass);
+        resetSubTypes();
+    }
+
     @PublicAPI(usage = ACCESS)
     public Set<JavaMember> getMembers() {
+        ensureImported();
         return members;
     }
 
@@ -279,11 +380,13 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaField> getFields() {
+        ensureImported();
         return fields;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaField> getAllFields() {
+        ensureImported();
         checkNotNull(allFields, "Method may not be called before construction of hierarchy is complete");
         return allFields.get();
     }
@@ -295,16 +398,14 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Optional<JavaField> tryGetField(String name) {
-        for (JavaField field : fields) {
-            if (name.equals(field.getName())) {
-                return Optional.of(field);
-            }
-        }
-        return Optional.absent();
+        ensureImported();
+        Set<JavaField> fieldsWithName = fieldIndex.withName(name);
+        return fieldsWithName.isEmpty() ? Optional.<JavaField>absent() : Optional.of(fieldsWithName.iterator().next());
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaCodeUnit> getCodeUnits() {
+        ensureImported();
         return codeUnits;
     }
 
@@ -341,16 +442,17 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
      */
     @PublicAPI(usage = ACCESS)
     public JavaCodeUnit getCodeUnitWithParameterTypeNames(String name, List<String> parameters) {
-        return findMatchingCodeUnit(codeUnits, name, parameters);
+        ensureImported();
+        return findMatchingCodeUnit(codeUnits, codeUnitIndex.withName(name), name, parameters);
     }
 
-    private <T extends JavaCodeUnit> T findMatchingCodeUnit(Set<T> codeUnits, String name, List<String> parameters) {
-        return tryFindMatchingCodeUnit(codeUnits, name, parameters).getOrThrow(new IllegalArgumentException("No code unit with name '" + name + "' and parameters " + parameters +
+    private <T extends JavaCodeUnit> T findMatchingCodeUnit(Set<T> codeUnits, Set<T> candidates, String name, List<String> parameters) {
+        return tryFindMatchingCodeUnit(candidates, name, parameters).getOrThrow(new IllegalArgumentException("No code unit with name '" + name + "' and parameters " + parameters +
                 " in codeUnits " + codeUnits + " of class " + getName()));
     }
 
-    private <T extends JavaCodeUnit> Optional<T> tryFindMatchingCodeUnit(Set<T> codeUnits, String name, List<String> parameters) {
-        for (T codeUnit : codeUnits) {
+    private <T extends JavaCodeUnit> Optional<T> tryFindMatchingCodeUnit(Set<T> candidates, String name, List<String> parameters) {
+        for (T codeUnit : candidates) {
             if (name.equals(codeUnit.getName()) && parameters.equals(codeUnit.getParameters().getNames())) {
                 return Optional.of(codeUnit);
             }
@@ -360,49 +462,73 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public JavaMethod getMethod(String name, Class<?>... parameters) {
-        return findMatchingCodeUnit(methods, name, namesOf(parameters));
+        ensureImported();
+        return findMatchingCodeUnit(methods, methodIndex.withName(name), name, namesOf(parameters));
     }
 
     @PublicAPI(usage = ACCESS)
     public Optional<JavaMethod> tryGetMethod(String name, Class<?>... parameters) {
-        return tryFindMatchingCodeUnit(methods, name, namesOf(parameters));
+        ensureImported();
+        return tryFindMatchingCodeUnit(methodIndex.withName(name), name, namesOf(parameters));
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethod> getMethods() {
+        ensureImported();
         return methods;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethod> getAllMethods() {
+        ensureImported();
         checkNotNull(allMethods, "Method may not be called before construction of hierarchy is complete");
         return allMethods.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public JavaConstructor getConstructor(Class<?>... parameters) {
-        return findMatchingCodeUnit(constructors, CONSTRUCTOR_NAME, namesOf(parameters));
+        return findMatchingCodeUnit(getConstructors(), getConstructors(), CONSTRUCTOR_NAME, namesOf(parameters));
+    }
+
+    Set<JavaField> getAllFieldsWithName(String name) {
+        ensureImported();
+        checkNotNull(allFieldIndex, "Method may not be called before construction of hierarchy is complete");
+        return allFieldIndex.get().withName(name);
+    }
+
+    Set<JavaMethod> getMethodsWithName(String name) {
+        ensureImported();
+        return methodIndex.withName(name);
+    }
+
+    Set<JavaMethod> getAllMethodsWithName(String name) {
+        ensureImported();
+        checkNotNull(allMethodIndex, "Method may not be called before construction of hierarchy is complete");
+        return allMethodIndex.get().withName(name);
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructor> getConstructors() {
+        ensureImported();
         return constructors;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructor> getAllConstructors() {
+        ensureImported();
         checkNotNull(allConstructors, "Method may not be called before construction of hierarchy is complete");
         return allConstructors.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Optional<JavaStaticInitializer> getStaticInitializer() {
+        ensureImported();
         return staticInitializer;
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaAccess<?>> getAccessesFromSelf() {
-        return Sets.union(getFieldAccessesFromSelf(), getCallsFromSelf());
+        return accessesFromSelf.get();
     }
 
     /**
@@ -419,11 +545,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccessesFromSelf() {
-        ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
-            result.addAll(codeUnit.getFieldAccesses());
-        }
-        return result.build();
+        return fieldAccessesFromSelf.get();
     }
 
     /**
@@ -439,48 +561,77 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsFromSelf() {
-        ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
-            result.addAll(codeUnit.getMethodCallsFromSelf());
-        }
-        return result.build();
+        return methodCallsFromSelf.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsFromSelf() {
-        ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (JavaCodeUnit codeUnit : codeUnits) {
-            result.addAll(codeUnit.getConstructorCallsFromSelf());
-        }
-        return result.build();
+        return constructorCallsFromSelf.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<Dependency> getDirectDependencies() {
-        Set<Dependency> result = new HashSet<>();
-        for (JavaAccess<?> access : filterTargetNotSelf(getAccessesFromSelf())) { // Includes direct super class due to super(..) call
-            result.add(Dependency.from(access));
+        return directDependencies.get();
+    }
+
+    /**
+     * @return All classes this class depends on directly or indirectly. Dependencies are followed through the classes
+     * of the same import, classes outside of the import (e.g. resolved from the classpath) are contained as well,
+     * but end a chain of dependencies. If this class itself wasn't imported (e.g. if it was resolved from the classpath),
+     * there is no import to bound the result, thus the {@link #getDirectDependencies() direct dependencies} of all
+     * reachable classes are followed, no matter where they come from. I.e. in contrast to imported classes,
+     * the result for such a class is not limited by the boundaries of any import.
+     * This class itself is only contained, if it is part of a dependency cycle.
+     * @see JavaClasses#getDependencyGraph()
+     */
+    @PublicAPI(usage = ACCESS)
+    public Set<JavaClass> getTransitiveDependencies() {
+        if (!importedClasses.isPresent()) {
+            return Collections.unmodifiableSet(collectReachableDependencyTargets());
         }
-        for (JavaClass i : getInterfaces()) {
-            result.add(Dependency.from(this, i));
+        DependencyGraph graph = importedClasses.get().getDependencyGraph();
+        Set<JavaClass> withinImport = graph.getTransitiveDependenciesOf(this);
+        Set<JavaClass> result = new HashSet<>(withinImport);
+        for (JavaClass origin : concat(Collections.singleton(this), withinImport)) {
+            for (Dependency dependency : origin.getDirectDependencies()) {
+                if (!graph.tryGetId(dependency.getTargetClass()).isPresent()) {
+                    result.add(dependency.getTargetClass());
+                }
+            }
         }
-        return result;
+        return Collections.unmodifiableSet(result);
     }
 
-    private Set<JavaAccess<?>> filterTargetNotSelf(Set<? extends JavaAccess<?>> accesses) {
-        Set<JavaAccess<?>> result = new HashSet<>();
-        for (JavaAccess<?> access : accesses) {
-            if (!access.getTarget().getOwner().equals(this)) {
-                result.add(access);
+    private Set<JavaClass> collectReachableDependencyTargets() {
+        Set<JavaClass> result = new HashSet<>();
+        List<JavaClass> toVisit = new ArrayList<>(Collections.singleton(this));
+        while (!toVisit.isEmpty()) {
+            for (Dependency dependency : toVisit.remove(toVisit.size() - 1).getDirectDependencies()) {
+                if (result.add(dependency.getTargetClass())) {
+                    toVisit.add(dependency.getTargetClass());
+                }
             }
         }
         return result;
     }
 
+    /**
+     * @return All classes of the same import that depend on this class directly or indirectly.
+     * This class itself is only contained, if it is part of a dependency cycle. If this class wasn't imported,
+     * the result is empty.
+     * @see JavaClasses#getDependencyGraph()
+     */
+    @PublicAPI(usage = ACCESS)
+    public Set<JavaClass> getTransitiveDependents() {
+        return importedClasses.isPresent()
+                ? importedClasses.get().getDependencyGraph().getTransitiveDependentsOf(this)
+                : Collections.<JavaClass>emptySet();
+    }
+
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccessesToSelf() {
         ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
-        for (JavaField field : fields) {
+        for (JavaField field : getFields()) {
             result.addAll(field.getAccessesToSelf());
         }
         return result.build();
@@ -489,7 +640,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsToSelf() {
         ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
-        for (JavaMethod method : methods) {
+        for (JavaMethod method : getMethods()) {
             result.addAll(method.getCallsOfSelf());
         }
         return result.build();
@@ -498,7 +649,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsToSelf() {
         ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
-        for (JavaConstructor constructor : constructors) {
+        for (JavaConstructor constructor : getConstructors()) {
             result.addAll(constructor.getCallsOfSelf());
         }
         return result.build();
@@ -506,11 +657,7 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaAccess<?>> getAccessesToSelf() {
-        return ImmutableSet.<JavaAccess<?>>builder()
-                .addAll(getFieldAccessesToSelf())
-                .addAll(getMethodCallsToSelf())
-                .addAll(getConstructorCallsToSelf())
-                .build();
+        return accessesToSelf.get();
     }
 
     /**
@@ -529,15 +676,12 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableFrom(String typeName) {
-        return isAssignableFrom(GET_NAME.is(equalTo(typeName)));
+        return getName().equals(typeName) || getSubTypes().allSubClassNames.contains(typeName);
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableFrom(DescribedPredicate<? super JavaClass> predicate) {
-        List<JavaClass> possibleTargets = ImmutableList.<JavaClass>builder()
-                .add(this).addAll(getAllSubClasses()).build();
-
-        return anyMatches(possibleTargets, predicate);
+        return predicate.apply(this) || anyMatches(getAllSubClasses(), predicate);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -547,18 +691,15 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableTo(final String typeName) {
-        return isAssignableTo(GET_NAME.is(equalTo(typeName)));
+        return getSuperTypes().namesSelfIsAssignableTo.contains(typeName);
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean isAssignableTo(DescribedPredicate<? super JavaClass> predicate) {
-        List<JavaClass> possibleTargets = ImmutableList.<JavaClass>builder()
-                .addAll(getClassHierarchy()).addAll(getAllInterfaces()).build();
-
-        return anyMatches(possibleTargets, predicate);
+        return anyMatches(getAllClassesSelfIsAssignableTo(), predicate);
     }
 
-    private boolean anyMatches(List<JavaClass> possibleTargets, DescribedPredicate<? super JavaClass> predicate) {
+    private boolean anyMatches(Set<JavaClass> possibleTargets, DescribedPredicate<? super JavaClass> predicate) {
         for (JavaClass javaClass : possibleTargets) {
             if (predicate.apply(javaClass)) {
                 return true;
@@ -580,9 +721,21 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
         return reflectSupplier.get();
     }
 
+    // Classes imported lazily complete themselves, once any of their details are requested
     void completeClassHierarchyFrom(ImportContext context) {
+        if (lazyImport == null) {
+            completeHierarchyFrom(context);
+        }
+    }
+
+    private void completeHierarchyFrom(ImportContext context) {
         completeSuperClassFrom(context);
         completeInterfacesFrom(context);
+        completeHierarchyViews();
+    }
+
+    private void completeHierarchyViews() {
+        resetSuperTypes();
         allFields = Suppliers.memoize(new Supplier<Set<JavaField>>() {
             @Override
             public Set<JavaField> get() {
@@ -603,6 +756,18 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
                 return result.build();
             }
         });
+        allFieldIndex = Suppliers.memoize(new Supplier<MemberIndex<JavaField>>() {
+            @Override
+            public MemberIndex<JavaField> get() {
+                return MemberIndex.of(getAllFields());
+            }
+        });
+        allMethodIndex = Suppliers.memoize(new Supplier<MemberIndex<JavaMethod>>() {
+            @Override
+            public MemberIndex<JavaMethod> get() {
+                return MemberIndex.of(getAllMethods());
+            }
+        });
         allConstructors = Suppliers.memoize(new Supplier<Set<JavaConstructor>>() {
             @Override
             public Set<JavaConstructor> get() {
@@ -618,18 +783,24 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
     private void completeSuperClassFrom(ImportContext context) {
         superClass = context.createSuperClass(this);
         if (superClass.isPresent()) {
-            superClass.get().subClasses.add(this);
+            superClass.get().addSubClass(this);
         }
     }
 
     private void completeInterfacesFrom(ImportContext context) {
         interfaces.addAll(context.createInterfaces(this));
         for (JavaClass i : interfaces) {
-            i.subClasses.add(this);
+            i.addSubClass(this);
         }
     }
 
-    void completeMembers(final ImportContext context) {
+    void completeMembers(ImportContext context) {
+        if (lazyImport == null) {
+            completeMembersFrom(context);
+        }
+    }
+
+    private void completeMembersFrom(final ImportContext context) {
         fields = context.createFields(this);
         methods = context.createMethods(this);
         constructors = context.createConstructors(this);
@@ -642,6 +813,9 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
                 .addAll(methods)
                 .addAll(constructors)
                 .build();
+        fieldIndex = MemberIndex.of(fields);
+        codeUnitIndex = MemberIndex.of(codeUnits);
+        methodIndex = MemberIndex.of(methods);
         this.annotations = Suppliers.memoize(new Supplier<Map<String, JavaAnnotation>>() {
             @Override
             public Map<String, JavaAnnotation> get() {
@@ -650,11 +824,62 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
         });
     }
 
+    void setImportedClasses(JavaClasses importedClasses) {
+        this.importedClasses = Optional.of(importedClasses);
+    }
+
     CompletionProcess completeFrom(ImportContext context) {
         enclosingClass = context.createEnclosingClass(this);
         return new CompletionProcess();
     }
 
+    void importLazilyFrom(Supplier<Optional<JavaClassBuilder>> classFileImport, ImportContext context) {
+        lazyImport = new LazyImport(classFileImport, context);
+    }
+
+    private void ensureImported() {
+        if (lazyImport != null && !lazyImport.done) {
+            importLazily();
+        }
+    }
+
+    // Calls from within the import itself (e.g. by the domain objects created on the way) must not import again.
+    // If the import fails, the class stays a simple class without members, like any class that couldn't be imported.
+    private synchronized void importLazily() {
+        if (lazyImport.done || lazyImport.running) {
+            return;
+        }
+        lazyImport.running = true;
+        try {
+            Optional<JavaClassBuilder> details = lazyImport.classFileImport.get();
+            if (details.isPresent()) {
+                isInterface = details.get().isInterface();
+                modifiers = checkNotNull(details.get().getModifiers());
+            }
+            completeHierarchyFrom(lazyImport.context);
+            completeMembersFrom(lazyImport.context);
+        } catch (RuntimeException e) {
+            completeAsSimpleClass();
+            throw e;
+        } finally {
+            lazyImport.finish();
+        }
+    }
+
+    private void completeAsSimpleClass() {
+        completeHierarchyViews();
+        fields = Collections.emptySet();
+        methods = Collections.emptySet();
+        constructors = Collections.emptySet();
+        staticInitializer = Optional.absent();
+        codeUnits = Collections.emptySet();
+        members = Collections.emptySet();
+        fieldIndex = MemberIndex.empty();
+        codeUnitIndex = MemberIndex.empty();
+        methodIndex = MemberIndex.empty();
+        annotations = Suppliers.ofInstance(Collections.<String, JavaAnnotation>emptyMap());
+    }
+
     @Override
     public String toString() {
         return "JavaClass{name='" + javaType.getName() + "\'}";
@@ -726,12 +951,22 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
 
         @PublicAPI(usage = ACCESS)
         public static DescribedPredicate<JavaClass> assignableTo(final String typeName) {
-            return assignableTo(GET_NAME.is(equalTo(typeName)).as(typeName));
+            return new DescribedPredicate<JavaClass>("assignable to " + typeName) {
+                @Override
+                public boolean apply(JavaClass input) {
+                    return input.isAssignableTo(typeName);
+                }
+            };
         }
 
         @PublicAPI(usage = ACCESS)
         public static DescribedPredicate<JavaClass> assignableFrom(final String typeName) {
-            return assignableFrom(GET_NAME.is(equalTo(typeName)).as(typeName));
+            return new DescribedPredicate<JavaClass>("assignable from " + typeName) {
+                @Override
+                public boolean apply(JavaClass input) {
+                    return input.isAssignableFrom(typeName);
+                }
+            };
         }
 
         @PublicAPI(usage = ACCESS)
@@ -779,21 +1014,35 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
         }
 
         private static DescribedPredicate<JavaClass> resideInAnyPackage(final String[] packageIdentifiers, final String description) {
-            final Set<PackageMatcher> packageMatchers = new HashSet<>();
-            for (String identifier : packageIdentifiers) {
-                packageMatchers.add(PackageMatcher.of(identifier));
+            return new ResideInAnyPackage(packageIdentifiers, description);
+        }
+
+        // Exposes the package identifiers, so JavaClasses can select matching classes via its package index
+        static class ResideInAnyPackage extends DescribedPredicate<JavaClass> {
+            private final List<String> packageIdentifiers;
+            private final Set<PackageMatcher> packageMatchers = new HashSet<>();
+
+            ResideInAnyPackage(String[] packageIdentifiers, String description) {
+                super(description);
+                this.packageIdentifiers = ImmutableList.copyOf(packageIdentifiers);
+                for (String identifier : packageIdentifiers) {
+                    packageMatchers.add(PackageMatcher.of(identifier));
+                }
             }
-            return new DescribedPredicate<JavaClass>(description) {
-                @Override
-                public boolean apply(JavaClass input) {
-                    for (PackageMatcher matcher : packageMatchers) {
-                        if (matcher.matches(input.getPackage())) {
-                            return true;
-                        }
+
+            List<String> getPackageIdentifiers() {
+                return packageIdentifiers;
+            }
+
+            @Override
+            public boolean apply(JavaClass input) {
+                for (PackageMatcher matcher : packageMatchers) {
+                    if (matcher.matches(input.getPackage())) {
+                        return true;
                     }
-                    return false;
                 }
-            };
+                return false;
+            }
         }
 
         @PublicAPI(usage = ACCESS)
@@ -823,12 +1072,79 @@ public class JavaClass implements HasName, HasAnnotations, HasModifiers {
     }
 
     class CompletionProcess {
-        AccessContext.Part completeCodeUnitsFrom(ImportContext context) {
-            AccessContext.Part part = new AccessContext.Part();
+        void completeCodeUnitsFrom(ImportContext context) {
             for (JavaCodeUnit codeUnit : codeUnits) {
-                part.mergeWith(codeUnit.completeFrom(context));
+                codeUnit.completeFrom(context);
+            }
+        }
+    }
+
+    private static class SuperTypes {
+        private final List<JavaClass> classHierarchy;
+        private final Set<JavaClass> allInterfaces;
+        private final Set<JavaClass> allClassesSelfIsAssignableTo;
+        private final Set<String> namesSelfIsAssignableTo;
+
+        SuperTypes(JavaClass javaClass) {
+            ImmutableList.Builder<JavaClass> classHierarchy = ImmutableList.<JavaClass>builder().add(javaClass);
+            ImmutableSet.Builder<JavaClass> allInterfaces = ImmutableSet.builder();
+            for (JavaClass i : javaClass.getInterfaces()) {
+                allInterfaces.add(i);
+                allInterfaces.addAll(i.getAllInterfaces());
+            }
+            Optional<JavaClass> superClass = javaClass.getSuperClass();
+            if (superClass.isPresent()) {
+                classHierarchy.addAll(superClass.get().getClassHierarchy());
+                allInterfaces.addAll(superClass.get().getAllInterfaces());
+            }
+            this.classHierarchy = classHierarchy.build();
+            this.allInterfaces = allInterfaces.build();
+            this.allClassesSelfIsAssignableTo = ImmutableSet.<JavaClass>builder()
+                    .addAll(this.classHierarchy).addAll(this.allInterfaces).build();
+            this.namesSelfIsAssignableTo = typeNamesOf(allClassesSelfIsAssignableTo);
+        }
+    }
+
+    private static class SubTypes {
+        private final Set<JavaClass> allSubClasses;
+        private final Set<String> allSubClassNames;
+
+        SubTypes(JavaClass javaClass) {
+            ImmutableSet.Builder<JavaClass> allSubClasses = ImmutableSet.builder();
+            for (JavaClass subClass : javaClass.subClasses) {
+                allSubClasses.add(subClass);
+                allSubClasses.addAll(subClass.getAllSubClasses());
             }
-            return part;
+            this.allSubClasses = allSubClasses.build();
+            this.allSubClassNames = typeNamesOf(this.allSubClasses);
+        }
+    }
+
+    private static Set<String> typeNamesOf(Set<JavaClass> classes) {
+        ImmutableSet.Builder<String> result = ImmutableSet.builder();
+        for (JavaClass javaClass : classes) {
+            result.add(javaClass.getName());
+        }
+        return result.build();
+    }
+
+    private static class LazyImport {
+        private Supplier<Optional<JavaClassBuilder>> classFileImport;
+        private ImportContext context;
+        private boolean running;
+        private volatile boolean done;
+
+        LazyImport(Supplier<Optional<JavaClassBuilder>> classFileImport, ImportContext context) {
+            this.classFileImport = classFileImport;
+            this.context = context;
+        }
+
+        // The completed class holds all its details, so the import and its context can be released
+        void finish() {
+            classFileImport = null;
+            context = null;
+            running = false;
+            done = true;
         }
     }
 
@@ -15,18 +15,23 @@
  */
 package com.tngtech.archunit.core.domain;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.DescribedIterable;
 import com.tngtech.archunit.base.DescribedPredicate;
-import com.tngtech.archunit.base.Guava;
+import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.DomainObjectCreationContext.AccessContext;
 import com.tngtech.archunit.core.domain.properties.CanOverrideDescription;
 
@@ -34,28 +39,71 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 
 public final class JavaClasses implements DescribedIterable<JavaClass>, CanOverrideDescription<JavaClasses> {
-    private final ImmutableMap<String, JavaClass> classes;
+    private final ClassesByPackage index;
+    private final BitSet selected;
+    private final int size;
     private final String description;
+    private final boolean accessDataAvailable;
+    private final Supplier<DependencyGraph> dependencyGraph = Suppliers.memoize(new Supplier<DependencyGraph>() {
+        @Override
+        public DependencyGraph get() {
+            return DependencyGraph.of(ImmutableList.copyOf(JavaClasses.this));
+        }
+    });
 
-    private JavaClasses(Map<String, JavaClass> classes) {
-        this(classes, "classes");
+    private JavaClasses(Map<String, JavaClass> classes, boolean accessDataAvailable) {
+        this(classes, "classes", accessDataAvailable);
     }
 
     JavaClasses(Map<String, JavaClass> classes, String description) {
-        this.classes = ImmutableMap.copyOf(classes);
+        this(classes, description, true);
+    }
+
+    private JavaClasses(Map<String, JavaClass> classes, String description, boolean accessDataAvailable) {
+        this(new ClassesByPackage(classes.values()), description, accessDataAvailable);
+    }
+
+    private JavaClasses(ClassesByPackage index, String description, boolean accessDataAvailable) {
+        this(index, index.all(), description, accessDataAvailable);
+    }
+
+    // Filtered classes are views sharing the index of the original classes, only selecting a subset of it
+    private JavaClasses(ClassesByPackage index, BitSet selected, String description, boolean accessDataAvailable) {
+        this.index = index;
+        this.selected = selected;
+        this.size = selected.cardinality();
         this.description = description;
+        this.accessDataAvailable = accessDataAvailable;
     }
 
     @PublicAPI(usage = ACCESS)
     public JavaClasses that(DescribedPredicate<? super JavaClass> predicate) {
-        Map<String, JavaClass> matchingElements = Guava.Maps.filterValues(classes, predicate);
+        BitSet matching = selectedThat(predicate);
         String newDescription = String.format("%s that %s", description, predicate.getDescription());
-        return new JavaClasses(matchingElements, newDescription);
+        return new JavaClasses(index, matching, newDescription, accessDataAvailable);
+    }
+
+    private BitSet selectedThat(DescribedPredicate<? super JavaClass> predicate) {
+        if (predicate instanceof JavaClass.Predicates.ResideInAnyPackage) {
+            List<String> packageIdentifiers = ((JavaClass.Predicates.ResideInAnyPackage) predicate).getPackageIdentifiers();
+            Optional<BitSet> inPackages = index.tryFindResidingInAnyPackage(packageIdentifiers);
+            if (inPackages.isPresent()) {
+                inPackages.get().and(selected);
+                return inPackages.get();
+            }
+        }
+        BitSet result = new BitSet(index.size());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            if (predicate.apply(index.get(i))) {
+                result.set(i);
+            }
+        }
+        return result;
     }
 
     @Override
     public JavaClasses as(String description) {
-        return new JavaClasses(classes, description);
+        return new JavaClasses(index, selected, description, accessDataAvailable);
     }
 
     @Override
@@ -65,17 +113,44 @@ public final class JavaClasses implements DescribedIterable<JavaClass>, CanOverr
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + "{classes=" + classes + '}';
+        return getClass().getSimpleName() + "{classes=" + ImmutableList.copyOf(this) + '}';
     }
 
     @Override
     public Iterator<JavaClass> iterator() {
-        return classes.values().iterator();
+        return new Iterator<JavaClass>() {
+            private int next = selected.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public JavaClass next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                JavaClass result = index.get(next);
+                next = selected.nextSetBit(next + 1);
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public int size() {
+        return size;
     }
 
     @PublicAPI(usage = ACCESS)
     public boolean contain(Class<?> reflectedType) {
-        return classes.containsKey(reflectedType.getName());
+        return tryGet(reflectedType.getName()).isPresent();
     }
 
     @PublicAPI(usage = ACCESS)
@@ -85,25 +160,99 @@ public final class JavaClasses implements DescribedIterable<JavaClass>, CanOverr
 
     @PublicAPI(usage = ACCESS)
     public JavaClass get(String typeName) {
-        return checkNotNull(classes.get(typeName), "%s don't contain %s of type %s",
+        return checkNotNull(tryGet(typeName).orNull(), "%s don't contain %s of type %s",
                 getClass().getSimpleName(), JavaClass.class.getSimpleName(), typeName);
     }
 
+    private Optional<JavaClass> tryGet(String typeName) {
+        Optional<Integer> i = index.tryGetIndexOf(typeName);
+        return i.isPresent() && selected.get(i.get()) ? Optional.of(index.get(i.get())) : Optional.<JavaClass>absent();
+    }
+
+    /**
+     * @return false, if the classes were imported without the bodies of their code units
+     * (e.g. via {@link com.tngtech.archunit.core.importer.ImportProfile#DECLARATIONS_ONLY}),
+     * thus they don't contain any accesses to fields, methods or constructors, even if the original code does
+     */
+    @PublicAPI(usage = ACCESS)
+    public boolean isAccessDataAvailable() {
+        return accessDataAvailable;
+    }
+
+    /**
+     * @return The graph of the dependencies between these classes, which is created on first request
+     * @see DependencyGraph
+     */
+    @PublicAPI(usage = ACCESS)
+    public DependencyGraph getDependencyGraph() {
+        return dependencyGraph.get();
+    }
+
+    /**
+     * @return All classes of these classes, that any class matching the predicate depends on directly or indirectly
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses thatAreTransitiveDependenciesOfClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        DependencyGraph graph = getDependencyGraph();
+        BitSet reachable = graph.getTransitiveDependencies(idsOfClassesThat(graph, predicate));
+        String newDescription = String.format("%s that are transitive dependencies of classes that %s",
+                description, predicate.getDescription());
+        return new JavaClasses(index, indexesOf(graph.classesOf(reachable)), newDescription, accessDataAvailable);
+    }
+
+    /**
+     * @return All classes of these classes, that depend directly or indirectly on any class matching the predicate
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses thatTransitivelyDependOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        DependencyGraph graph = getDependencyGraph();
+        BitSet reaching = graph.getTransitiveDependents(idsOfClassesThat(graph, predicate));
+        String newDescription = String.format("%s that transitively depend on classes that %s",
+                description, predicate.getDescription());
+        return new JavaClasses(index, indexesOf(graph.classesOf(reaching)), newDescription, accessDataAvailable);
+    }
+
+    private static BitSet idsOfClassesThat(DependencyGraph graph, DescribedPredicate<? super JavaClass> predicate) {
+        BitSet result = new BitSet(graph.size());
+        for (int id = 0; id < graph.size(); id++) {
+            if (predicate.apply(graph.getJavaClass(id))) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    private BitSet indexesOf(Iterable<JavaClass> classes) {
+        BitSet result = new BitSet(index.size());
+        for (JavaClass clazz : classes) {
+            result.set(index.tryGetIndexOf(clazz.getName()).get());
+        }
+        return result;
+    }
+
     static JavaClasses of(Iterable<JavaClass> classes) {
         Map<String, JavaClass> mapping = new HashMap<>();
         for (JavaClass clazz : classes) {
             mapping.put(clazz.getName(), clazz);
         }
-        return new JavaClasses(mapping);
+        return new JavaClasses(mapping, true);
     }
 
     static JavaClasses of(Map<String, JavaClass> classes, ImportContext importContext) {
+        return of(classes, importContext, true);
+    }
+
+    static JavaClasses of(Map<String, JavaClass> classes, ImportContext importContext, boolean accessDataAvailable) {
         CompletionProcess completionProcess = new CompletionProcess(classes.values(), importContext);
-        for (JavaClass clazz : new JavaClasses(classes)) {
+        for (JavaClass clazz : classes.values()) {
             completionProcess.completeClass(clazz);
         }
         completionProcess.finish();
-        return new JavaClasses(classes);
+        JavaClasses result = new JavaClasses(classes, accessDataAvailable);
+        for (JavaClass clazz : result) {
+            clazz.setImportedClasses(result);
+        }
+        return result;
     }
 
     private static class CompletionProcess {
@@ -121,11 +270,10 @@ public final class JavaClasses implements DescribedIterable<JavaClass>, CanOverr
         }
 
         void finish() {
-            AccessContext.TopProcess accessCompletionProcess = new AccessContext.TopProcess(classes);
             for (JavaClass.CompletionProcess process : classCompletionProcesses) {
-                accessCompletionProcess.mergeWith(process.completeCodeUnitsFrom(context));
+                process.completeCodeUnitsFrom(context);
             }
-            accessCompletionProcess.finish();
+            new AccessContext.TopProcess(classes).finish();
         }
     }
 }
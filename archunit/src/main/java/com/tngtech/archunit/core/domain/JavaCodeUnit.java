@@ -20,11 +20,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.DescribedPredicate;
 import com.tngtech.archunit.core.MayResolveTypesViaReflection;
 import com.tngtech.archunit.core.ResolvesTypesViaReflection;
-import com.tngtech.archunit.core.domain.DomainObjectCreationContext.AccessContext;
 import com.tngtech.archunit.core.domain.properties.HasParameterTypes;
 import com.tngtech.archunit.core.domain.properties.HasReturnType;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaCodeUnitBuilder;
@@ -47,9 +48,9 @@ public abstract class JavaCodeUnit extends JavaMember implements HasParameterTyp
     private final List<JavaClass> parameters;
     private final String fullName;
 
-    private Set<JavaFieldAccess> fieldAccesses = Collections.emptySet();
-    private Set<JavaMethodCall> methodCalls = Collections.emptySet();
-    private Set<JavaConstructorCall> constructorCalls = Collections.emptySet();
+    private Supplier<Set<JavaFieldAccess>> fieldAccesses = Suppliers.ofInstance(Collections.<JavaFieldAccess>emptySet());
+    private Supplier<Set<JavaMethodCall>> methodCalls = Suppliers.ofInstance(Collections.<JavaMethodCall>emptySet());
+    private Supplier<Set<JavaConstructorCall>> constructorCalls = Suppliers.ofInstance(Collections.<JavaConstructorCall>emptySet());
 
     JavaCodeUnit(JavaCodeUnitBuilder<?, ?> builder) {
         super(builder);
@@ -75,17 +76,17 @@ public abstract class JavaCodeUnit extends JavaMember implements HasParameterTyp
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaFieldAccess> getFieldAccesses() {
-        return fieldAccesses;
+        return fieldAccesses.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaMethodCall> getMethodCallsFromSelf() {
-        return methodCalls;
+        return methodCalls.get();
     }
 
     @PublicAPI(usage = ACCESS)
     public Set<JavaConstructorCall> getConstructorCallsFromSelf() {
-        return constructorCalls;
+        return constructorCalls.get();
     }
 
     @PublicAPI(usage = ACCESS)
@@ -93,12 +94,27 @@ public abstract class JavaCodeUnit extends JavaMember implements HasParameterTyp
         return false;
     }
 
-    AccessContext.Part completeFrom(ImportContext context) {
-        fieldAccesses = context.getFieldAccessesFor(this);
-        methodCalls = context.getMethodCallsFor(this);
-        constructorCalls = context.getConstructorCallsFor(this);
-
-        return new AccessContext.Part(this);
+    // The accesses are only requested from the context on demand, since the context might have deferred
+    // decoding the body of this code unit
+    void completeFrom(final ImportContext context) {
+        fieldAccesses = Suppliers.memoize(new Supplier<Set<JavaFieldAccess>>() {
+            @Override
+            public Set<JavaFieldAccess> get() {
+                return context.getFieldAccessesFor(JavaCodeUnit.this);
+            }
+        });
+        methodCalls = Suppliers.memoize(new Supplier<Set<JavaMethodCall>>() {
+            @Override
+            public Set<JavaMethodCall> get() {
+                return context.getMethodCallsFor(JavaCodeUnit.this);
+            }
+        });
+        constructorCalls = Suppliers.memoize(new Supplier<Set<JavaConstructorCall>>() {
+            @Override
+            public Set<JavaConstructorCall> get() {
+                return context.getConstructorCallsFor(JavaCodeUnit.this);
+            }
+        });
     }
 
     @ResolvesTypesViaReflection
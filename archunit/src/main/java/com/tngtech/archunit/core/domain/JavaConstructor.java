@@ -16,25 +16,24 @@
 package com.tngtech.archunit.core.domain;
 
 import java.lang.reflect.Constructor;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
-import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.ArchUnitException.InconsistentClassPathException;
 import com.tngtech.archunit.core.MayResolveTypesViaReflection;
 import com.tngtech.archunit.core.ResolvesTypesViaReflection;
 import com.tngtech.archunit.core.importer.DomainBuilders.JavaConstructorBuilder;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 import static com.tngtech.archunit.core.domain.Formatters.formatMethod;
 
 public final class JavaConstructor extends JavaCodeUnit {
     private final Supplier<Constructor<?>> constructorSupplier;
-    private Set<JavaConstructorCall> callsToSelf = Collections.emptySet();
+    private Supplier<Set<JavaConstructorCall>> callsToSelf = Suppliers.ofInstance(Collections.<JavaConstructorCall>emptySet());
 
     @PublicAPI(usage = ACCESS)
     public static final String CONSTRUCTOR_NAME = "<init>";
@@ -56,7 +55,7 @@ public final class JavaConstructor extends JavaCodeUnit {
 
     @Override
     public Set<JavaConstructorCall> getAccessesToSelf() {
-        return callsToSelf;
+        return callsToSelf.get();
     }
 
     @Override
@@ -66,8 +65,8 @@ public final class JavaConstructor extends JavaCodeUnit {
         return constructorSupplier.get();
     }
 
-    void registerCallsToConstructor(Collection<JavaConstructorCall> calls) {
-        this.callsToSelf = ImmutableSet.copyOf(calls);
+    void registerCallsToConstructor(Supplier<Set<JavaConstructorCall>> calls) {
+        this.callsToSelf = checkNotNull(calls);
     }
 
     @ResolvesTypesViaReflection
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.Collections;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSetMultimap;
+
+/**
+ * Members of a class (or a class hierarchy) hashed by name, so members can be looked up without scanning all
+ * members. Overloaded methods share a name, thus a lookup yields all overloads, which are usually few.
+ */
+class MemberIndex<T extends JavaMember> {
+    private static final MemberIndex<JavaMember> EMPTY = new MemberIndex<>(Collections.<JavaMember>emptySet());
+
+    private final ImmutableSetMultimap<String, T> membersByName;
+
+    private MemberIndex(Iterable<? extends T> members) {
+        ImmutableSetMultimap.Builder<String, T> byName = ImmutableSetMultimap.builder();
+        for (T member : members) {
+            byName.put(member.getName(), member);
+        }
+        this.membersByName = byName.build();
+    }
+
+    static <T extends JavaMember> MemberIndex<T> of(Iterable<? extends T> members) {
+        return new MemberIndex<>(members);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends JavaMember> MemberIndex<T> empty() {
+        return (MemberIndex<T>) EMPTY;
+    }
+
+    Set<T> withName(String name) {
+        return membersByName.get(name);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.domain;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Answers which nodes of a graph, given as CSR style adjacency arrays, are reachable from a node via at least one edge.
+ * The graph is condensed into its strongly connected components (Tarjan), and the reachable nodes of a component
+ * are computed as the union of the reachable nodes of its successor components. These closures are computed
+ * on demand and memoized, thus each closure is computed at most once, no matter how many nodes are queried.
+ */
+class Reachability {
+    private final int[] component;
+    private final int[] memberOffsets;
+    private final int[] members;
+    private final int[] successorOffsets;
+    private final int[] successors;
+    private final AtomicReferenceArray<BitSet> closures;
+
+    Reachability(int[] offsets, int[] targets) {
+        int numberOfNodes = offsets.length - 1;
+        component = new int[numberOfNodes];
+        int numberOfComponents = findStronglyConnectedComponents(offsets, targets);
+
+        memberOffsets = new int[numberOfComponents + 1];
+        members = new int[numberOfNodes];
+        groupMembersByComponent();
+
+        successorOffsets = new int[numberOfComponents + 1];
+        successors = findSuccessorComponents(offsets, targets);
+        closures = new AtomicReferenceArray<>(numberOfComponents);
+    }
+
+    // Iterative version of Tarjan's algorithm, to support long dependency chains without overflowing the stack.
+    // Components are numbered in the order they are completed, thus successors of a component always have lower numbers.
+    private int findStronglyConnectedComponents(int[] offsets, int[] targets) {
+        int numberOfNodes = component.length;
+        int[] index = new int[numberOfNodes];
+        int[] lowLink = new int[numberOfNodes];
+        int[] nextEdge = new int[numberOfNodes];
+        boolean[] onStack = new boolean[numberOfNodes];
+        int[] stack = new int[numberOfNodes];
+        int[] callStack = new int[numberOfNodes];
+        Arrays.fill(index, -1);
+
+        int nextIndex = 0;
+        int stackSize = 0;
+        int numberOfComponents = 0;
+        for (int root = 0; root < numberOfNodes; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            nextEdge[root] = offsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (nextEdge[node] < offsets[node + 1]) {
+                    int target = targets[nextEdge[node]++];
+                    if (index[target] < 0) {
+                        callStack[depth++] = target;
+                        index[target] = lowLink[target] = nextIndex++;
+                        nextEdge[target] = offsets[target];
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], index[target]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int caller = callStack[depth - 1];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = numberOfComponents;
+                    } while (member != node);
+                    numberOfComponents++;
+                }
+            }
+        }
+        return numberOfComponents;
+    }
+
+    private void groupMembersByComponent() {
+        for (int c : component) {
+            memberOffsets[c + 1]++;
+        }
+        for (int c = 1; c < memberOffsets.length; c++) {
+            memberOffsets[c] += memberOffsets[c - 1];
+        }
+        int[] next = Arrays.copyOf(memberOffsets, memberOffsets.length - 1);
+        for (int node = 0; node < component.length; node++) {
+            members[next[component[node]]++] = node;
+        }
+    }
+
+    private int[] findSuccessorComponents(int[] offsets, int[] targets) {
+        int numberOfComponents = memberOffsets.length - 1;
+        int[] result = new int[targets.length];
+        int size = 0;
+        // The last component each successor was added for, to add each successor only once
+        int[] lastAddedFor = new int[numberOfComponents];
+        Arrays.fill(lastAddedFor, -1);
+        for (int c = 0; c < numberOfComponents; c++) {
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int node = members[m];
+                for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                    int successor = component[targets[e]];
+                    if (successor != c && lastAddedFor[successor] != c) {
+                        lastAddedFor[successor] = c;
+                        result[size++] = successor;
+                    }
+                }
+            }
+            successorOffsets[c + 1] = size;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    int getComponent(int node) {
+        return component[node];
+    }
+
+    /**
+     * @return All nodes reachable from the supplied node via at least one edge. The node itself is only
+     * contained, if it is part of a cycle. The result must not be modified.
+     */
+    BitSet getReachableFrom(int node) {
+        return getClosure(component[node]);
+    }
+
+    private BitSet getClosure(int c) {
+        BitSet closure = closures.get(c);
+        return closure != null ? closure : computeClosures(c);
+    }
+
+    private synchronized BitSet computeClosures(int start) {
+        BitSet pending = new BitSet(closures.length());
+        int[] stack = new int[closures.length()];
+        int stackSize = 0;
+        if (closures.get(start) == null) {
+            pending.set(start);
+            stack[stackSize++] = start;
+        }
+        while (stackSize > 0) {
+            int c = stack[--stackSize];
+            for (int s = successorOffsets[c]; s < successorOffsets[c + 1]; s++) {
+                int successor = successors[s];
+                if (closures.get(successor) == null && !pending.get(successor)) {
+                    pending.set(successor);
+                    stack[stackSize++] = successor;
+                }
+            }
+        }
+        // Successors have lower numbers, thus their closures are complete when needed
+        for (int c = pending.nextSetBit(0); c >= 0; c = pending.nextSetBit(c + 1)) {
+            closures.set(c, computeClosure(c));
+        }
+        return closures.get(start);
+    }
+
+    private BitSet computeClosure(int c) {
+        BitSet result = new BitSet(component.length);
+        if (memberOffsets[c + 1] - memberOffsets[c] > 1) {
+            addMembers(c, result);
+        }
+        for (int s = successorOffsets[c]; s < successorOffsets[c + 1]; s++) {
+            addMembers(successors[s], result);
+            result.or(closures.get(successors[s]));
+        }
+        return result;
+    }
+
+    private void addMembers(int c, BitSet result) {
+        for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+            result.set(members[m]);
+        }
+    }
+}
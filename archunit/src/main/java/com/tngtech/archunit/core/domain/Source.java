@@ -49,6 +49,11 @@ public class Source {
         md5sum = Md5sum.of(uri);
     }
 
+    Source(URI uri, byte[] bytes) {
+        this.uri = uri;
+        md5sum = Md5sum.of(bytes);
+    }
+
     @PublicAPI(usage = ACCESS)
     public URI getUri() {
         return uri;
@@ -96,7 +101,13 @@ public class Source {
          */
         static final Md5sum DISABLED = new Md5sum("DISABLED");
 
-        private static final MessageDigest MD5_DIGEST = getMd5Digest();
+        // MessageDigest is stateful, so every thread (e.g. during a parallel import) needs its own instance
+        private static final ThreadLocal<MessageDigest> MD5_DIGEST = new ThreadLocal<MessageDigest>() {
+            @Override
+            protected MessageDigest initialValue() {
+                return getMd5Digest();
+            }
+        };
 
         private final byte[] md5Bytes;
         private final String text;
@@ -158,11 +169,12 @@ public class Source {
         }
 
         static Md5sum of(byte[] input) {
-            if (MD5_DIGEST == null) {
+            MessageDigest md5Digest = MD5_DIGEST.get();
+            if (md5Digest == null) {
                 return NOT_SUPPORTED;
             }
 
-            return ArchConfiguration.get().md5InClassSourcesEnabled() ? new Md5sum(input, MD5_DIGEST) : DISABLED;
+            return ArchConfiguration.get().md5InClassSourcesEnabled() ? new Md5sum(input, md5Digest) : DISABLED;
         }
 
         private static Md5sum of(URI uri) {
@@ -15,39 +15,16 @@
  */
 package com.tngtech.archunit.core.importer;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
-
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
-import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.Internal;
-import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.AccessTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.ConstructorCallTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.FieldAccessTarget;
 import com.tngtech.archunit.core.domain.AccessTarget.MethodCallTarget;
-import com.tngtech.archunit.core.domain.JavaClass;
-import com.tngtech.archunit.core.domain.JavaClassList;
 import com.tngtech.archunit.core.domain.JavaCodeUnit;
-import com.tngtech.archunit.core.domain.JavaConstructor;
-import com.tngtech.archunit.core.domain.JavaField;
 import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
-import com.tngtech.archunit.core.domain.JavaMethod;
-import com.tngtech.archunit.core.domain.properties.HasDescriptor;
-import com.tngtech.archunit.core.domain.properties.HasName;
-import com.tngtech.archunit.core.domain.properties.HasOwner;
-import com.tngtech.archunit.core.importer.DomainBuilders.ConstructorCallTargetBuilder;
-import com.tngtech.archunit.core.importer.DomainBuilders.FieldAccessTargetBuilder;
-import com.tngtech.archunit.core.importer.DomainBuilders.MethodCallTargetBuilder;
 import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
-import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
-import org.objectweb.asm.Type;
-
-import static com.google.common.collect.Iterables.getOnlyElement;
-import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createJavaClassList;
 
 interface AccessRecord<TARGET extends AccessTarget> {
     JavaCodeUnit getCaller();
@@ -66,43 +43,41 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
         abstract PROCESSED_RECORD create(RAW_RECORD record, ImportedClasses classes);
 
-        static Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>> forConstructorCallRecord() {
+        static Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>> forConstructorCallRecord(final AccessTargets targets) {
             return new Factory<RawAccessRecord, AccessRecord<ConstructorCallTarget>>() {
                 @Override
                 AccessRecord<ConstructorCallTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawConstructorCallRecordProcessed(record, classes);
+                    return new RawConstructorCallRecordProcessed(record, classes, targets);
                 }
             };
         }
 
-        static Factory<RawAccessRecord, AccessRecord<MethodCallTarget>> forMethodCallRecord() {
+        static Factory<RawAccessRecord, AccessRecord<MethodCallTarget>> forMethodCallRecord(final AccessTargets targets) {
             return new Factory<RawAccessRecord, AccessRecord<MethodCallTarget>>() {
                 @Override
                 AccessRecord<MethodCallTarget> create(RawAccessRecord record, ImportedClasses classes) {
-                    return new RawMethodCallRecordProcessed(record, classes);
+                    return new RawMethodCallRecordProcessed(record, classes, targets);
                 }
             };
         }
 
-        static Factory<RawAccessRecord.ForField, FieldAccessRecord> forFieldAccessRecord() {
+        static Factory<RawAccessRecord.ForField, FieldAccessRecord> forFieldAccessRecord(final AccessTargets targets) {
             return new Factory<RawAccessRecord.ForField, FieldAccessRecord>() {
                 @Override
                 FieldAccessRecord create(RawAccessRecord.ForField record, ImportedClasses classes) {
-                    return new RawFieldAccessRecordProcessed(record, classes);
+                    return new RawFieldAccessRecordProcessed(record, classes, targets);
                 }
             };
         }
 
         private static class RawConstructorCallRecordProcessed implements AccessRecord<ConstructorCallTarget> {
             private final RawAccessRecord record;
-            private final ImportedClasses classes;
-            private final JavaClass targetOwner;
+            private final ConstructorCallTarget target;
             private final Supplier<JavaCodeUnit> callerSupplier;
 
-            RawConstructorCallRecordProcessed(RawAccessRecord record, ImportedClasses classes) {
+            RawConstructorCallRecordProcessed(RawAccessRecord record, ImportedClasses classes, AccessTargets targets) {
                 this.record = record;
-                this.classes = classes;
-                targetOwner = this.classes.getOrResolve(record.target.owner.getName());
+                target = targets.constructorCallTarget(record.target, classes);
                 callerSupplier = createCallerSupplier(record, classes);
             }
 
@@ -113,20 +88,7 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public ConstructorCallTarget getTarget() {
-                Supplier<Optional<JavaConstructor>> constructorSupplier = new Supplier<Optional<JavaConstructor>>() {
-                    @Override
-                    public Optional<JavaConstructor> get() {
-                        return uniqueTargetIn(tryFindMatchingTargets(targetOwner.getAllConstructors(), record.target));
-                    }
-                };
-                JavaClassList paramTypes = getArgumentTypesFrom(record.target.desc, classes);
-                JavaClass returnType = classes.getOrResolve(void.class.getName());
-                return new ConstructorCallTargetBuilder()
-                        .withOwner(targetOwner)
-                        .withParameters(paramTypes)
-                        .withReturnType(returnType)
-                        .withConstructor(constructorSupplier)
-                        .build();
+                return target;
             }
 
             @Override
@@ -137,14 +99,12 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
         private static class RawMethodCallRecordProcessed implements AccessRecord<MethodCallTarget> {
             private final RawAccessRecord record;
-            final ImportedClasses classes;
-            private final JavaClass targetOwner;
+            private final MethodCallTarget target;
             private final Supplier<JavaCodeUnit> callerSupplier;
 
-            RawMethodCallRecordProcessed(RawAccessRecord record, ImportedClasses classes) {
+            RawMethodCallRecordProcessed(RawAccessRecord record, ImportedClasses classes, AccessTargets targets) {
                 this.record = record;
-                this.classes = classes;
-                targetOwner = this.classes.getOrResolve(record.target.owner.getName());
+                target = targets.methodCallTarget(record.target, classes);
                 callerSupplier = createCallerSupplier(record, classes);
             }
 
@@ -155,21 +115,7 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public MethodCallTarget getTarget() {
-                Supplier<Set<JavaMethod>> methodsSupplier = new Supplier<Set<JavaMethod>>() {
-                    @Override
-                    public Set<JavaMethod> get() {
-                        return tryFindMatchingTargets(targetOwner.getAllMethods(), record.target);
-                    }
-                };
-                JavaClassList parameters = getArgumentTypesFrom(record.target.desc, classes);
-                JavaClass returnType = classes.getOrResolve(Type.getReturnType(record.target.desc).getClassName());
-                return new MethodCallTargetBuilder()
-                        .withOwner(targetOwner)
-                        .withName(record.target.name)
-                        .withParameters(parameters)
-                        .withReturnType(returnType)
-                        .withMethods(methodsSupplier)
-                        .build();
+                return target;
             }
 
             @Override
@@ -180,14 +126,12 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
         private static class RawFieldAccessRecordProcessed implements FieldAccessRecord {
             private final RawAccessRecord.ForField record;
-            final ImportedClasses classes;
-            private final JavaClass targetOwner;
+            private final FieldAccessTarget target;
             private final Supplier<JavaCodeUnit> callerSupplier;
 
-            RawFieldAccessRecordProcessed(RawAccessRecord.ForField record, ImportedClasses classes) {
+            RawFieldAccessRecordProcessed(RawAccessRecord.ForField record, ImportedClasses classes, AccessTargets targets) {
                 this.record = record;
-                this.classes = classes;
-                targetOwner = this.classes.getOrResolve(record.target.owner.getName());
+                target = targets.fieldAccessTarget(record.target, classes);
                 callerSupplier = createCallerSupplier(record, classes);
             }
 
@@ -203,19 +147,7 @@ interface AccessRecord<TARGET extends AccessTarget> {
 
             @Override
             public FieldAccessTarget getTarget() {
-                Supplier<Optional<JavaField>> fieldSupplier = new Supplier<Optional<JavaField>>() {
-                    @Override
-                    public Optional<JavaField> get() {
-                        return uniqueTargetIn(tryFindMatchingTargets(targetOwner.getAllFields(), record.target));
-                    }
-                };
-                JavaClass fieldType = classes.getOrResolve(Type.getType(record.target.desc).getClassName());
-                return new FieldAccessTargetBuilder()
-                        .withOwner(targetOwner)
-                        .withName(record.target.name)
-                        .withType(fieldType)
-                        .withField(fieldSupplier)
-                        .build();
+                return target;
             }
 
             @Override
@@ -242,28 +174,5 @@ interface AccessRecord<TARGET extends AccessTarget> {
             throw new IllegalStateException("Never found a " + JavaCodeUnit.class.getSimpleName() +
                     " that matches supposed caller " + caller);
         }
-
-        private static <T extends HasName & HasDescriptor & HasOwner<JavaClass>> Set<T>
-        tryFindMatchingTargets(Set<T> possibleTargets, TargetInfo targetInfo) {
-            ImmutableSet.Builder<T> result = ImmutableSet.builder();
-            for (T possibleTarget : possibleTargets) {
-                if (targetInfo.matches(possibleTarget)) {
-                    result.add(possibleTarget);
-                }
-            }
-            return result.build();
-        }
-
-        private static <T> Optional<T> uniqueTargetIn(Collection<T> collection) {
-            return collection.size() == 1 ? Optional.of(getOnlyElement(collection)) : Optional.<T>absent();
-        }
-
-        private static JavaClassList getArgumentTypesFrom(String descriptor, ImportedClasses classes) {
-            List<JavaClass> paramTypes = new ArrayList<>();
-            for (Type type : Type.getArgumentTypes(descriptor)) {
-                paramTypes.add(classes.getOrResolve(type.getClassName()));
-            }
-            return createJavaClassList(paramTypes);
-        }
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.AccessTarget.ConstructorCallTarget;
+import com.tngtech.archunit.core.domain.AccessTarget.FieldAccessTarget;
+import com.tngtech.archunit.core.domain.AccessTarget.MethodCallTarget;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClassList;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.properties.HasDescriptor;
+import com.tngtech.archunit.core.domain.properties.HasName;
+import com.tngtech.archunit.core.domain.properties.HasOwner;
+import com.tngtech.archunit.core.importer.DomainBuilders.ConstructorCallTargetBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.FieldAccessTargetBuilder;
+import com.tngtech.archunit.core.importer.DomainBuilders.MethodCallTargetBuilder;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+import org.objectweb.asm.Type;
+
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createJavaClassList;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.getAllFieldsWithName;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.getAllMethodsWithName;
+
+/**
+ * Creates one canonical {@link com.tngtech.archunit.core.domain.AccessTarget AccessTarget} per distinct
+ * {@link TargetInfo} of an import, which is shared by all accesses to this target. Thus parameter types are
+ * only decoded once per target, and the targeted members are only resolved once per target.
+ */
+class AccessTargets {
+    private final ConcurrentMap<TargetInfo, FieldAccessTarget> fieldAccessTargets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TargetInfo, MethodCallTarget> methodCallTargets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TargetInfo, ConstructorCallTarget> constructorCallTargets = new ConcurrentHashMap<>();
+
+    FieldAccessTarget fieldAccessTarget(TargetInfo target, ImportedClasses classes) {
+        FieldAccessTarget result = fieldAccessTargets.get(target);
+        return result != null ? result : putIfAbsent(fieldAccessTargets, target, createFieldAccessTarget(target, classes));
+    }
+
+    MethodCallTarget methodCallTarget(TargetInfo target, ImportedClasses classes) {
+        MethodCallTarget result = methodCallTargets.get(target);
+        return result != null ? result : putIfAbsent(methodCallTargets, target, createMethodCallTarget(target, classes));
+    }
+
+    ConstructorCallTarget constructorCallTarget(TargetInfo target, ImportedClasses classes) {
+        ConstructorCallTarget result = constructorCallTargets.get(target);
+        return result != null ? result : putIfAbsent(constructorCallTargets, target, createConstructorCallTarget(target, classes));
+    }
+
+    // If two threads create the same target concurrently, both end up with the instance that was put first
+    private static <T> T putIfAbsent(ConcurrentMap<TargetInfo, T> targets, TargetInfo target, T created) {
+        T existing = targets.putIfAbsent(target, created);
+        return existing != null ? existing : created;
+    }
+
+    private static FieldAccessTarget createFieldAccessTarget(final TargetInfo target, ImportedClasses classes) {
+        final JavaClass targetOwner = classes.getOrResolve(target.owner.getName());
+        Supplier<Optional<JavaField>> fieldSupplier = new Supplier<Optional<JavaField>>() {
+            @Override
+            public Optional<JavaField> get() {
+                return uniqueTargetIn(tryFindMatchingTargets(getAllFieldsWithName(targetOwner, target.name), target));
+            }
+        };
+        JavaClass fieldType = classes.getOrResolve(Type.getType(target.desc).getClassName());
+        return new FieldAccessTargetBuilder()
+                .withOwner(targetOwner)
+                .withName(target.name)
+                .withType(fieldType)
+                .withField(fieldSupplier)
+                .build();
+    }
+
+    private static MethodCallTarget createMethodCallTarget(final TargetInfo target, ImportedClasses classes) {
+        final JavaClass targetOwner = classes.getOrResolve(target.owner.getName());
+        Supplier<Set<JavaMethod>> methodsSupplier = new Supplier<Set<JavaMethod>>() {
+            @Override
+            public Set<JavaMethod> get() {
+                return tryFindMatchingTargets(getAllMethodsWithName(targetOwner, target.name), target);
+            }
+        };
+        JavaClassList parameters = getArgumentTypesFrom(target.desc, classes);
+        JavaClass returnType = classes.getOrResolve(Type.getReturnType(target.desc).getClassName());
+        return new MethodCallTargetBuilder()
+                .withOwner(targetOwner)
+                .withName(target.name)
+                .withParameters(parameters)
+                .withReturnType(returnType)
+                .withMethods(methodsSupplier)
+                .build();
+    }
+
+    private static ConstructorCallTarget createConstructorCallTarget(final TargetInfo target, ImportedClasses classes) {
+        final JavaClass targetOwner = classes.getOrResolve(target.owner.getName());
+        Supplier<Optional<JavaConstructor>> constructorSupplier = new Supplier<Optional<JavaConstructor>>() {
+            @Override
+            public Optional<JavaConstructor> get() {
+                return uniqueTargetIn(tryFindMatchingTargets(targetOwner.getAllConstructors(), target));
+            }
+        };
+        JavaClassList paramTypes = getArgumentTypesFrom(target.desc, classes);
+        JavaClass returnType = classes.getOrResolve(void.class.getName());
+        return new ConstructorCallTargetBuilder()
+                .withOwner(targetOwner)
+                .withParameters(paramTypes)
+                .withReturnType(returnType)
+                .withConstructor(constructorSupplier)
+                .build();
+    }
+
+    private static <T extends HasName & HasDescriptor & HasOwner<JavaClass>> Set<T>
+    tryFindMatchingTargets(Set<T> possibleTargets, TargetInfo targetInfo) {
+        ImmutableSet.Builder<T> result = ImmutableSet.builder();
+        for (T possibleTarget : possibleTargets) {
+            if (targetInfo.matches(possibleTarget)) {
+                result.add(possibleTarget);
+            }
+        }
+        return result.build();
+    }
+
+    private static <T> Optional<T> uniqueTargetIn(Collection<T> collection) {
+        return collection.size() == 1 ? Optional.of(getOnlyElement(collection)) : Optional.<T>absent();
+    }
+
+    private static JavaClassList getArgumentTypesFrom(String descriptor, ImportedClasses classes) {
+        List<JavaClass> paramTypes = new ArrayList<>();
+        for (Type type : Type.getArgumentTypes(descriptor)) {
+            paramTypes.add(classes.getOrResolve(type.getClassName()));
+        }
+        return createJavaClassList(paramTypes);
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static com.tngtech.archunit.core.importer.ClassFileProcessor.ASM_API_VERSION;
+
+/**
+ * A compact binary form of the ASM events {@link JavaClassProcessor} consumes. A class file is parsed once
+ * with a {@link Recorder} in front of the processor, later on the recorded events can be replayed
+ * without touching ASM's {@link org.objectweb.asm.ClassReader} again.<br>
+ * Only events {@link JavaClassProcessor} reacts to are recorded, so if the processor starts to consume
+ * further events, {@link #FORMAT_VERSION} must be increased.
+ */
+class ClassEventStream {
+    static final int FORMAT_VERSION = 1;
+
+    private static final byte END = 0;
+    private static final byte CLASS = 1;
+    private static final byte INNER_CLASS = 2;
+    private static final byte OUTER_CLASS = 3;
+    private static final byte ANNOTATION = 4;
+    private static final byte FIELD = 5;
+    private static final byte METHOD = 6;
+    private static final byte CODE = 7;
+    private static final byte LINE_NUMBER = 8;
+    private static final byte FIELD_INSN = 9;
+    private static final byte METHOD_INSN = 10;
+    private static final byte ANNOTATION_DEFAULT = 11;
+    private static final byte ANNOTATION_VALUE = 12;
+    private static final byte ANNOTATION_ENUM = 13;
+    private static final byte ANNOTATION_ARRAY = 14;
+
+    private static final byte BYTE_VALUE = 'B';
+    private static final byte BOOLEAN_VALUE = 'Z';
+    private static final byte CHAR_VALUE = 'C';
+    private static final byte SHORT_VALUE = 'S';
+    private static final byte INT_VALUE = 'I';
+    private static final byte LONG_VALUE = 'J';
+    private static final byte FLOAT_VALUE = 'F';
+    private static final byte DOUBLE_VALUE = 'D';
+    private static final byte STRING_VALUE = 's';
+    private static final byte TYPE_VALUE = 't';
+    private static final byte ARRAY_VALUE = '[';
+
+    private ClassEventStream() {
+    }
+
+    static void replay(byte[] events, ClassVisitor visitor) throws IOException {
+        new Replay(new DataInputStream(new ByteArrayInputStream(events))).replayClass(visitor);
+    }
+
+    static class Recorder extends ClassVisitor {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        Recorder(ClassVisitor delegate) {
+            super(ASM_API_VERSION, delegate);
+        }
+
+        byte[] getEvents() {
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            write(CLASS);
+            writeInt(version);
+            writeInt(access);
+            writeString(name);
+            writeNullableString(superName);
+            writeInt(interfaces.length);
+            for (String i : interfaces) {
+                writeString(i);
+            }
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+            write(INNER_CLASS);
+            writeNullableString(name);
+            writeNullableString(outerName);
+            writeNullableString(innerName);
+            writeInt(access);
+            super.visitInnerClass(name, outerName, innerName, access);
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String desc) {
+            write(OUTER_CLASS);
+            writeString(owner);
+            writeNullableString(name);
+            writeNullableString(desc);
+            super.visitOuterClass(owner, name, desc);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            write(ANNOTATION);
+            writeString(desc);
+            writeBoolean(visible);
+            return new AnnotationRecorder(super.visitAnnotation(desc, visible));
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            write(FIELD);
+            writeInt(access);
+            writeString(name);
+            writeString(desc);
+            return new FieldRecorder(super.visitField(access, name, desc, signature, value));
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            write(METHOD);
+            writeInt(access);
+            writeString(name);
+            writeString(desc);
+            return new MethodRecorder(super.visitMethod(access, name, desc, signature, exceptions));
+        }
+
+        @Override
+        public void visitEnd() {
+            write(END);
+            super.visitEnd();
+        }
+
+        private class FieldRecorder extends FieldVisitor {
+            FieldRecorder(FieldVisitor delegate) {
+                super(ASM_API_VERSION, delegate);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                write(ANNOTATION);
+                writeString(desc);
+                writeBoolean(visible);
+                return new AnnotationRecorder(super.visitAnnotation(desc, visible));
+            }
+
+            @Override
+            public void visitEnd() {
+                write(END);
+                super.visitEnd();
+            }
+        }
+
+        private class MethodRecorder extends MethodVisitor {
+            MethodRecorder(MethodVisitor delegate) {
+                super(ASM_API_VERSION, delegate);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotationDefault() {
+                write(ANNOTATION_DEFAULT);
+                return new AnnotationRecorder(super.visitAnnotationDefault());
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                write(ANNOTATION);
+                writeString(desc);
+                writeBoolean(visible);
+                return new AnnotationRecorder(super.visitAnnotation(desc, visible));
+            }
+
+            @Override
+            public void visitCode() {
+                write(CODE);
+                super.visitCode();
+            }
+
+            @Override
+            public void visitLineNumber(int line, Label start) {
+                write(LINE_NUMBER);
+                writeInt(line);
+                super.visitLineNumber(line, start);
+            }
+
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String desc) {
+                write(FIELD_INSN);
+                writeInt(opcode);
+                writeString(owner);
+                writeString(name);
+                writeString(desc);
+                super.visitFieldInsn(opcode, owner, name, desc);
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+                write(METHOD_INSN);
+                writeInt(opcode);
+                writeString(owner);
+                writeString(name);
+                writeString(desc);
+                writeBoolean(itf);
+                super.visitMethodInsn(opcode, owner, name, desc, itf);
+            }
+
+            @Override
+            public void visitEnd() {
+                write(END);
+                super.visitEnd();
+            }
+        }
+
+        private class AnnotationRecorder extends AnnotationVisitor {
+            AnnotationRecorder(AnnotationVisitor delegate) {
+                super(ASM_API_VERSION, delegate);
+            }
+
+            @Override
+            public void visit(String name, Object value) {
+                write(ANNOTATION_VALUE);
+                writeNullableString(name);
+                writeValue(value);
+                super.visit(name, value);
+            }
+
+            @Override
+            public void visitEnum(String name, String desc, String value) {
+                write(ANNOTATION_ENUM);
+                writeNullableString(name);
+                writeString(desc);
+                writeString(value);
+                super.visitEnum(name, desc, value);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String name, String desc) {
+                write(ANNOTATION);
+                writeNullableString(name);
+                writeString(desc);
+                return new AnnotationRecorder(super.visitAnnotation(name, desc));
+            }
+
+            @Override
+            public AnnotationVisitor visitArray(String name) {
+                write(ANNOTATION_ARRAY);
+                writeNullableString(name);
+                return new AnnotationRecorder(super.visitArray(name));
+            }
+
+            @Override
+            public void visitEnd() {
+                write(END);
+                super.visitEnd();
+            }
+        }
+
+        private void writeValue(Object value) {
+            try {
+                writeValueUnchecked(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeValueUnchecked(Object value) throws IOException {
+            if (value instanceof Byte) {
+                out.writeByte(BYTE_VALUE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN_VALUE);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Character) {
+                out.writeByte(CHAR_VALUE);
+                out.writeChar((Character) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT_VALUE);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT_VALUE);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG_VALUE);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT_VALUE);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE_VALUE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof String) {
+                out.writeByte(STRING_VALUE);
+                out.writeUTF((String) value);
+            } else if (value instanceof Type) {
+                out.writeByte(TYPE_VALUE);
+                out.writeUTF(((Type) value).getDescriptor());
+            } else if (value != null && value.getClass().isArray()) {
+                writePrimitiveArray(value);
+            } else {
+                throw new IllegalArgumentException("Can't record annotation value " + value + ", this is most likely a bug");
+            }
+        }
+
+        // ASM reports arrays of primitives as a single value, all other arrays are visited via visitArray(..)
+        private void writePrimitiveArray(Object array) throws IOException {
+            int length = Array.getLength(array);
+            out.writeByte(ARRAY_VALUE);
+            out.writeByte(Type.getType(array.getClass().getComponentType()).getDescriptor().charAt(0));
+            out.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                writeValueUnchecked(Array.get(array, i));
+            }
+        }
+
+        private void write(byte tag) {
+            try {
+                out.writeByte(tag);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeBoolean(boolean value) {
+            try {
+                out.writeBoolean(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeString(String value) {
+            try {
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeNullableString(String value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeString(value);
+            }
+        }
+    }
+
+    private static class Replay {
+        private final DataInputStream in;
+
+        Replay(DataInputStream in) {
+            this.in = in;
+        }
+
+        void replayClass(ClassVisitor visitor) throws IOException {
+            for (byte tag = in.readByte(); tag != END; tag = in.readByte()) {
+                switch (tag) {
+                    case CLASS:
+                        replayClassHeader(visitor);
+                        break;
+                    case INNER_CLASS:
+                        visitor.visitInnerClass(readNullableString(), readNullableString(), readNullableString(), in.readInt());
+                        break;
+                    case OUTER_CLASS:
+                        visitor.visitOuterClass(in.readUTF(), readNullableString(), readNullableString());
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(visitor.visitAnnotation(in.readUTF(), in.readBoolean()));
+                        break;
+                    case FIELD:
+                        replayField(visitor.visitField(in.readInt(), in.readUTF(), in.readUTF(), null, null));
+                        break;
+                    case METHOD:
+                        replayMethod(visitor.visitMethod(in.readInt(), in.readUTF(), in.readUTF(), null, null));
+                        break;
+                    default:
+                        throw unexpected(tag);
+                }
+            }
+            visitor.visitEnd();
+        }
+
+        private void replayClassHeader(ClassVisitor visitor) throws IOException {
+            int version = in.readInt();
+            int access = in.readInt();
+            String name = in.readUTF();
+            String superName = readNullableString();
+            String[] interfaces = new String[in.readInt()];
+            for (int i = 0; i < interfaces.length; i++) {
+                interfaces[i] = in.readUTF();
+            }
+            visitor.visit(version, access, name, null, superName, interfaces);
+        }
+
+        private void replayField(FieldVisitor visitor) throws IOException {
+            for (byte tag = in.readByte(); tag != END; tag = in.readByte()) {
+                if (tag != ANNOTATION) {
+                    throw unexpected(tag);
+                }
+                String desc = in.readUTF();
+                boolean visible = in.readBoolean();
+                replayAnnotation(visitor != null ? visitor.visitAnnotation(desc, visible) : null);
+            }
+            if (visitor != null) {
+                visitor.visitEnd();
+            }
+        }
+
+        private void replayMethod(MethodVisitor visitor) throws IOException {
+            MethodVisitor target = visitor != null ? visitor : new MethodVisitor(ASM_API_VERSION) {
+            };
+            for (byte tag = in.readByte(); tag != END; tag = in.readByte()) {
+                switch (tag) {
+                    case ANNOTATION:
+                        replayAnnotation(target.visitAnnotation(in.readUTF(), in.readBoolean()));
+                        break;
+                    case ANNOTATION_DEFAULT:
+                        replayAnnotation(target.visitAnnotationDefault());
+                        break;
+                    case CODE:
+                        target.visitCode();
+                        break;
+                    case LINE_NUMBER:
+                        target.visitLineNumber(in.readInt(), new Label());
+                        break;
+                    case FIELD_INSN:
+                        target.visitFieldInsn(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF());
+                        break;
+                    case METHOD_INSN:
+                        target.visitMethodInsn(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), in.readBoolean());
+                        break;
+                    default:
+                        throw unexpected(tag);
+                }
+            }
+            target.visitEnd();
+        }
+
+        private void replayAnnotation(AnnotationVisitor visitor) throws IOException {
+            AnnotationVisitor target = visitor != null ? visitor : new AnnotationVisitor(ASM_API_VERSION) {
+            };
+            for (byte tag = in.readByte(); tag != END; tag = in.readByte()) {
+                switch (tag) {
+                    case ANNOTATION_VALUE:
+                        target.visit(readNullableString(), readValue());
+                        break;
+                    case ANNOTATION_ENUM:
+                        target.visitEnum(readNullableString(), in.readUTF(), in.readUTF());
+                        break;
+                    case ANNOTATION:
+                        replayAnnotation(target.visitAnnotation(readNullableString(), in.readUTF()));
+                        break;
+                    case ANNOTATION_ARRAY:
+                        replayAnnotation(target.visitArray(readNullableString()));
+                        break;
+                    default:
+                        throw unexpected(tag);
+                }
+            }
+            target.visitEnd();
+        }
+
+        private Object readValue() throws IOException {
+            return readValue(in.readByte());
+        }
+
+        private Object readValue(byte type) throws IOException {
+            switch (type) {
+                case BYTE_VALUE:
+                    return in.readByte();
+                case BOOLEAN_VALUE:
+                    return in.readBoolean();
+                case CHAR_VALUE:
+                    return in.readChar();
+                case SHORT_VALUE:
+                    return in.readShort();
+                case INT_VALUE:
+                    return in.readInt();
+                case LONG_VALUE:
+                    return in.readLong();
+                case FLOAT_VALUE:
+                    return in.readFloat();
+                case DOUBLE_VALUE:
+                    return in.readDouble();
+                case STRING_VALUE:
+                    return in.readUTF();
+                case TYPE_VALUE:
+                    return Type.getType(in.readUTF());
+                case ARRAY_VALUE:
+                    return readPrimitiveArray();
+                default:
+                    throw unexpected(type);
+            }
+        }
+
+        private Object readPrimitiveArray() throws IOException {
+            Class<?> componentType = primitiveTypeOf(in.readByte());
+            int length = in.readInt();
+            Object result = Array.newInstance(componentType, length);
+            for (int i = 0; i < length; i++) {
+                Array.set(result, i, readValue());
+            }
+            return result;
+        }
+
+        private Class<?> primitiveTypeOf(byte descriptor) throws IOException {
+            switch (descriptor) {
+                case BYTE_VALUE:
+                    return byte.class;
+                case BOOLEAN_VALUE:
+                    return boolean.class;
+                case CHAR_VALUE:
+                    return char.class;
+                case SHORT_VALUE:
+                    return short.class;
+                case INT_VALUE:
+                    return int.class;
+                case LONG_VALUE:
+                    return long.class;
+                case FLOAT_VALUE:
+                    return float.class;
+                case DOUBLE_VALUE:
+                    return double.class;
+                default:
+                    throw unexpected(descriptor);
+            }
+        }
+
+        private String readNullableString() throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private IOException unexpected(byte tag) {
+            return new IOException("Unexpected tag " + tag + " in recorded class events");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Reads class files into arrays of exactly the size of the class file, so the bytes can be handed to ASM and
+ * to the md5 calculation of {@link com.tngtech.archunit.core.domain.Source} without any further copies.
+ */
+class ClassFileBytes {
+    // Mapping a file costs more than reading it, as long as the file is small, and mapped memory is only released
+    // on garbage collection. Thus only files beyond this size (which are rare for class files) are mapped.
+    static final long MAPPING_THRESHOLD = 256 * 1024;
+
+    private ClassFileBytes() {
+    }
+
+    static byte[] read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("File %s is too large to be a class file", file));
+            }
+            return size > MAPPING_THRESHOLD ? readMapped(channel, (int) size) : read(channel, (int) size);
+        }
+    }
+
+    private static byte[] readMapped(FileChannel channel, int size) throws IOException {
+        byte[] result = new byte[size];
+        channel.map(FileChannel.MapMode.READ_ONLY, 0, size).get(result);
+        return result;
+    }
+
+    private static byte[] read(FileChannel channel, int size) throws IOException {
+        byte[] result = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(result);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                // the file might have been truncated concurrently
+                return Arrays.copyOf(result, buffer.position());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param expectedSize The size of the class file if known in advance (e.g. from a JAR entry), otherwise -1
+     */
+    static byte[] read(InputStream inputStream, long expectedSize) throws IOException {
+        if (expectedSize < 0 || expectedSize > Integer.MAX_VALUE) {
+            return ByteStreams.toByteArray(inputStream);
+        }
+        byte[] result = new byte[(int) expectedSize];
+        int read = ByteStreams.read(inputStream, result, 0, result.length);
+        if (read < result.length) {
+            return Arrays.copyOf(result, read);
+        }
+        int next = inputStream.read();
+        if (next < 0) {
+            return result;
+        }
+        // the expected size was wrong, so we fall back to reading the rest
+        byte[] rest = ByteStreams.toByteArray(inputStream);
+        byte[] combined = Arrays.copyOf(result, result.length + 1 + rest.length);
+        combined[result.length] = (byte) next;
+        System.arraycopy(rest, 0, combined, result.length + 1, rest.length);
+        return combined;
+    }
+}
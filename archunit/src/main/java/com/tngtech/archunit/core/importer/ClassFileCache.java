@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.Optional;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+
+/**
+ * Feeds the contents of a class file to a {@link ClassVisitor}, possibly without parsing the class file
+ * again, if the result is already known.
+ */
+interface ClassFileCache {
+    void accept(byte[] classFile, ClassVisitor visitor);
+
+    /**
+     * Called once after all class files of an import have been processed.
+     */
+    void finish();
+
+    @Internal
+    final class Factory {
+        /**
+         * @param readFlags The flags to pass to {@link ClassReader#accept(ClassVisitor, int)}
+         */
+        ClassFileCache create(int readFlags) {
+            ArchConfiguration configuration = ArchConfiguration.get();
+            Optional<String> directory = configuration.getImportCacheDirectory();
+            if (!directory.isPresent()) {
+                return new Disabled(readFlags);
+            }
+            return new PersistentClassFileCache(
+                    Paths.get(directory.get()),
+                    configuration.getImportCacheMaxSizeInMegabytes() * 1024 * 1024,
+                    TimeUnit.DAYS.toMillis(configuration.getImportCacheMaxAgeInDays()),
+                    readFlags);
+        }
+    }
+
+    @Internal
+    class Disabled implements ClassFileCache {
+        private final int readFlags;
+
+        Disabled(int readFlags) {
+            this.readFlags = readFlags;
+        }
+
+        @Override
+        public void accept(byte[] classFile, ClassVisitor visitor) {
+            new ClassReader(classFile).accept(visitor, readFlags);
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+}
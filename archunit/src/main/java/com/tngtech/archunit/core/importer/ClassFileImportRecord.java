@@ -17,12 +17,13 @@ package com.tngtech.archunit.core.importer;
 
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.SetMultimap;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
@@ -31,6 +32,10 @@ import org.slf4j.LoggerFactory;
 
 import static com.google.common.base.Preconditions.checkState;
 
+/**
+ * Classes might be resolved and recorded, while the class graph is completed in parallel, thus all details
+ * recorded per class are accessed synchronized.
+ */
 class ClassFileImportRecord {
     private static final Logger LOG = LoggerFactory.getLogger(ClassFileImportRecord.class);
 
@@ -45,77 +50,78 @@ class ClassFileImportRecord {
     private final SetMultimap<String, DomainBuilders.JavaAnnotationBuilder> annotationsByOwner = HashMultimap.create();
     private final EnclosingClassesByInnerClasses enclosingClassNamesByOwner = new EnclosingClassesByInnerClasses();
 
-    private final Set<RawAccessRecord.ForField> rawFieldAccessRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawMethodCallRecords = new HashSet<>();
-    private final Set<RawAccessRecord> rawConstructorCallRecords = new HashSet<>();
+    private final RawAccessColumns.ForFieldAccesses rawFieldAccessRecords = new RawAccessColumns.ForFieldAccesses();
+    private final RawAccessColumns.ForCalls rawMethodCallRecords = new RawAccessColumns.ForCalls();
+    private final RawAccessColumns.ForCalls rawConstructorCallRecords = new RawAccessColumns.ForCalls();
+    private final Map<String, byte[]> classFilesWithDeferredCode = new HashMap<>();
 
-    void setSuperClass(String ownerName, String superClassName) {
+    synchronized void setSuperClass(String ownerName, String superClassName) {
         checkState(!superClassNamesByOwner.containsKey(ownerName),
                 "Attempted to add %s as a second superclass to %s, this is most likely a bug",
                 superClassName, ownerName);
         superClassNamesByOwner.put(ownerName, superClassName);
     }
 
-    void addInterfaces(String ownerName, Set<String> interfaceNames) {
+    synchronized void addInterfaces(String ownerName, Set<String> interfaceNames) {
         interfaceNamesByOwner.putAll(ownerName, interfaceNames);
     }
 
-    void addField(String ownerName, DomainBuilders.JavaFieldBuilder fieldBuilder) {
+    synchronized void addField(String ownerName, DomainBuilders.JavaFieldBuilder fieldBuilder) {
         fieldBuildersByOwner.put(ownerName, fieldBuilder);
     }
 
-    void addMethod(String ownerName, DomainBuilders.JavaMethodBuilder methodBuilder) {
+    synchronized void addMethod(String ownerName, DomainBuilders.JavaMethodBuilder methodBuilder) {
         methodBuildersByOwner.put(ownerName, methodBuilder);
     }
 
-    void addConstructor(String ownerName, DomainBuilders.JavaConstructorBuilder constructorBuilder) {
+    synchronized void addConstructor(String ownerName, DomainBuilders.JavaConstructorBuilder constructorBuilder) {
         constructorBuildersByOwner.put(ownerName, constructorBuilder);
     }
 
-    void setStaticInitializer(String ownerName, DomainBuilders.JavaStaticInitializerBuilder builder) {
+    synchronized void setStaticInitializer(String ownerName, DomainBuilders.JavaStaticInitializerBuilder builder) {
         checkState(!staticInitializerBuildersByOwner.containsKey(ownerName),
                 "Tried to add a second static initializer to %s, this is most likely a bug",
                 ownerName);
         staticInitializerBuildersByOwner.put(ownerName, builder);
     }
 
-    void addAnnotations(String ownerName, Set<DomainBuilders.JavaAnnotationBuilder> annotations) {
+    synchronized void addAnnotations(String ownerName, Set<DomainBuilders.JavaAnnotationBuilder> annotations) {
         this.annotationsByOwner.putAll(ownerName, annotations);
     }
 
-    void setEnclosingClass(String ownerName, String enclosingClassName) {
+    synchronized void setEnclosingClass(String ownerName, String enclosingClassName) {
         enclosingClassNamesByOwner.register(ownerName, enclosingClassName);
     }
 
-    Optional<String> getSuperClassFor(String name) {
+    synchronized Optional<String> getSuperClassFor(String name) {
         return Optional.fromNullable(superClassNamesByOwner.get(name));
     }
 
-    Set<String> getInterfaceNamesFor(String ownerName) {
-        return interfaceNamesByOwner.get(ownerName);
+    synchronized Set<String> getInterfaceNamesFor(String ownerName) {
+        return ImmutableSet.copyOf(interfaceNamesByOwner.get(ownerName));
     }
 
-    Set<DomainBuilders.JavaFieldBuilder> getFieldBuildersFor(String ownerName) {
-        return fieldBuildersByOwner.get(ownerName);
+    synchronized Set<DomainBuilders.JavaFieldBuilder> getFieldBuildersFor(String ownerName) {
+        return ImmutableSet.copyOf(fieldBuildersByOwner.get(ownerName));
     }
 
-    Set<DomainBuilders.JavaMethodBuilder> getMethodBuildersFor(String ownerName) {
-        return methodBuildersByOwner.get(ownerName);
+    synchronized Set<DomainBuilders.JavaMethodBuilder> getMethodBuildersFor(String ownerName) {
+        return ImmutableSet.copyOf(methodBuildersByOwner.get(ownerName));
     }
 
-    Set<DomainBuilders.JavaConstructorBuilder> getConstructorBuildersFor(String ownerName) {
-        return constructorBuildersByOwner.get(ownerName);
+    synchronized Set<DomainBuilders.JavaConstructorBuilder> getConstructorBuildersFor(String ownerName) {
+        return ImmutableSet.copyOf(constructorBuildersByOwner.get(ownerName));
     }
 
-    Optional<DomainBuilders.JavaStaticInitializerBuilder> getStaticInitializerBuilderFor(String ownerName) {
+    synchronized Optional<DomainBuilders.JavaStaticInitializerBuilder> getStaticInitializerBuilderFor(String ownerName) {
         return Optional.fromNullable(staticInitializerBuildersByOwner.get(ownerName));
     }
 
-    Set<DomainBuilders.JavaAnnotationBuilder> getAnnotationsFor(String ownerName) {
-        return annotationsByOwner.get(ownerName);
+    synchronized Set<DomainBuilders.JavaAnnotationBuilder> getAnnotationsFor(String ownerName) {
+        return ImmutableSet.copyOf(annotationsByOwner.get(ownerName));
     }
 
-    Optional<String> getEnclosingClassFor(String ownerName) {
+    synchronized Optional<String> getEnclosingClassFor(String ownerName) {
         return enclosingClassNamesByOwner.get(ownerName);
     }
 
@@ -131,16 +137,24 @@ class ClassFileImportRecord {
         rawConstructorCallRecords.add(record);
     }
 
-    Set<RawAccessRecord.ForField> getRawFieldAccessRecords() {
-        return ImmutableSet.copyOf(rawFieldAccessRecords);
+    void deferCode(String ownerName, byte[] classFile) {
+        classFilesWithDeferredCode.put(ownerName, classFile);
+    }
+
+    Map<String, byte[]> getClassFilesWithDeferredCode() {
+        return classFilesWithDeferredCode;
     }
 
-    Set<RawAccessRecord> getRawMethodCallRecords() {
-        return ImmutableSet.copyOf(rawMethodCallRecords);
+    List<RawAccessRecord.ForField> getRawFieldAccessRecords() {
+        return rawFieldAccessRecords.asList();
     }
 
-    Set<RawAccessRecord> getRawConstructorCallRecords() {
-        return ImmutableSet.copyOf(rawConstructorCallRecords);
+    List<RawAccessRecord> getRawMethodCallRecords() {
+        return rawMethodCallRecords.asList();
+    }
+
+    List<RawAccessRecord> getRawConstructorCallRecords() {
+        return rawConstructorCallRecords.asList();
     }
 
     void addAll(Collection<JavaClass> javaClasses) {
@@ -149,16 +163,35 @@ class ClassFileImportRecord {
         }
     }
 
+    void addAll(ClassFileImportRecord other) {
+        classes.putAll(other.classes);
+        for (Map.Entry<String, String> entry : other.superClassNamesByOwner.entrySet()) {
+            setSuperClass(entry.getKey(), entry.getValue());
+        }
+        interfaceNamesByOwner.putAll(other.interfaceNamesByOwner);
+        fieldBuildersByOwner.putAll(other.fieldBuildersByOwner);
+        methodBuildersByOwner.putAll(other.methodBuildersByOwner);
+        constructorBuildersByOwner.putAll(other.constructorBuildersByOwner);
+        for (Map.Entry<String, DomainBuilders.JavaStaticInitializerBuilder> entry : other.staticInitializerBuildersByOwner.entrySet()) {
+            setStaticInitializer(entry.getKey(), entry.getValue());
+        }
+        annotationsByOwner.putAll(other.annotationsByOwner);
+        enclosingClassNamesByOwner.registerAll(other.enclosingClassNamesByOwner);
+        rawFieldAccessRecords.addAll(other.rawFieldAccessRecords);
+        rawMethodCallRecords.addAll(other.rawMethodCallRecords);
+        rawConstructorCallRecords.addAll(other.rawConstructorCallRecords);
+        classFilesWithDeferredCode.putAll(other.classFilesWithDeferredCode);
+    }
+
     Map<String, JavaClass> getClasses() {
         return classes;
     }
 
-    Set<RawAccessRecord> getAccessRecords() {
-        return ImmutableSet.<RawAccessRecord>builder()
-                .addAll(rawFieldAccessRecords)
-                .addAll(rawMethodCallRecords)
-                .addAll(rawConstructorCallRecords)
-                .build();
+    Iterable<RawAccessRecord.TargetInfo> getAccessTargets() {
+        return Iterables.concat(
+                rawFieldAccessRecords.getTargets(),
+                rawMethodCallRecords.getTargets(),
+                rawConstructorCallRecords.getTargets());
     }
 
     Map<String, String> getSuperClassNamesBySubClass() {
@@ -181,6 +214,12 @@ class ClassFileImportRecord {
             }
         }
 
+        void registerAll(EnclosingClassesByInnerClasses other) {
+            for (Map.Entry<String, String> entry : other.innerToOuter.entrySet()) {
+                register(entry.getKey(), entry.getValue());
+            }
+        }
+
         private boolean registeringAllowed(String innerName, String outerName) {
             boolean registeringAllowed = !innerToOuter.containsKey(innerName) ||
                     innerToOuter.get(innerName).equals(outerName);
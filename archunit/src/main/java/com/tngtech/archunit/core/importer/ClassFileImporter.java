@@ -15,11 +15,15 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.io.File;
+import java.net.URI;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -28,6 +32,7 @@ import java.util.jar.JarFile;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
@@ -38,7 +43,12 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 
 public final class ClassFileImporter {
+    private static final ImportListener NO_LISTENER = new ImportListener.Adapter() {
+    };
+
     private final ImportOptions importOptions;
+    private final ImportProfile importProfile;
+    private final ImportListener importListener;
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter() {
@@ -47,12 +57,35 @@ public final class ClassFileImporter {
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter(ImportOptions importOptions) {
+        this(importOptions, ImportProfile.FULL, NO_LISTENER);
+    }
+
+    private ClassFileImporter(ImportOptions importOptions, ImportProfile importProfile, ImportListener importListener) {
         this.importOptions = importOptions;
+        this.importProfile = importProfile;
+        this.importListener = importListener;
     }
 
     @PublicAPI(usage = ACCESS)
     public ClassFileImporter withImportOption(ImportOption option) {
-        return new ClassFileImporter(importOptions.with(option));
+        return new ClassFileImporter(importOptions.with(option), importProfile, importListener);
+    }
+
+    /**
+     * @see ImportProfile
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withImportProfile(ImportProfile importProfile) {
+        return new ClassFileImporter(importOptions, importProfile, importListener);
+    }
+
+    /**
+     * @param importListener Will be notified about the progress and the {@link ImportMetrics} of every import
+     *                       by the returned importer
+     */
+    @PublicAPI(usage = ACCESS)
+    public ClassFileImporter withImportListener(ImportListener importListener) {
+        return new ClassFileImporter(importOptions, importProfile, importListener);
     }
 
     @PublicAPI(usage = ACCESS)
@@ -97,7 +130,7 @@ public final class ClassFileImporter {
 
     @PublicAPI(usage = ACCESS)
     public JavaClasses importClasspath(ImportOptions options) {
-        return new ClassFileImporter(options).importLocations(Locations.inClassPath());
+        return new ClassFileImporter(options, importProfile, importListener).importLocations(Locations.inClassPath());
     }
 
     @PublicAPI(usage = ACCESS)
@@ -132,11 +165,123 @@ public final class ClassFileImporter {
 
     @PublicAPI(usage = ACCESS)
     public JavaClasses importLocations(Collection<Location> locations) {
-        List<ClassFileSource> sources = new ArrayList<>();
+        ImportStatistics statistics = new ImportStatistics(importListener);
+        List<ClassFileSource> sources = scan(locations, statistics);
+        return new ClassFileProcessor(importProfile, statistics).process(unify(sources));
+    }
+
+    /**
+     * Imports the given changed {@link Location locations} again and takes over all other classes of the
+     * previous import. Thus only changed class files have to be parsed, while all classes of the previous import,
+     * that don't stem from any of the changed locations, are reused.<br>
+     * A changed location can be a single class file, or a folder or JAR, if several files have changed
+     * (note that classes of the previous import, whose class files have been deleted, must be covered by a
+     * changed location as well, to be removed). A JAR can also be given by its file path
+     * (e.g. via {@link Location#of(Path)}), if it has been deleted, its classes are simply removed.<br><br>
+     * The previous {@link JavaClasses} are not modified, instead a completely new class graph is created
+     * and linked, since every class of the previous graph might reference changed classes.
+     *
+     * @param previous The result of a previous import
+     * @param changed Locations of changed class files
+     * @return The imported classes, as if the import of {@code previous} had been repeated
+     */
+    @PublicAPI(usage = ACCESS)
+    public JavaClasses reimport(JavaClasses previous, Collection<Location> changed) {
+        changed = withJarsAsJarLocations(changed);
+        List<Location> existing = withoutDeletedJars(changed);
+        for (Location location : existing) {
+            location.evictCachedJarFile();
+        }
+        ImportStatistics statistics = new ImportStatistics(importListener);
+        List<ClassFileSource> sources = scan(existing, statistics);
+        // classes without accesses can't be completed from the previous import, so the result lacks accesses as well
+        ImportProfile profile = previous.isAccessDataAvailable() ? importProfile : ImportProfile.DECLARATIONS_ONLY;
+        return new ClassFileProcessor(profile, statistics).process(unify(sources), unchangedClassesOf(previous, changed));
+    }
+
+    // The classes of a JAR have URIs like 'jar:file:/some.jar!/..' (note the single slash, unlike Path.toUri()),
+    // thus JAR files have to be matched as JAR locations of the same form
+    private List<Location> withJarsAsJarLocations(Collection<Location> locations) {
+        List<Location> result = new ArrayList<>();
+        for (Location location : locations) {
+            boolean jarFile = !location.isJar() && location.asURI().getPath().endsWith(".jar");
+            result.add(jarFile ? Location.of(new File(location.asURI()).toURI()) : location);
+        }
+        return result;
+    }
+
+    private List<Location> withoutDeletedJars(Collection<Location> locations) {
+        List<Location> result = new ArrayList<>();
         for (Location location : locations) {
-            sources.add(location.asClassFileSource(importOptions));
+            if (!location.isJar() || jarFileExists(location.asURI())) {
+                result.add(location);
+            }
+        }
+        return result;
+    }
+
+    private boolean jarFileExists(URI jarUri) {
+        String uri = jarUri.toString();
+        String jarFileUri = uri.substring(uri.indexOf(':') + 1, uri.indexOf("!/"));
+        return !jarFileUri.startsWith("file:") || new File(URI.create(jarFileUri)).exists();
+    }
+
+    private List<ClassFileSource> scan(Collection<Location> locations, ImportStatistics statistics) {
+        long start = System.nanoTime();
+        List<ClassFileSource> sources = Location.asClassFileSources(byPrecedence(locations), importOptions);
+        statistics.onPhaseCompleted(ImportPhase.LOCATION_SCAN, start);
+        return sources;
+    }
+
+    // The first class file found for any class name is imported, so locations of higher precedence are scanned first
+    private List<Location> byPrecedence(Collection<Location> locations) {
+        final List<String> precedence = ArchConfiguration.get().getClassLocationPrecedence();
+        List<Location> result = new ArrayList<>(locations);
+        Collections.sort(result, new Comparator<Location>() {
+            @Override
+            public int compare(Location first, Location second) {
+                return Integer.compare(rankOf(first, precedence), rankOf(second, precedence));
+            }
+        });
+        return result;
+    }
+
+    private int rankOf(Location location, List<String> precedence) {
+        String uri = location.asURI().toString();
+        for (int i = 0; i < precedence.size(); i++) {
+            if (uri.contains(precedence.get(i))) {
+                return i;
+            }
+        }
+        return precedence.size();
+    }
+
+    private Set<JavaClass> unchangedClassesOf(JavaClasses previous, Collection<Location> changed) {
+        Set<JavaClass> result = new HashSet<>();
+        for (JavaClass javaClass : previous) {
+            if (!javaClass.getSource().isPresent() || !isContainedInAny(changed, javaClass.getSource().get().getUri())) {
+                result.add(javaClass);
+            }
+        }
+        return result;
+    }
+
+    private boolean isContainedInAny(Collection<Location> locations, URI uri) {
+        for (Location location : locations) {
+            if (contains(location.asURI().toString(), uri.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Only whole path segments match, i.e. a changed folder '.../foo' must not contain '.../foobar/Bar.class'
+    private boolean contains(String location, String uri) {
+        if (uri.equals(location)) {
+            return true;
         }
-        return new ClassFileProcessor().process(unify(sources));
+        String prefix = location.endsWith("/") ? location : location + "/";
+        return uri.startsWith(prefix);
     }
 
     private ClassFileSource unify(final List<ClassFileSource> sources) {
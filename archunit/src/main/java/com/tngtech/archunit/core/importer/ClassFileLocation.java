@@ -18,8 +18,21 @@ package com.tngtech.archunit.core.importer;
 import java.io.InputStream;
 import java.net.URI;
 
+import com.tngtech.archunit.base.Optional;
+
 interface ClassFileLocation {
     InputStream openStream();
 
+    /**
+     * @return The complete contents of the class file, read at once
+     */
+    byte[] read();
+
     URI getUri();
+
+    /**
+     * @return The name of the class within the class file, if it can be derived from the location
+     * without reading the class file (e.g. from the path of a JAR entry)
+     */
+    Optional<String> getClassName();
 }
@@ -18,23 +18,43 @@ package com.tngtech.archunit.core.importer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.domain.JavaType;
 import com.tngtech.archunit.core.importer.JavaClassProcessor.AccessHandler;
 import com.tngtech.archunit.core.importer.JavaClassProcessor.DeclarationHandler;
 import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
-import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
 import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver.ClassUriImporter;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromJdkSnapshot;
 import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.google.common.base.Preconditions.checkState;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createLazyJavaClass;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.createSource;
 import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
 import static org.objectweb.asm.Opcodes.ASM5;
 
@@ -43,23 +63,242 @@ class ClassFileProcessor {
 
     static final int ASM_API_VERSION = ASM5;
 
+    // Tags of constant pool entries as defined by the JVM specification
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+
     private final ClassResolver.Factory classResolverFactory = new ClassResolver.Factory();
+    private final ClassFileCache.Factory classFileCacheFactory = new ClassFileCache.Factory();
+    private final ImportProfile importProfile;
+    private final ImportStatistics statistics;
+    private final ImportSymbols symbols = new ImportSymbols();
+    private final DuplicateClassFiles duplicates = new DuplicateClassFiles();
+
+    ClassFileProcessor(ImportProfile importProfile, ImportStatistics statistics) {
+        this.importProfile = importProfile;
+        this.statistics = statistics;
+    }
 
     JavaClasses process(ClassFileSource source) {
+        return process(source, Collections.<JavaClass>emptySet());
+    }
+
+    /**
+     * Like {@link #process(ClassFileSource)}, but additionally takes over all classes of a previous import,
+     * that are not imported from the source again. Those classes are not parsed, but recorded from
+     * the previous domain objects.
+     */
+    JavaClasses process(ClassFileSource source, Iterable<JavaClass> previouslyImportedClasses) {
+        ClassFileCache cache = classFileCacheFactory.create(importProfile.getReadFlags());
+        JarFileHandles jarFiles = new JarFileHandles();
+        try {
+            long start = System.nanoTime();
+            ClassFileImportRecord importRecord = ArchConfiguration.get().parallelImportEnabled()
+                    ? importInParallel(source, cache)
+                    : importSequentially(source, cache);
+            recordPreviouslyImported(previouslyImportedClasses, importRecord);
+            statistics.onPhaseCompleted(ImportPhase.CLASS_FILE_PARSING, start);
+            duplicates.logSummary(importRecord.getClasses());
+            UriImporterOfProcessor uriImporter =
+                    new UriImporterOfProcessor(importRecord, cache, jarFiles, importProfile.getReadFlags(), statistics);
+            ClassGraphCreator classGraphCreator = new ClassGraphCreator(
+                    importRecord, getClassResolver(uriImporter), importProfile, symbols, statistics);
+            uriImporter.setImportedClasses(classGraphCreator.getImportedClasses());
+            JavaClasses result = classGraphCreator.complete();
+            uriImporter.importCompleted();
+            statistics.onImportCompleted();
+            return result;
+        } finally {
+            cache.finish();
+            jarFiles.close();
+        }
+    }
+
+    private void recordPreviouslyImported(Iterable<JavaClass> classes, ClassFileImportRecord importRecord) {
+        ImportedClassRecorder recorder = new ImportedClassRecorder(importRecord, symbols);
+        for (JavaClass javaClass : classes) {
+            if (!importRecord.getClasses().containsKey(javaClass.getName())) {
+                recorder.record(javaClass);
+            }
+        }
+    }
+
+    private ClassFileImportRecord importSequentially(ClassFileSource source, ClassFileCache cache) {
         ClassFileImportRecord importRecord = new ClassFileImportRecord();
-        RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord);
+        RecordAccessHandler accessHandler = new RecordAccessHandler(importRecord, symbols);
         ClassDetailsRecorder classDetailsRecorder = new ClassDetailsRecorder(importRecord);
         for (ClassFileLocation location : source) {
-            try (InputStream s = location.openStream()) {
-                JavaClassProcessor javaClassProcessor =
-                        new JavaClassProcessor(location.getUri(), classDetailsRecorder, accessHandler);
-                new ClassReader(s).accept(javaClassProcessor, 0);
-                importRecord.addAll(javaClassProcessor.createJavaClass().asSet());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            if (!skipIfDuplicate(location, importRecord.getClasses().keySet())) {
+                reportImported(importClassFile(location, cache, importRecord, classDetailsRecorder, accessHandler).asSet());
+            }
+        }
+        return importRecord;
+    }
+
+    // If the class name can be derived from the location, duplicates are skipped without even reading the class file
+    private boolean skipIfDuplicate(ClassFileLocation location, Set<String> importedClassNames) {
+        Optional<String> className = location.getClassName();
+        if (className.isPresent() && importedClassNames.contains(className.get())) {
+            duplicates.skipped(className.get(), location.getUri());
+            return true;
+        }
+        return false;
+    }
+
+    // Every class file is parsed into its own record shard on the pool. The shards are merged afterwards in the
+    // order of the source, skipping classes that have already been merged, which yields the same record as
+    // the sequential import (where the first occurrence of a class name wins).
+    private ClassFileImportRecord importInParallel(ClassFileSource source, ClassFileCache cache) {
+        List<Callable<ClassFileImportRecord>> tasks = new ArrayList<>();
+        Set<String> claimedClassNames = new HashSet<>();
+        for (ClassFileLocation location : source) {
+            if (!skipIfDuplicate(location, claimedClassNames)) {
+                claimedClassNames.addAll(location.getClassName().asSet());
+                tasks.add(new ImportShardTask(location, cache));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            ClassFileImportRecord importRecord = new ClassFileImportRecord();
+            for (Future<ClassFileImportRecord> shard : pool.invokeAll(tasks)) {
+                mergeIfNew(importRecord, getResult(shard));
+            }
+            return importRecord;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void mergeIfNew(ClassFileImportRecord importRecord, ClassFileImportRecord shard) {
+        for (Map.Entry<String, JavaClass> shardClass : shard.getClasses().entrySet()) {
+            if (importRecord.getClasses().containsKey(shardClass.getKey())) {
+                duplicates.skipped(shardClass.getKey(), shardClass.getValue().getSource().get().getUri());
+                return;
+            }
+        }
+        importRecord.addAll(shard);
+        reportImported(shard.getClasses().values());
+    }
+
+    // Only classes that end up in the import record are reported, i.e. shards dropped as duplicates are not counted
+    private void reportImported(Iterable<JavaClass> classes) {
+        for (JavaClass javaClass : classes) {
+            statistics.onClassImported(javaClass.getName());
+        }
+    }
+
+    private ClassFileImportRecord getResult(Future<ClassFileImportRecord> shard) {
+        try {
+            return shard.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Optional<JavaClass> importClassFile(ClassFileLocation location, ClassFileCache cache,
+            ClassFileImportRecord importRecord, ClassDetailsRecorder classDetailsRecorder, RecordAccessHandler accessHandler) {
+        byte[] classFile = location.read();
+        statistics.onClassFileRead(classFile);
+        if (!location.getClassName().isPresent()) {
+            // reading the class name from the header is still cheaper than parsing (and hashing) the class file
+            String className = new ClassReader(classFile).getClassName().replace('/', '.');
+            if (!classDetailsRecorder.isNew(className)) {
+                duplicates.skipped(className, location.getUri());
+                return Optional.absent();
+            }
+        }
+        JavaClassProcessor javaClassProcessor =
+                new JavaClassProcessor(location.getUri(), classFile, classDetailsRecorder, accessHandler);
+        cache.accept(classFile, javaClassProcessor);
+        Optional<JavaClass> javaClass = javaClassProcessor.createJavaClass();
+        importRecord.addAll(javaClass.asSet());
+        if (javaClass.isPresent() && importProfile.defersCode()) {
+            importRecord.deferCode(javaClass.get().getName(), classFile);
+        }
+        return javaClass;
+    }
+
+    /**
+     * Decodes the bodies of all code units of a class file, that was imported with deferred code
+     * (compare {@link ImportProfile#DEFERRED_CODE}), and records all accesses.
+     */
+    static ClassFileImportRecord importDeferredCode(byte[] classFile, ImportSymbols symbols) {
+        ClassFileImportRecord importRecord = new ClassFileImportRecord();
+        new ClassReader(classFile).accept(
+                new JavaClassProcessor.CodeProcessor(new RecordAccessHandler(importRecord, symbols)), ClassReader.SKIP_FRAMES);
+        return importRecord;
+    }
+
+    /**
+     * Determines the owners of all fields, methods and constructors referenced from the constant pool of a class
+     * file, i.e. all owners of access targets, without decoding the bodies of any code units.
+     */
+    static Set<String> accessTargetOwnersOf(byte[] classFile) {
+        ClassReader reader = new ClassReader(classFile);
+        char[] buffer = new char[reader.getMaxStringLength()];
+        Set<String> result = new HashSet<>();
+        for (int item = 1; item < reader.getItemCount(); item++) {
+            int offset = reader.getItem(item);
+            if (offset > 0 && isMemberReference(reader.readByte(offset - 1))) {
+                result.add(JavaTypeImporter.createFromAsmObjectTypeName(reader.readClass(offset, buffer)).getName());
+            }
+        }
+        return result;
+    }
+
+    private static boolean isMemberReference(int tag) {
+        return tag == CONSTANT_FIELDREF || tag == CONSTANT_METHODREF || tag == CONSTANT_INTERFACE_METHODREF;
+    }
+
+    private class ImportShardTask implements Callable<ClassFileImportRecord> {
+        private final ClassFileLocation location;
+        private final ClassFileCache cache;
+
+        private ImportShardTask(ClassFileLocation location, ClassFileCache cache) {
+            this.location = location;
+            this.cache = cache;
+        }
+
+        @Override
+        public ClassFileImportRecord call() {
+            ClassFileImportRecord shard = new ClassFileImportRecord();
+            importClassFile(location, cache, shard, new ClassDetailsRecorder(shard), new RecordAccessHandler(shard, symbols));
+            return shard;
+        }
+    }
+
+    /**
+     * Class files, that have been skipped, because a class of the same name has already been imported from
+     * another location. Only used by the importing thread.
+     */
+    private static class DuplicateClassFiles {
+        private final SetMultimap<String, URI> skippedByClassName = LinkedHashMultimap.create();
+
+        void skipped(String className, URI uri) {
+            skippedByClassName.put(className, uri);
+        }
+
+        void logSummary(Map<String, JavaClass> importedClasses) {
+            if (skippedByClassName.isEmpty()) {
+                return;
+            }
+            LOG.info("Skipped {} class files of {} classes, that had already been imported from other locations " +
+                            "(compare ArchConfiguration.getClassLocationPrecedence())",
+                    skippedByClassName.size(), skippedByClassName.keySet().size());
+            if (LOG.isDebugEnabled()) {
+                for (Map.Entry<String, Collection<URI>> entry : skippedByClassName.asMap().entrySet()) {
+                    JavaClass imported = importedClasses.get(entry.getKey());
+                    LOG.debug("Imported {} from {}, skipped {}",
+                            entry.getKey(), imported.getSource().get().getUri(), entry.getValue());
+                }
             }
         }
-        return new ClassGraphCreator(importRecord, getClassResolver(classDetailsRecorder)).complete();
     }
 
     private static class ClassDetailsRecorder implements DeclarationHandler {
@@ -119,16 +358,19 @@ class ClassFileProcessor {
         private static final Logger LOG = LoggerFactory.getLogger(RecordAccessHandler.class);
 
         private final ClassFileImportRecord importRecord;
+        private final ImportSymbols symbols;
         private CodeUnit codeUnit;
         private int lineNumber;
 
-        private RecordAccessHandler(ClassFileImportRecord importRecord) {
+        private RecordAccessHandler(ClassFileImportRecord importRecord, ImportSymbols symbols) {
             this.importRecord = importRecord;
+            this.symbols = symbols;
         }
 
         @Override
         public void setContext(CodeUnit codeUnit) {
             this.codeUnit = codeUnit;
+            this.lineNumber = 0;
         }
 
         @Override
@@ -139,8 +381,10 @@ class ClassFileProcessor {
         @Override
         public void handleFieldInstruction(int opcode, String owner, String name, String desc) {
             AccessType accessType = AccessType.forOpCode(opcode);
-            LOG.debug("Found {} access to field {}.{}:{} in line {}", accessType, owner, name, desc, lineNumber);
-            TargetInfo target = new RawAccessRecord.FieldTargetInfo(owner, name, desc);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Found {} access to field {}.{}:{} in line {}", accessType, owner, name, desc, lineNumber);
+            }
+            TargetInfo target = symbols.fieldTarget(owner, name, desc);
             importRecord.registerFieldAccess(filled(new RawAccessRecord.ForField.Builder(), target)
                     .withAccessType(accessType)
                     .build());
@@ -148,12 +392,14 @@ class ClassFileProcessor {
 
         @Override
         public void handleMethodInstruction(String owner, String name, String desc) {
-            LOG.debug("Found call of method {}.{}:{} in line {}", owner, name, desc, lineNumber);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Found call of method {}.{}:{} in line {}", owner, name, desc, lineNumber);
+            }
             if (CONSTRUCTOR_NAME.equals(name)) {
-                TargetInfo target = new RawAccessRecord.ConstructorTargetInfo(owner, name, desc);
+                TargetInfo target = symbols.constructorTarget(owner, name, desc);
                 importRecord.registerConstructorCall(filled(new RawAccessRecord.Builder(), target).build());
             } else {
-                TargetInfo target = new MethodTargetInfo(owner, name, desc);
+                TargetInfo target = symbols.methodTarget(owner, name, desc);
                 importRecord.registerMethodCall(filled(new RawAccessRecord.Builder(), target).build());
             }
         }
@@ -166,30 +412,101 @@ class ClassFileProcessor {
         }
     }
 
-    private ClassResolver getClassResolver(ClassDetailsRecorder classDetailsRecorder) {
+    // Only imports resolving from the JdkSnapshot replay platform classes, all others read the class files
+    private ClassResolver getClassResolver(UriImporterOfProcessor uriImporter) {
         ClassResolver classResolver = classResolverFactory.create();
-        classResolver.setClassUriImporter(new UriImporterOfProcessor(classDetailsRecorder));
+        if (classResolver instanceof ClassResolverFromJdkSnapshot) {
+            uriImporter.replayFrom(JdkSnapshot.get());
+        }
+        classResolver.setClassUriImporter(uriImporter);
         return classResolver;
     }
 
+    // May be called concurrently by a BatchClassResolver, thus every import uses its own ClassDetailsRecorder.
+    // Static, since the resolver (and thus this importer) stays reachable from lazily imported classes.
     private static class UriImporterOfProcessor implements ClassUriImporter {
-        private final DeclarationHandler declarationHandler;
+        private final ClassFileCache cache;
+        private final JarFileHandles jarFiles;
+        private final int readFlags;
+        private final ImportStatistics statistics;
+        private volatile ClassFileImportRecord importRecord;
+        private ImportedClasses importedClasses;
+        private Optional<JdkSnapshot> snapshot = Optional.absent();
+
+        UriImporterOfProcessor(ClassFileImportRecord importRecord, ClassFileCache cache, JarFileHandles jarFiles,
+                int readFlags, ImportStatistics statistics) {
+            this.importRecord = importRecord;
+            this.cache = cache;
+            this.jarFiles = jarFiles;
+            this.readFlags = readFlags;
+            this.statistics = statistics;
+        }
 
-        UriImporterOfProcessor(DeclarationHandler declarationHandler) {
-            this.declarationHandler = declarationHandler;
+        void setImportedClasses(ImportedClasses importedClasses) {
+            this.importedClasses = importedClasses;
+        }
+
+        void replayFrom(JdkSnapshot snapshot) {
+            this.snapshot = Optional.of(snapshot);
+        }
+
+        // The record of the import is released, once the class graph is complete. Classes imported afterwards
+        // (i.e. while the class graph is queried) aren't completed by the ClassGraphCreator anymore anyway.
+        void importCompleted() {
+            importRecord = null;
         }
 
         @Override
         public Optional<JavaClass> tryImport(URI uri) {
-            try (InputStream inputStream = uri.toURL().openStream()) {
-                JavaClassProcessor classProcessor = new JavaClassProcessor(uri, declarationHandler);
-                new ClassReader(inputStream).accept(classProcessor, 0);
-                return classProcessor.createJavaClass();
+            ClassFileImportRecord record = importRecord;
+            try {
+                return processClassFile(uri, snapshot, cache, jarFiles, statistics,
+                        record != null ? record : new ClassFileImportRecord())
+                        .createJavaClass();
             } catch (Exception e) {
                 LOG.warn(String.format("Error during import from %s, falling back to simple import", uri), e);
                 return Optional.absent();
             }
         }
+
+        @Override
+        public JavaClass importLazily(URI uri, String typeName) {
+            checkState(importedClasses != null, "Classes may only be imported lazily, once the class graph is created");
+            DomainBuilders.JavaClassBuilder stub = new DomainBuilders.JavaClassBuilder()
+                    .withSource(createSource(uri))
+                    .withType(JavaType.From.name(typeName));
+            LazyClassImport classImport = new LazyClassImport(uri, snapshot, readFlags, jarFiles, statistics, importedClasses);
+            return createLazyJavaClass(stub, classImport, classImport);
+        }
+    }
+
+    // Platform classes within the given JdkSnapshot are replayed without reading or parsing the class file
+    static JavaClassProcessor processClassFile(URI uri, Optional<JdkSnapshot> snapshot, ClassFileCache cache,
+            JarFileHandles jarFiles, ImportStatistics statistics, ClassFileImportRecord importRecord) throws IOException {
+        Optional<byte[]> events = snapshot.isPresent() ? snapshot.get().getEventsOf(uri) : Optional.<byte[]>absent();
+        if (events.isPresent()) {
+            JavaClassProcessor classProcessor = new JavaClassProcessor(uri, new ClassDetailsRecorder(importRecord));
+            ClassEventStream.replay(events.get(), classProcessor);
+            return classProcessor;
+        }
+        byte[] classFile = read(uri, jarFiles);
+        statistics.onClassFileRead(classFile);
+        JavaClassProcessor classProcessor = new JavaClassProcessor(uri, classFile, new ClassDetailsRecorder(importRecord));
+        cache.accept(classFile, classProcessor);
+        return classProcessor;
+    }
+
+    private static byte[] read(URI uri, JarFileHandles jarFiles) throws IOException {
+        if ("file".equals(uri.getScheme())) {
+            return ClassFileBytes.read(Paths.get(uri));
+        }
+        if (JarFileHandles.canRead(uri)) {
+            return jarFiles.read(uri);
+        }
+        URLConnection connection = uri.toURL().openConnection();
+        try (InputStream inputStream = connection.getInputStream()) {
+            return ClassFileBytes.read(inputStream, connection.getContentLengthLong());
+        }
     }
 
 }
@@ -19,25 +19,35 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URI;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
-import com.google.common.base.Supplier;
 import com.google.common.collect.FluentIterable;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.Optional;
 
 interface ClassFileSource extends Iterable<ClassFileLocation> {
     @Internal
@@ -50,69 +60,179 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             this.importOptions = importOptions;
             if (path.toFile().exists()) {
                 try {
-                    Files.walkFileTree(path, this);
+                    scan(path);
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
             }
         }
 
+        private void scan(Path path) throws IOException {
+            if (ArchConfiguration.get().parallelImportEnabled() && Files.isDirectory(path)) {
+                ForkJoinPool pool = new ForkJoinPool();
+                try {
+                    classFileLocations.addAll(pool.invoke(new ParallelDirectoryScan(path)));
+                } finally {
+                    pool.shutdown();
+                }
+            } else {
+                Files.walkFileTree(path, this);
+            }
+        }
+
         @Override
         public Iterator<ClassFileLocation> iterator() {
             return classFileLocations.iterator();
         }
 
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+            return isIncludedDirectory(dir) ? super.preVisitDirectory(dir, attrs) : FileVisitResult.SKIP_SUBTREE;
+        }
+
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-            if (classMatcher.matches(file) && importOptions.include(Location.of(file))) {
-                classFileLocations.add(new InputStreamSupplierClassFileLocation(file.toUri(), newInputStreamSupplierFor(file)));
-            }
+            classFileLocations.addAll(classFileLocationOf(file).asSet());
             return super.visitFile(file, attrs);
         }
 
-        private Supplier<InputStream> newInputStreamSupplierFor(final Path file) {
-            return new InputStreamSupplier() {
-                @Override
-                InputStream getInputStream() throws IOException {
+        private boolean isIncludedDirectory(Path dir) {
+            return importOptions.includeDirectory(Location.of(dir));
+        }
+
+        private Optional<ClassFileLocation> classFileLocationOf(Path file) {
+            if (!classMatcher.matches(file)) {
+                return Optional.absent();
+            }
+            URI uri = file.toUri();
+            return importOptions.include(Location.of(uri))
+                    ? Optional.<ClassFileLocation>of(new ClassFileInDirectory(file, uri))
+                    : Optional.<ClassFileLocation>absent();
+        }
+
+        /**
+         * Scans every subdirectory in a task of its own, which pays off for very wide directory trees.
+         * Like {@link Files#walkFileTree(Path, java.nio.file.FileVisitor)} symbolic links to directories
+         * are not followed.
+         */
+        private class ParallelDirectoryScan extends RecursiveTask<List<ClassFileLocation>> {
+            private static final long serialVersionUID = 1L;
+
+            private final Path directory;
+
+            private ParallelDirectoryScan(Path directory) {
+                this.directory = directory;
+            }
+
+            @Override
+            protected List<ClassFileLocation> compute() {
+                List<ClassFileLocation> result = new ArrayList<>();
+                if (!isIncludedDirectory(directory)) {
+                    return result;
+                }
+
+                List<ParallelDirectoryScan> subdirectoryScans = new ArrayList<>();
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                    for (Path entry : entries) {
+                        if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                            subdirectoryScans.add(new ParallelDirectoryScan(entry));
+                        } else {
+                            result.addAll(classFileLocationOf(entry).asSet());
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                for (ParallelDirectoryScan scan : invokeAll(subdirectoryScans)) {
+                    result.addAll(scan.join());
+                }
+                return result;
+            }
+        }
+
+        private static class ClassFileInDirectory implements ClassFileLocation {
+            private final Path file;
+            private final URI uri;
+
+            private ClassFileInDirectory(Path file, URI uri) {
+                this.file = file;
+                this.uri = uri;
+            }
+
+            @Override
+            public InputStream openStream() {
+                try {
                     return Files.newInputStream(file);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
                 }
-            };
+            }
+
+            @Override
+            public byte[] read() {
+                try {
+                    return ClassFileBytes.read(file);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public URI getUri() {
+                return uri;
+            }
+
+            // the directory might be any package directory, so the path doesn't determine the package of the class
+            @Override
+            public Optional<String> getClassName() {
+                return Optional.absent();
+            }
         }
     }
 
     @Internal
     class FromJar implements ClassFileSource {
-        private final FluentIterable<ClassFileLocation> classFileLocations;
+        private final List<ClassFileLocation> classFileLocations;
 
         FromJar(JarURLConnection connection, ImportOptions importOptions) {
+            this(Collections.singleton(connection), importOptions);
+        }
+
+        /**
+         * @param connections Connections to locations within the same JAR file, the central directory of
+         *                    the JAR is only scanned once for all of them
+         */
+        FromJar(Collection<JarURLConnection> connections, ImportOptions importOptions) {
             try {
+                JarURLConnection connection = connections.iterator().next();
                 JarFile jarFile = connection.getJarFile();
-                String prefix = connection.getJarEntry() != null ? connection.getJarEntry().getName() : "";
+                Location jarRoot = Location.of(connection.getJarFileURL());
                 classFileLocations = FluentIterable.from(Collections.list(jarFile.entries()))
-                        .filter(classFilesBeneath(prefix))
-                        .transform(toClassFilesInJarOf(connection))
+                        .filter(classFilesBeneath(EntryPrefixes.of(connections)))
+                        .transform(toClassFilesIn(jarFile, jarRoot))
                         .filter(by(importOptions))
-                        .transform(toInputStreamSupplier());
+                        .transform(toClassFileLocation())
+                        .toList();
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
 
-        private Predicate<JarEntry> classFilesBeneath(final String prefix) {
+        private Predicate<JarEntry> classFilesBeneath(final EntryPrefixes prefixes) {
             return new Predicate<JarEntry>() {
                 @Override
                 public boolean apply(JarEntry input) {
-                    return input.getName().startsWith(prefix)
-                            && input.getName().endsWith(".class");
+                    return input.getName().endsWith(".class")
+                            && prefixes.matchPrefixOf(input.getName());
                 }
             };
         }
 
-        private Function<JarEntry, ClassFileInJar> toClassFilesInJarOf(final JarURLConnection connection) {
+        private Function<JarEntry, ClassFileInJar> toClassFilesIn(final JarFile jarFile, final Location jarRoot) {
             return new Function<JarEntry, ClassFileInJar>() {
                 @Override
                 public ClassFileInJar apply(JarEntry input) {
-                    return new ClassFileInJar(connection, input);
+                    return new ClassFileInJar(jarFile, input, jarRoot.append(input.getName()).asURI());
                 }
             };
         }
@@ -126,16 +246,11 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             };
         }
 
-        private Function<ClassFileInJar, ClassFileLocation> toInputStreamSupplier() {
+        private Function<ClassFileInJar, ClassFileLocation> toClassFileLocation() {
             return new Function<ClassFileInJar, ClassFileLocation>() {
                 @Override
-                public ClassFileLocation apply(final ClassFileInJar input) {
-                    return new InputStreamSupplierClassFileLocation(input.getUri(), new InputStreamSupplier() {
-                        @Override
-                        InputStream getInputStream() throws IOException {
-                            return input.openStream();
-                        }
-                    });
+                public ClassFileLocation apply(ClassFileInJar input) {
+                    return input;
                 }
             };
         }
@@ -145,67 +260,113 @@ interface ClassFileSource extends Iterable<ClassFileLocation> {
             return classFileLocations.iterator();
         }
 
-        private static class ClassFileInJar {
-            private final JarURLConnection connection;
-            private final JarEntry jarEntry;
-            private final URI uri;
+        /**
+         * A trie of the requested entry prefixes (e.g. 'com/foo/' and 'com/bar/'), thus matching an entry
+         * name against all prefixes costs a single pass over the entry name.
+         */
+        static class EntryPrefixes {
+            private final Map<Character, EntryPrefixes> children = new HashMap<>();
+            private boolean endOfPrefix;
 
-            private ClassFileInJar(JarURLConnection connection, JarEntry jarEntry) {
-                this.connection = connection;
-                this.jarEntry = jarEntry;
-                this.uri = makeJarUri(jarEntry);
+            private EntryPrefixes() {
             }
 
-            private URI makeJarUri(JarEntry input) {
-                return Location.of(connection.getJarFileURL()).append(input.getName()).asURI();
+            static EntryPrefixes of(Collection<JarURLConnection> connections) throws IOException {
+                List<String> prefixes = new ArrayList<>();
+                for (JarURLConnection connection : connections) {
+                    prefixes.add(connection.getJarEntry() != null ? connection.getJarEntry().getName() : "");
+                }
+                return of(prefixes);
             }
 
-            URI getUri() {
-                return uri;
+            static EntryPrefixes of(Iterable<String> prefixes) {
+                EntryPrefixes root = new EntryPrefixes();
+                for (String prefix : prefixes) {
+                    root.add(prefix);
+                }
+                return root;
             }
 
-            InputStream openStream() throws IOException {
-                return connection.getJarFile().getInputStream(jarEntry);
+            private void add(String prefix) {
+                EntryPrefixes node = this;
+                for (int i = 0; i < prefix.length(); i++) {
+                    Character character = prefix.charAt(i);
+                    if (!node.children.containsKey(character)) {
+                        node.children.put(character, new EntryPrefixes());
+                    }
+                    node = node.children.get(character);
+                }
+                node.endOfPrefix = true;
             }
 
-            boolean isIncludedIn(ImportOptions importOptions) {
-                return importOptions.include(Location.of(uri));
+            boolean matchPrefixOf(String entryName) {
+                EntryPrefixes node = this;
+                for (int i = 0; !node.endOfPrefix; i++) {
+                    if (i == entryName.length()) {
+                        return false;
+                    }
+                    node = node.children.get(entryName.charAt(i));
+                    if (node == null) {
+                        return false;
+                    }
+                }
+                return true;
             }
         }
-    }
 
-    @Internal
-    class InputStreamSupplierClassFileLocation implements ClassFileLocation {
-        private final URI uri;
-        private final Supplier<InputStream> streamSupplier;
+        private static class ClassFileInJar implements ClassFileLocation {
+            private static final String META_INF = "META-INF/";
+            private static final String CLASS_FILE_SUFFIX = ".class";
 
-        InputStreamSupplierClassFileLocation(URI uri, Supplier<InputStream> streamSupplier) {
-            this.uri = uri;
-            this.streamSupplier = streamSupplier;
-        }
+            private final JarFile jarFile;
+            private final JarEntry jarEntry;
+            private final URI uri;
 
-        @Override
-        public InputStream openStream() {
-            return streamSupplier.get();
-        }
+            private ClassFileInJar(JarFile jarFile, JarEntry jarEntry, URI uri) {
+                this.jarFile = jarFile;
+                this.jarEntry = jarEntry;
+                this.uri = uri;
+            }
 
-        @Override
-        public URI getUri() {
-            return uri;
-        }
-    }
+            @Override
+            public URI getUri() {
+                return uri;
+            }
 
-    @Internal
-    abstract class InputStreamSupplier implements Supplier<InputStream> {
-        @Override
-        public InputStream get() {
-            try {
-                return getInputStream();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            // Entries are relative to the root of the JAR, so the entry name determines the class name.
+            // Versioned entries of multi release JARs are excluded, since their path has a prefix.
+            @Override
+            public Optional<String> getClassName() {
+                String entryName = jarEntry.getName().startsWith("/") ? jarEntry.getName().substring(1) : jarEntry.getName();
+                if (entryName.startsWith(META_INF)) {
+                    return Optional.absent();
+                }
+                String internalName = entryName.substring(0, entryName.length() - CLASS_FILE_SUFFIX.length());
+                return Optional.of(internalName.replace('/', '.'));
+            }
+
+            @Override
+            public InputStream openStream() {
+                try {
+                    return jarFile.getInputStream(jarEntry);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public byte[] read() {
+                // the size is known from the central directory of the JAR, so the entry is read in one go
+                try (InputStream stream = openStream()) {
+                    return ClassFileBytes.read(stream, jarEntry.getSize());
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
             }
-        }
 
-        abstract InputStream getInputStream() throws IOException;
+            boolean isIncludedIn(ImportOptions importOptions) {
+                return importOptions.include(Location.of(uri));
+            }
+        }
     }
 }
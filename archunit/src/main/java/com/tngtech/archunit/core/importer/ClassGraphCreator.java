@@ -15,13 +15,18 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.SetMultimap;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.Function;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.AccessTarget;
@@ -55,6 +60,11 @@ class ClassGraphCreator implements ImportContext {
     private final ImportedClasses classes;
 
     private final ClassFileImportRecord importRecord;
+    private final ImportProfile importProfile;
+    private final Map<String, byte[]> classFilesWithDeferredCode;
+    private final ImportSymbols symbols;
+    private final ImportStatistics statistics;
+    private final AccessTargets accessTargets = new AccessTargets();
 
     private final SetMultimap<JavaCodeUnit, FieldAccessRecord> processedFieldAccessRecords = HashMultimap.create();
     private final SetMultimap<JavaCodeUnit, AccessRecord<MethodCallTarget>> processedMethodCallRecords = HashMultimap.create();
@@ -62,13 +72,23 @@ class ClassGraphCreator implements ImportContext {
     private final Function<JavaClass, Set<String>> superClassStrategy;
     private final Function<JavaClass, Set<String>> interfaceStrategy;
 
-    ClassGraphCreator(ClassFileImportRecord importRecord, ClassResolver classResolver) {
+    ClassGraphCreator(ClassFileImportRecord importRecord, ClassResolver classResolver, ImportProfile importProfile,
+            ImportSymbols symbols, ImportStatistics statistics) {
         this.importRecord = importRecord;
-        classes = new ImportedClasses(importRecord.getClasses(), classResolver);
+        this.importProfile = importProfile;
+        this.classFilesWithDeferredCode = new HashMap<>(importRecord.getClassFilesWithDeferredCode());
+        this.symbols = symbols;
+        this.statistics = statistics;
+        classes = new ImportedClasses(importRecord.getClasses(), classResolver,
+                ArchConfiguration.get().getClassResolverMaxClasses(), statistics);
         superClassStrategy = createSuperClassStrategy();
         interfaceStrategy = createInterfaceStrategy();
     }
 
+    ImportedClasses getImportedClasses() {
+        return classes;
+    }
+
     private Function<JavaClass, Set<String>> createSuperClassStrategy() {
         return new Function<JavaClass, Set<String>>() {
             @Override
@@ -87,25 +107,84 @@ class ClassGraphCreator implements ImportContext {
         };
     }
 
+    // The class hierarchy is completed by a single thread, since every class registers itself with its super types.
+    // Members and accesses on the other hand are completed per class and per access on the CompletionPool.
     JavaClasses complete() {
-        ensureCallTargetsArePresent();
-        ensureClassHierarchies();
-        completeMembers();
-        for (RawAccessRecord.ForField fieldAccessRecord : importRecord.getRawFieldAccessRecords()) {
-            tryProcess(fieldAccessRecord, AccessRecord.Factory.forFieldAccessRecord(), processedFieldAccessRecords);
+        CompletionPool pool = CompletionPool.create();
+        try {
+            long start = System.nanoTime();
+            ensureCallTargetsArePresent(pool);
+            statistics.onPhaseCompleted(ImportPhase.CLASS_RESOLUTION, start);
+
+            start = System.nanoTime();
+            ensureClassHierarchies();
+            statistics.onPhaseCompleted(ImportPhase.HIERARCHY_COMPLETION, start);
+
+            start = System.nanoTime();
+            completeMembers(pool);
+            statistics.onPhaseCompleted(ImportPhase.MEMBER_COMPLETION, start);
+
+            start = System.nanoTime();
+            statistics.onAccessRecordsLinked(processAccesses(importRecord, pool));
+            JavaClasses result = createJavaClasses(classes.getDirectlyImported(), this, importProfile.importsAccesses());
+            statistics.onPhaseCompleted(ImportPhase.ACCESS_LINKING, start);
+            return result;
+        } finally {
+            pool.shutdown();
         }
-        for (RawAccessRecord methodCallRecord : importRecord.getRawMethodCallRecords()) {
-            tryProcess(methodCallRecord, AccessRecord.Factory.forMethodCallRecord(), processedMethodCallRecords);
+    }
+
+    private int processAccesses(ClassFileImportRecord record, CompletionPool pool) {
+        return process(record.getRawFieldAccessRecords(), AccessRecord.Factory.forFieldAccessRecord(accessTargets), processedFieldAccessRecords, pool)
+                + process(record.getRawMethodCallRecords(), AccessRecord.Factory.forMethodCallRecord(accessTargets), processedMethodCallRecords, pool)
+                + process(record.getRawConstructorCallRecords(), AccessRecord.Factory.forConstructorCallRecord(accessTargets), processedConstructorCallRecords, pool);
+    }
+
+    private void ensureCallTargetsArePresent(CompletionPool pool) {
+        Set<String> referencedTypeNames = new TreeSet<>();
+        for (RawAccessRecord.TargetInfo target : importRecord.getAccessTargets()) {
+            referencedTypeNames.add(target.owner.getName());
         }
-        for (RawAccessRecord constructorCallRecord : importRecord.getRawConstructorCallRecords()) {
-            tryProcess(constructorCallRecord, AccessRecord.Factory.forConstructorCallRecord(), processedConstructorCallRecords);
+        // The code of these classes is decoded later on, but all targets must be part of the graph,
+        // before the class hierarchy is completed
+        List<Set<String>> ownersPerClassFile = pool.map(ImmutableList.copyOf(classFilesWithDeferredCode.values()),
+                new Function<byte[], Set<String>>() {
+                    @Override
+                    public Set<String> apply(byte[] classFile) {
+                        return ClassFileProcessor.accessTargetOwnersOf(classFile);
+                    }
+                });
+        for (Set<String> owners : ownersPerClassFile) {
+            referencedTypeNames.addAll(owners);
         }
-        return createJavaClasses(classes.getDirectlyImported(), this);
+        referencedTypeNames.addAll(importRecord.getSuperClassNamesBySubClass().values());
+        referencedTypeNames.addAll(importRecord.getInterfaceNamesBySubInterface().values());
+        resolveLevelByLevel(referencedTypeNames);
     }
 
-    private void ensureCallTargetsArePresent() {
-        for (RawAccessRecord record : importRecord.getAccessRecords()) {
-            classes.ensurePresent(record.target.owner.getName());
+    // Every level is handed to the ClassResolver as one batch, the next level consists of the super types
+    // of the classes resolved so far
+    private void resolveLevelByLevel(Set<String> typeNames) {
+        int maxDepth = ArchConfiguration.get().getClassResolverMaxDepth();
+        Set<String> level = typeNames;
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            if (depth >= maxDepth) {
+                classes.addSimpleClasses(level);
+                return;
+            }
+            Set<String> nextLevel = new TreeSet<>();
+            for (String resolvedTypeName : classes.resolveAll(level)) {
+                nextLevel.addAll(importRecord.getSuperClassFor(resolvedTypeName).asSet());
+                nextLevel.addAll(importRecord.getInterfaceNamesFor(resolvedTypeName));
+            }
+            level = nextLevel;
+        }
+    }
+
+    private void ensureAccessesProcessed(JavaClass owner) {
+        byte[] classFile = classFilesWithDeferredCode.remove(owner.getName());
+        if (classFile != null) {
+            processAccesses(ClassFileProcessor.importDeferredCode(classFile, symbols), CompletionPool.sequential());
         }
     }
 
@@ -132,23 +211,41 @@ class ClassGraphCreator implements ImportContext {
         }
     }
 
-    private void completeMembers() {
-        for (JavaClass javaClass : classes.getAll().values()) {
-            DomainObjectCreationContext.completeMembers(javaClass, this);
-        }
+    private void completeMembers(CompletionPool pool) {
+        pool.map(ImmutableList.copyOf(classes.getAll().values()), new Function<JavaClass, Void>() {
+            @Override
+            public Void apply(JavaClass javaClass) {
+                DomainObjectCreationContext.completeMembers(javaClass, ClassGraphCreator.this);
+                return null;
+            }
+        });
     }
 
-    private <T extends AccessRecord<?>, B extends RawAccessRecord> void tryProcess(
-            B rawRecord,
-            AccessRecord.Factory<B, T> factory,
-            Multimap<JavaCodeUnit, T> processedAccessRecords) {
+    // Creating the processed records and looking up their callers is done in parallel,
+    // the results are collected by the calling thread
+    private <T extends AccessRecord<?>, B extends RawAccessRecord> int process(
+            List<B> rawRecords,
+            final AccessRecord.Factory<B, T> factory,
+            Multimap<JavaCodeUnit, T> processedAccessRecords,
+            CompletionPool pool) {
 
-        T processed = factory.create(rawRecord, classes);
-        processedAccessRecords.put(processed.getCaller(), processed);
+        List<T> processed = pool.map(rawRecords, new Function<B, T>() {
+            @Override
+            public T apply(B rawRecord) {
+                T result = factory.create(rawRecord, classes);
+                result.getCaller();
+                return result;
+            }
+        });
+        for (T record : processed) {
+            processedAccessRecords.put(record.getCaller(), record);
+        }
+        return processed.size();
     }
 
     @Override
-    public Set<JavaFieldAccess> getFieldAccessesFor(JavaCodeUnit codeUnit) {
+    public synchronized Set<JavaFieldAccess> getFieldAccessesFor(JavaCodeUnit codeUnit) {
+        ensureAccessesProcessed(codeUnit.getOwner());
         ImmutableSet.Builder<JavaFieldAccess> result = ImmutableSet.builder();
         for (FieldAccessRecord record : processedFieldAccessRecords.get(codeUnit)) {
             result.add(accessBuilderFrom(new JavaFieldAccessBuilder(), record)
@@ -159,7 +256,8 @@ class ClassGraphCreator implements ImportContext {
     }
 
     @Override
-    public Set<JavaMethodCall> getMethodCallsFor(JavaCodeUnit codeUnit) {
+    public synchronized Set<JavaMethodCall> getMethodCallsFor(JavaCodeUnit codeUnit) {
+        ensureAccessesProcessed(codeUnit.getOwner());
         ImmutableSet.Builder<JavaMethodCall> result = ImmutableSet.builder();
         for (AccessRecord<MethodCallTarget> record : processedMethodCallRecords.get(codeUnit)) {
             result.add(accessBuilderFrom(new JavaMethodCallBuilder(), record).build());
@@ -168,7 +266,8 @@ class ClassGraphCreator implements ImportContext {
     }
 
     @Override
-    public Set<JavaConstructorCall> getConstructorCallsFor(JavaCodeUnit codeUnit) {
+    public synchronized Set<JavaConstructorCall> getConstructorCallsFor(JavaCodeUnit codeUnit) {
+        ensureAccessesProcessed(codeUnit.getOwner());
         ImmutableSet.Builder<JavaConstructorCall> result = ImmutableSet.builder();
         for (AccessRecord<ConstructorCallTarget> record : processedConstructorCallRecords.get(codeUnit)) {
             result.add(accessBuilderFrom(new JavaConstructorCallBuilder(), record).build());
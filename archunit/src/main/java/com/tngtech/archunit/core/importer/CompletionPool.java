@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Function;
+import com.tngtech.archunit.base.Optional;
+
+/**
+ * Runs a step of the class graph completion for many elements. If parallel import is enabled
+ * (compare {@link ArchConfiguration#parallelImportEnabled()}), the elements are partitioned into ranges,
+ * which are processed on a work stealing pool, otherwise all elements are processed by the calling thread.
+ */
+class CompletionPool {
+    private static final int MIN_ELEMENTS_PER_TASK = 64;
+
+    private final Optional<ForkJoinPool> pool;
+
+    private CompletionPool(Optional<ForkJoinPool> pool) {
+        this.pool = pool;
+    }
+
+    static CompletionPool create() {
+        return ArchConfiguration.get().parallelImportEnabled()
+                ? new CompletionPool(Optional.of(new ForkJoinPool()))
+                : sequential();
+    }
+
+    static CompletionPool sequential() {
+        return new CompletionPool(Optional.<ForkJoinPool>absent());
+    }
+
+    /**
+     * @return The results of the function for all elements, in the order of the elements
+     */
+    @SuppressWarnings("unchecked")
+    <S, T> List<T> map(List<S> elements, Function<? super S, ? extends T> function) {
+        Object[] results = new Object[elements.size()];
+        RangeTask<S> task = new RangeTask<>(elements, function, results, 0, elements.size());
+        if (pool.isPresent()) {
+            pool.get().invoke(task);
+        } else {
+            task.computeSequentially();
+        }
+        return (List<T>) Arrays.asList(results);
+    }
+
+    void shutdown() {
+        if (pool.isPresent()) {
+            pool.get().shutdown();
+        }
+    }
+
+    private static class RangeTask<S> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<S> elements;
+        private final Function<? super S, ?> function;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+
+        private RangeTask(List<S> elements, Function<? super S, ?> function, Object[] results, int from, int to) {
+            this.elements = elements;
+            this.function = function;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_ELEMENTS_PER_TASK) {
+                computeSequentially();
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask<>(elements, function, results, from, middle),
+                        new RangeTask<>(elements, function, results, middle, to));
+            }
+        }
+
+        private void computeSequentially() {
+            for (int i = from; i < to; i++) {
+                results[i] = function.apply(elements.get(i));
+            }
+        }
+    }
+}
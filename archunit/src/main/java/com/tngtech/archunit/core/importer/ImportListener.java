@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+
+import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
+
+/**
+ * Is notified about the progress of an import, compare {@link ClassFileImporter#withImportListener(ImportListener)}.
+ * Extend {@link Adapter}, if only some of the events are of interest.
+ */
+@PublicAPI(usage = INHERITANCE)
+public interface ImportListener {
+    /**
+     * Called for every class imported from a class file of the imported locations. Like all other callbacks,
+     * this is only called from the importing thread, even if parallel import is enabled.
+     *
+     * @param className The fully qualified name of the imported class
+     */
+    void onClassImported(String className);
+
+    /**
+     * Called once an {@link ImportPhase} has been completed.
+     */
+    void onPhaseCompleted(ImportPhase phase, long durationInNanos);
+
+    /**
+     * Called once at the end of the import.
+     */
+    void onImportCompleted(ImportMetrics metrics);
+
+    @PublicAPI(usage = INHERITANCE)
+    abstract class Adapter implements ImportListener {
+        @Override
+        public void onClassImported(String className) {
+        }
+
+        @Override
+        public void onPhaseCompleted(ImportPhase phase, long durationInNanos) {
+        }
+
+        @Override
+        public void onImportCompleted(ImportMetrics metrics) {
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.tngtech.archunit.PublicAPI;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * Metrics of a completed import, compare {@link ImportListener#onImportCompleted(ImportMetrics)}.
+ */
+public final class ImportMetrics {
+    private final Map<ImportPhase, Long> durationsInNanos;
+    private final int importedClasses;
+    private final int accessRecords;
+    private final long bytesRead;
+    private final int resolverHits;
+    private final int resolverMisses;
+
+    ImportMetrics(Map<ImportPhase, Long> durationsInNanos,
+            int importedClasses, int accessRecords, long bytesRead, int resolverHits, int resolverMisses) {
+        this.durationsInNanos = new EnumMap<>(durationsInNanos);
+        this.importedClasses = importedClasses;
+        this.accessRecords = accessRecords;
+        this.bytesRead = bytesRead;
+        this.resolverHits = resolverHits;
+        this.resolverMisses = resolverMisses;
+    }
+
+    /**
+     * @return The time spent in the given phase, 0 if the phase has not been passed through
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getDurationInNanos(ImportPhase phase) {
+        Long duration = durationsInNanos.get(phase);
+        return duration != null ? duration : 0;
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public long getTotalDurationInNanos() {
+        long result = 0;
+        for (long duration : durationsInNanos.values()) {
+            result += duration;
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of classes imported from class files of the imported locations
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getImportedClasses() {
+        return importedClasses;
+    }
+
+    /**
+     * @return The number of access records (e.g. a method call in a certain line), that were linked to their targets
+     * during the import. Equal records are counted separately. Accesses of deferred code
+     * (compare {@link ImportProfile#DEFERRED_CODE}) are only recorded, once they are requested, and thus not contained.
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getAccessRecords() {
+        return accessRecords;
+    }
+
+    /**
+     * @return The number of bytes of all class files read, including class files of resolved classes
+     */
+    @PublicAPI(usage = ACCESS)
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return The number of classes, that were not imported, but could be resolved (e.g. from the classpath)
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getResolverHits() {
+        return resolverHits;
+    }
+
+    /**
+     * @return The number of classes, that were not imported and could not be resolved, i.e. are only known by name
+     */
+    @PublicAPI(usage = ACCESS)
+    public int getResolverMisses() {
+        return resolverMisses;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "durationsInNanos=" + durationsInNanos +
+                ", importedClasses=" + importedClasses +
+                ", accessRecords=" + accessRecords +
+                ", bytesRead=" + bytesRead +
+                ", resolverHits=" + resolverHits +
+                ", resolverMisses=" + resolverMisses +
+                '}';
+    }
+}
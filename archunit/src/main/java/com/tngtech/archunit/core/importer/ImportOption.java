@@ -38,7 +38,23 @@ import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
 public interface ImportOption {
     boolean includes(Location location);
 
-    enum Predefined implements ImportOption {
+    /**
+     * An {@link ImportOption} that can exclude whole directories, while a directory tree is scanned for class files.
+     * Excluded directories are skipped, so no class file beneath them will be looked at at all.<br><br>
+     * <b>IMPORTANT</b>: Only exclude a directory, if {@link #includes(Location)} would return false for every
+     * class file beneath this directory, otherwise the result of the import will depend on how the classes
+     * were located.
+     */
+    @PublicAPI(usage = INHERITANCE)
+    interface DirectoryPruning extends ImportOption {
+        /**
+         * @param directory The {@link Location} of a directory, i.e. with a trailing '/'
+         * @return false, if no class file beneath this directory must be imported
+         */
+        boolean includesDirectory(Location directory);
+    }
+
+    enum Predefined implements DirectoryPruning {
         /**
          * @see DontIncludeTests
          */
@@ -49,6 +65,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return dontIncludeTests.includes(location);
             }
+
+            @Override
+            public boolean includesDirectory(Location directory) {
+                return dontIncludeTests.includesDirectory(directory);
+            }
         },
         DONT_INCLUDE_JARS {
             private DontIncludeJars dontIncludeJars = new DontIncludeJars();
@@ -57,6 +78,11 @@ public interface ImportOption {
             public boolean includes(Location location) {
                 return dontIncludeJars.includes(location);
             }
+
+            @Override
+            public boolean includesDirectory(Location directory) {
+                return dontIncludeJars.includesDirectory(directory);
+            }
         }
     }
 
@@ -72,7 +98,7 @@ public interface ImportOption {
      * ../test-classes/.. (Maven/Gradle standard), so don't use this, if you have a package
      * test that you want to import.
      */
-    final class DontIncludeTests implements ImportOption {
+    final class DontIncludeTests implements DirectoryPruning {
         private static final Set<String> EXCLUDED_INFIXES = ImmutableSet.of(
                 anyFolder("test"),
                 anyFolder("test-classes"));
@@ -90,12 +116,23 @@ public interface ImportOption {
             }
             return true;
         }
+
+        // every class file beneath a directory .../test/ contains the infix /test/ as well
+        @Override
+        public boolean includesDirectory(Location directory) {
+            return includes(directory);
+        }
     }
 
-    final class DontIncludeJars implements ImportOption {
+    final class DontIncludeJars implements DirectoryPruning {
         @Override
         public boolean includes(Location location) {
             return !location.isJar();
         }
+
+        @Override
+        public boolean includesDirectory(Location directory) {
+            return true;
+        }
     }
 }
@@ -49,4 +49,14 @@ public final class ImportOptions {
         }
         return true;
     }
+
+    boolean includeDirectory(Location directory) {
+        for (ImportOption option : options) {
+            if (option instanceof ImportOption.DirectoryPruning
+                    && !((ImportOption.DirectoryPruning) option).includesDirectory(directory)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
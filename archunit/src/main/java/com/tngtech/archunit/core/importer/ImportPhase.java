@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * The phases of an import by the {@link ClassFileImporter}, in the order they are passed through.
+ */
+public enum ImportPhase {
+    /**
+     * Scanning the imported locations (i.e. directories and JARs) for class files
+     */
+    @PublicAPI(usage = ACCESS)
+    LOCATION_SCAN,
+    /**
+     * Reading and parsing all class files found within the imported locations
+     */
+    @PublicAPI(usage = ACCESS)
+    CLASS_FILE_PARSING,
+    /**
+     * Resolving the owners of all accessed members, which are not imported themselves
+     */
+    @PublicAPI(usage = ACCESS)
+    CLASS_RESOLUTION,
+    /**
+     * Resolving and linking super classes and interfaces of all classes
+     */
+    @PublicAPI(usage = ACCESS)
+    HIERARCHY_COMPLETION,
+    /**
+     * Creating fields, methods, constructors and annotations of all classes
+     */
+    @PublicAPI(usage = ACCESS)
+    MEMBER_COMPLETION,
+    /**
+     * Linking all accesses from code units to their targets
+     */
+    @PublicAPI(usage = ACCESS)
+    ACCESS_LINKING
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import org.objectweb.asm.ClassReader;
+
+import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
+
+/**
+ * Determines, how much of each class file is imported by the {@link ClassFileImporter}.
+ */
+public enum ImportProfile {
+    /**
+     * Imports everything, including all accesses from methods, constructors and static initializers
+     * to fields, methods and constructors
+     */
+    @PublicAPI(usage = ACCESS)
+    FULL(0, true, false),
+    /**
+     * Imports the same as {@link #FULL}, but only decodes the bodies of methods, constructors and static initializers
+     * of a class, once accesses are requested for the first time (e.g. via {@link JavaCodeUnit#getFieldAccesses()}).
+     * Accesses to members (e.g. {@link JavaMethod#getCallsOfSelf()}) can only be determined by decoding all
+     * code units. Thus this is faster, if rules only look at the accesses from a fraction of the imported classes.
+     */
+    @PublicAPI(usage = ACCESS)
+    DEFERRED_CODE(ReadFlags.DECLARATIONS_ONLY, true, true),
+    /**
+     * Only imports declarations, i.e. classes with their modifiers, annotations, super types and members,
+     * but skips the bodies of all methods, constructors and static initializers. This is considerably faster,
+     * but the imported classes won't contain any accesses (compare {@link JavaClasses#isAccessDataAvailable()}),
+     * so this is only suitable for rules about naming, annotations, modifiers or inheritance.
+     */
+    @PublicAPI(usage = ACCESS)
+    DECLARATIONS_ONLY(ReadFlags.DECLARATIONS_ONLY, false, false);
+
+    private final int readFlags;
+    private final boolean importsAccesses;
+    private final boolean defersCode;
+
+    ImportProfile(int readFlags, boolean importsAccesses, boolean defersCode) {
+        this.readFlags = readFlags;
+        this.importsAccesses = importsAccesses;
+        this.defersCode = defersCode;
+    }
+
+    int getReadFlags() {
+        return readFlags;
+    }
+
+    boolean importsAccesses() {
+        return importsAccesses;
+    }
+
+    boolean defersCode() {
+        return defersCode;
+    }
+
+    private static class ReadFlags {
+        private static final int DECLARATIONS_ONLY = ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the {@link ImportMetrics} of a single import and notifies the {@link ImportListener}.
+ * Counting is safe from several threads, phases are always completed by the importing thread.
+ */
+class ImportStatistics {
+    private final ImportListener listener;
+    private final Map<ImportPhase, Long> durationsInNanos = new EnumMap<>(ImportPhase.class);
+    private final AtomicInteger importedClasses = new AtomicInteger();
+    private final AtomicInteger accessRecords = new AtomicInteger();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicInteger resolverHits = new AtomicInteger();
+    private final AtomicInteger resolverMisses = new AtomicInteger();
+
+    ImportStatistics(ImportListener listener) {
+        this.listener = listener;
+    }
+
+    void onClassFileRead(byte[] classFile) {
+        bytesRead.addAndGet(classFile.length);
+    }
+
+    void onClassImported(String className) {
+        importedClasses.incrementAndGet();
+        listener.onClassImported(className);
+    }
+
+    void onAccessRecordsLinked(int count) {
+        accessRecords.addAndGet(count);
+    }
+
+    void onClassResolved(boolean found) {
+        (found ? resolverHits : resolverMisses).incrementAndGet();
+    }
+
+    /**
+     * @param startNanos The value of {@link System#nanoTime()} when the phase was started
+     */
+    void onPhaseCompleted(ImportPhase phase, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        Long previous = durationsInNanos.get(phase);
+        durationsInNanos.put(phase, previous != null ? previous + duration : duration);
+        listener.onPhaseCompleted(phase, duration);
+    }
+
+    void onImportCompleted() {
+        listener.onImportCompleted(new ImportMetrics(durationsInNanos,
+                importedClasses.get(), accessRecords.get(), bytesRead.get(), resolverHits.get(), resolverMisses.get()));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.ConstructorTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.FieldTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+/**
+ * Symbol table of a single import. Every access instruction of a class file carries owner, name and descriptor
+ * of its target as separate strings, and the same targets are accessed over and over again. Thus all names and
+ * descriptors are interned, owner types are only created once per internal name and equal
+ * {@link TargetInfo TargetInfos} share one instance. Safe to use from several threads.
+ */
+class ImportSymbols {
+    private final Interner<String> strings = Interners.newStrongInterner();
+    private final Interner<TargetInfo> targets = Interners.newStrongInterner();
+    private final ConcurrentMap<String, JavaType> typesByInternalName = new ConcurrentHashMap<>();
+
+    String intern(String symbol) {
+        return strings.intern(symbol);
+    }
+
+    /**
+     * @param internalName An 'internal' ASM object type name like java/lang/Object
+     * @return The {@link JavaType} for the given name, equal names always yield the same instance
+     */
+    JavaType typeOf(String internalName) {
+        JavaType type = typesByInternalName.get(internalName);
+        if (type != null) {
+            return type;
+        }
+        JavaType created = JavaTypeImporter.createFromAsmObjectTypeName(internalName);
+        JavaType previous = typesByInternalName.putIfAbsent(intern(internalName), created);
+        return previous != null ? previous : created;
+    }
+
+    FieldTargetInfo fieldTarget(String owner, String name, String desc) {
+        return canonical(new FieldTargetInfo(typeOf(owner), intern(name), intern(desc)));
+    }
+
+    MethodTargetInfo methodTarget(String owner, String name, String desc) {
+        return canonical(new MethodTargetInfo(typeOf(owner), intern(name), intern(desc)));
+    }
+
+    ConstructorTargetInfo constructorTarget(String owner, String name, String desc) {
+        return canonical(new ConstructorTargetInfo(typeOf(owner), intern(name), intern(desc)));
+    }
+
+    // equal TargetInfos always have the same class, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private <T extends TargetInfo> T canonical(T target) {
+        return (T) targets.intern(target);
+    }
+}
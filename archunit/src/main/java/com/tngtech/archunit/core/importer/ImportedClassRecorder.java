@@ -0,0 +1,293 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClassList;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaConstructorCall;
+import com.tngtech.archunit.core.domain.JavaEnumConstant;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.core.importer.DomainBuilders.JavaAnnotationBuilder.ValueBuilder;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import org.objectweb.asm.Type;
+
+import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
+
+/**
+ * Records a {@link JavaClass} of a previous import into a {@link ClassFileImportRecord}, exactly as if the class file
+ * had been parsed again. The previous class is only read, all domain objects are created anew when the record
+ * is completed, so the previous class graph stays untouched.
+ */
+class ImportedClassRecorder {
+    private static final Map<String, String> PRIMITIVE_DESCRIPTORS_BY_NAME = primitiveDescriptorsByName(
+            Type.VOID_TYPE, Type.BOOLEAN_TYPE, Type.BYTE_TYPE, Type.CHAR_TYPE, Type.SHORT_TYPE,
+            Type.INT_TYPE, Type.LONG_TYPE, Type.FLOAT_TYPE, Type.DOUBLE_TYPE);
+
+    private final ClassFileImportRecord importRecord;
+    private final ImportSymbols symbols;
+
+    ImportedClassRecorder(ClassFileImportRecord importRecord, ImportSymbols symbols) {
+        this.importRecord = importRecord;
+        this.symbols = symbols;
+    }
+
+    void record(JavaClass javaClass) {
+        String name = javaClass.getName();
+        DomainBuilders.JavaClassBuilder classBuilder = new DomainBuilders.JavaClassBuilder()
+                .withType(JavaType.From.name(name))
+                .withInterface(javaClass.isInterface())
+                .withModifiers(javaClass.getModifiers());
+        for (Source source : javaClass.getSource().asSet()) {
+            classBuilder.withSource(source);
+        }
+        importRecord.addAll(Collections.singleton(classBuilder.build()));
+
+        if (javaClass.getSuperClass().isPresent()) {
+            importRecord.setSuperClass(name, javaClass.getSuperClass().get().getName());
+        }
+        importRecord.addInterfaces(name, namesOf(javaClass.getInterfaces()));
+        if (javaClass.getEnclosingClass().isPresent()) {
+            importRecord.setEnclosingClass(name, javaClass.getEnclosingClass().get().getName());
+        }
+        importRecord.addAnnotations(name, annotationBuildersOf(javaClass.getAnnotations()));
+
+        recordMembers(javaClass);
+        recordAccesses(javaClass);
+    }
+
+    private void recordMembers(JavaClass javaClass) {
+        String name = javaClass.getName();
+        for (JavaField field : javaClass.getFields()) {
+            importRecord.addField(name, withMemberProperties(new DomainBuilders.JavaFieldBuilder(), field)
+                    .withType(JavaType.From.name(field.getType().getName())));
+        }
+        for (JavaMethod method : javaClass.getMethods()) {
+            DomainBuilders.JavaMethodBuilder builder = withCodeUnitProperties(new DomainBuilders.JavaMethodBuilder(), method);
+            if (method.getDefaultValue().isPresent()) {
+                builder.withAnnotationDefaultValue(valueBuilderOf(method.getDefaultValue().get()));
+            }
+            importRecord.addMethod(name, builder);
+        }
+        for (JavaConstructor constructor : javaClass.getConstructors()) {
+            importRecord.addConstructor(name, withCodeUnitProperties(new DomainBuilders.JavaConstructorBuilder(), constructor));
+        }
+        if (javaClass.getStaticInitializer().isPresent()) {
+            importRecord.setStaticInitializer(name, new DomainBuilders.JavaStaticInitializerBuilder());
+        }
+    }
+
+    private <BUILDER extends DomainBuilders.JavaCodeUnitBuilder<?, BUILDER>> BUILDER withCodeUnitProperties(
+            BUILDER builder, JavaCodeUnit codeUnit) {
+        return withMemberProperties(builder, codeUnit)
+                .withParameters(typesOf(codeUnit.getParameters()))
+                .withReturnType(JavaType.From.name(codeUnit.getReturnType().getName()));
+    }
+
+    private <BUILDER extends DomainBuilders.JavaMemberBuilder<?, BUILDER>> BUILDER withMemberProperties(
+            BUILDER builder, JavaMember member) {
+        return builder
+                .withName(member.getName())
+                .withDescriptor(member.getDescriptor())
+                .withModifiers(member.getModifiers())
+                .withAnnotations(annotationBuildersOf(member.getAnnotations()));
+    }
+
+    private void recordAccesses(JavaClass javaClass) {
+        for (JavaCodeUnit codeUnit : javaClass.getCodeUnits()) {
+            CodeUnit caller = new CodeUnit(codeUnit.getName(), codeUnit.getParameters().getNames(), javaClass.getName());
+            for (JavaFieldAccess access : codeUnit.getFieldAccesses()) {
+                RawAccessRecord.FieldTargetInfo target = symbols.fieldTarget(
+                        internalNameOf(access.getTargetOwner()),
+                        access.getTarget().getName(),
+                        descriptorOf(access.getTarget().getType()));
+                importRecord.registerFieldAccess(filled(new RawAccessRecord.ForField.Builder(), caller, target, access.getLineNumber())
+                        .withAccessType(access.getAccessType())
+                        .build());
+            }
+            for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+                RawAccessRecord.MethodTargetInfo target = symbols.methodTarget(
+                        internalNameOf(call.getTargetOwner()),
+                        call.getTarget().getName(),
+                        descriptorOf(call.getTarget().getParameters(), call.getTarget().getReturnType()));
+                importRecord.registerMethodCall(filled(new RawAccessRecord.Builder(), caller, target, call.getLineNumber()).build());
+            }
+            for (JavaConstructorCall call : codeUnit.getConstructorCallsFromSelf()) {
+                RawAccessRecord.ConstructorTargetInfo target = symbols.constructorTarget(
+                        internalNameOf(call.getTargetOwner()),
+                        CONSTRUCTOR_NAME,
+                        descriptorOf(call.getTarget().getParameters(), call.getTarget().getReturnType()));
+                importRecord.registerConstructorCall(filled(new RawAccessRecord.Builder(), caller, target, call.getLineNumber()).build());
+            }
+        }
+    }
+
+    private <BUILDER extends RawAccessRecord.BaseBuilder<BUILDER>> BUILDER filled(
+            BUILDER builder, CodeUnit caller, RawAccessRecord.TargetInfo target, int lineNumber) {
+        return builder
+                .withCaller(caller)
+                .withTarget(target)
+                .withLineNumber(lineNumber);
+    }
+
+    private Set<DomainBuilders.JavaAnnotationBuilder> annotationBuildersOf(Set<JavaAnnotation> annotations) {
+        Set<DomainBuilders.JavaAnnotationBuilder> result = new HashSet<>();
+        for (JavaAnnotation annotation : annotations) {
+            result.add(annotationBuilderOf(annotation));
+        }
+        return result;
+    }
+
+    // JavaAnnotation.getProperties() already contains the default values of the annotation type. Those are left out,
+    // so they are taken from the (possibly re-imported) annotation type again on completion.
+    private DomainBuilders.JavaAnnotationBuilder annotationBuilderOf(JavaAnnotation annotation) {
+        DomainBuilders.JavaAnnotationBuilder builder = new DomainBuilders.JavaAnnotationBuilder()
+                .withType(JavaType.From.name(annotation.getType().getName()));
+        for (Map.Entry<String, Object> property : annotation.getProperties().entrySet()) {
+            if (!isDefaultValue(annotation.getType(), property.getKey(), property.getValue())) {
+                builder.addProperty(property.getKey(), valueBuilderOf(property.getValue()));
+            }
+        }
+        return builder;
+    }
+
+    private boolean isDefaultValue(JavaClass annotationType, String propertyName, Object value) {
+        Optional<JavaMethod> method = annotationType.tryGetMethod(propertyName);
+        if (!method.isPresent() || !method.get().getDefaultValue().isPresent()) {
+            return false;
+        }
+        return Objects.deepEquals(method.get().getDefaultValue().get(), value);
+    }
+
+    private ValueBuilder valueBuilderOf(Object value) {
+        if (value instanceof JavaClass) {
+            return classValueBuilder(((JavaClass) value).getName());
+        }
+        if (value instanceof JavaEnumConstant) {
+            JavaEnumConstant enumConstant = (JavaEnumConstant) value;
+            return enumConstantValueBuilder(enumConstant.getDeclaringClass().getName(), enumConstant.name());
+        }
+        if (value instanceof JavaAnnotation) {
+            return ValueBuilder.from(annotationBuilderOf((JavaAnnotation) value));
+        }
+        if (value instanceof Object[]) {
+            return arrayValueBuilder((Object[]) value);
+        }
+        return ValueBuilder.ofFinished(value);
+    }
+
+    private ValueBuilder classValueBuilder(final String className) {
+        return new ValueBuilder() {
+            @Override
+            Optional<Object> build(ClassesByTypeName importedClasses) {
+                return Optional.<Object>of(importedClasses.get(className));
+            }
+        };
+    }
+
+    private ValueBuilder enumConstantValueBuilder(final String declaringClassName, final String name) {
+        return new ValueBuilder() {
+            @Override
+            Optional<Object> build(ClassesByTypeName importedClasses) {
+                return Optional.<Object>of(new DomainBuilders.JavaEnumConstantBuilder()
+                        .withDeclaringClass(importedClasses.get(declaringClassName))
+                        .withName(name)
+                        .build());
+            }
+        };
+    }
+
+    private ValueBuilder arrayValueBuilder(Object[] array) {
+        final Class<?> componentType = array.getClass().getComponentType();
+        final List<ValueBuilder> elements = new ArrayList<>();
+        for (Object element : array) {
+            elements.add(valueBuilderOf(element));
+        }
+        return new ValueBuilder() {
+            @Override
+            Optional<Object> build(ClassesByTypeName importedClasses) {
+                Object[] result = (Object[]) Array.newInstance(componentType, elements.size());
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = elements.get(i).build(importedClasses).orNull();
+                }
+                return Optional.<Object>of(result);
+            }
+        };
+    }
+
+    private static Set<String> namesOf(Set<JavaClass> classes) {
+        Set<String> result = new HashSet<>();
+        for (JavaClass javaClass : classes) {
+            result.add(javaClass.getName());
+        }
+        return result;
+    }
+
+    private static List<JavaType> typesOf(JavaClassList classes) {
+        List<JavaType> result = new ArrayList<>();
+        for (String name : classes.getNames()) {
+            result.add(JavaType.From.name(name));
+        }
+        return result;
+    }
+
+    private static String internalNameOf(JavaClass javaClass) {
+        return javaClass.getName().replace('.', '/');
+    }
+
+    private static String descriptorOf(JavaClassList parameters, JavaClass returnType) {
+        StringBuilder result = new StringBuilder("(");
+        for (JavaClass parameter : parameters) {
+            result.append(descriptorOf(parameter));
+        }
+        return result.append(")").append(descriptorOf(returnType)).toString();
+    }
+
+    private static String descriptorOf(JavaClass javaClass) {
+        String name = javaClass.getName();
+        if (PRIMITIVE_DESCRIPTORS_BY_NAME.containsKey(name)) {
+            return PRIMITIVE_DESCRIPTORS_BY_NAME.get(name);
+        }
+        return name.startsWith("[") ? internalNameOf(javaClass) : "L" + internalNameOf(javaClass) + ";";
+    }
+
+    private static Map<String, String> primitiveDescriptorsByName(Type... primitiveTypes) {
+        ImmutableMap.Builder<String, String> result = ImmutableMap.builder();
+        for (Type type : primitiveTypes) {
+            result.put(type.getClassName(), type.getDescriptor());
+        }
+        return result.build();
+    }
+}
@@ -15,8 +15,12 @@
  */
 package com.tngtech.archunit.core.importer;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -25,6 +29,7 @@ import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.importer.resolvers.BatchClassResolver;
 import com.tngtech.archunit.core.importer.resolvers.ClassResolver;
 
 import static com.tngtech.archunit.core.domain.JavaModifier.ABSTRACT;
@@ -36,12 +41,17 @@ class ImportedClasses {
             Sets.immutableEnumSet(PUBLIC, ABSTRACT, FINAL);
 
     private final ImmutableMap<String, JavaClass> directlyImported;
-    private final Map<String, JavaClass> additionalClasses = new HashMap<>();
+    private final Map<String, JavaClass> additionalClasses = new ConcurrentHashMap<>();
     private final ClassResolver resolver;
+    private final ImportStatistics statistics;
+    private int remainingResolutions;
 
-    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver) {
+    ImportedClasses(Map<String, JavaClass> directlyImported, ClassResolver resolver, int maxResolvedClasses,
+            ImportStatistics statistics) {
         this.directlyImported = ImmutableMap.copyOf(directlyImported);
         this.resolver = resolver;
+        this.remainingResolutions = maxResolvedClasses;
+        this.statistics = statistics;
     }
 
     Map<String, JavaClass> getDirectlyImported() {
@@ -61,12 +71,79 @@ class ImportedClasses {
 
     void ensurePresent(String typeName) {
         if (!contain(typeName)) {
-            Optional<JavaClass> resolved = resolver.tryResolve(typeName);
+            resolve(typeName);
+        }
+    }
+
+    // Lookups are concurrent, but resolution is serialized, so every class is only resolved once
+    // and resolvers don't need to be thread safe
+    private synchronized void resolve(String typeName) {
+        if (!contain(typeName)) {
+            Optional<JavaClass> resolved = Optional.absent();
+            if (remainingResolutions > 0) {
+                remainingResolutions--;
+                resolved = resolver.tryResolve(typeName);
+                statistics.onClassResolved(resolved.isPresent());
+            }
             JavaClass newClass = resolved.isPresent() ? resolved.get() : simpleClassOf(typeName);
             additionalClasses.put(typeName, newClass);
         }
     }
 
+    /**
+     * Resolves all missing types at once, if the {@link ClassResolver} is a {@link BatchClassResolver}.
+     * Types beyond the maximal number of resolved classes are added as simple classes.
+     *
+     * @return The names of the types, that could be resolved
+     */
+    synchronized Set<String> resolveAll(Set<String> typeNames) {
+        Set<String> toResolve = new LinkedHashSet<>();
+        Set<String> beyondLimit = new LinkedHashSet<>();
+        for (String typeName : typeNames) {
+            if (!contain(typeName)) {
+                (toResolve.size() < remainingResolutions ? toResolve : beyondLimit).add(typeName);
+            }
+        }
+        remainingResolutions -= toResolve.size();
+
+        Map<String, JavaClass> resolved = tryResolveAll(toResolve);
+        for (String typeName : toResolve) {
+            JavaClass resolvedClass = resolved.get(typeName);
+            statistics.onClassResolved(resolvedClass != null);
+            additionalClasses.put(typeName, resolvedClass != null ? resolvedClass : simpleClassOf(typeName));
+        }
+        addSimpleClasses(beyondLimit);
+        return resolved.keySet();
+    }
+
+    private Map<String, JavaClass> tryResolveAll(Set<String> typeNames) {
+        if (typeNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (resolver instanceof BatchClassResolver) {
+            return ((BatchClassResolver) resolver).tryResolveAll(typeNames);
+        }
+        Map<String, JavaClass> result = new HashMap<>();
+        for (String typeName : typeNames) {
+            Optional<JavaClass> resolved = resolver.tryResolve(typeName);
+            if (resolved.isPresent()) {
+                result.put(typeName, resolved.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds all missing types as simple classes, without trying to resolve them
+     */
+    synchronized void addSimpleClasses(Set<String> typeNames) {
+        for (String typeName : typeNames) {
+            if (!contain(typeName)) {
+                additionalClasses.put(typeName, simpleClassOf(typeName));
+            }
+        }
+    }
+
     private boolean contain(String name) {
         return directlyImported.containsKey(name) || additionalClasses.containsKey(name);
     }
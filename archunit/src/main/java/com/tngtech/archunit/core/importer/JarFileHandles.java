@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads class files from URIs like <code>jar:file:/some/lib.jar!/com/foo/Bar.class</code>, keeping every JAR file
+ * open until {@link #close()}, instead of opening a connection per class file. After {@link #close()},
+ * JAR files are opened for a single read only.
+ */
+class JarFileHandles {
+    private static final Logger LOG = LoggerFactory.getLogger(JarFileHandles.class);
+    private static final String SEPARATOR = "!/";
+
+    private final Map<String, ZipFile> openFiles = new HashMap<>();
+    private boolean closed;
+
+    static boolean canRead(URI uri) {
+        return "jar".equals(uri.getScheme())
+                && uri.getSchemeSpecificPart().startsWith("file:")
+                && uri.getSchemeSpecificPart().contains(SEPARATOR);
+    }
+
+    synchronized byte[] read(URI uri) throws IOException {
+        // the URI of the JAR file must stay encoded, while the entry name must be decoded
+        String rawPath = uri.getRawSchemeSpecificPart();
+        String jarFile = rawPath.substring(0, rawPath.indexOf(SEPARATOR));
+        String path = uri.getSchemeSpecificPart();
+        String entryName = path.substring(path.indexOf(SEPARATOR) + SEPARATOR.length());
+
+        if (closed) {
+            try (ZipFile zipFile = open(jarFile)) {
+                return read(zipFile, entryName);
+            }
+        }
+        ZipFile zipFile = openFiles.get(jarFile);
+        if (zipFile == null) {
+            zipFile = open(jarFile);
+            openFiles.put(jarFile, zipFile);
+        }
+        return read(zipFile, entryName);
+    }
+
+    private ZipFile open(String jarFile) throws IOException {
+        return new ZipFile(Paths.get(URI.create(jarFile)).toFile());
+    }
+
+    private byte[] read(ZipFile zipFile, String entryName) throws IOException {
+        ZipEntry entry = zipFile.getEntry(entryName);
+        if (entry == null) {
+            throw new IOException(String.format("No entry %s in %s", entryName, zipFile.getName()));
+        }
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            return ClassFileBytes.read(inputStream, entry.getSize());
+        }
+    }
+
+    synchronized void close() {
+        closed = true;
+        for (ZipFile zipFile : openFiles.values()) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                LOG.debug("Couldn't close " + zipFile.getName(), e);
+            }
+        }
+        openFiles.clear();
+    }
+}
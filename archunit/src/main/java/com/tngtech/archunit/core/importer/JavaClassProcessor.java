@@ -71,17 +71,31 @@ class JavaClassProcessor extends ClassVisitor {
     private DomainBuilders.JavaClassBuilder javaClassBuilder;
     private final Set<DomainBuilders.JavaAnnotationBuilder> annotations = new HashSet<>();
     private final URI sourceURI;
+    private final Optional<byte[]> classFile;
     private final DeclarationHandler declarationHandler;
     private final AccessHandler accessHandler;
     private String className;
 
+    JavaClassProcessor(URI sourceURI, byte[] classFile, DeclarationHandler declarationHandler) {
+        this(sourceURI, classFile, declarationHandler, NO_OP);
+    }
+
+    /**
+     * For classes, whose class file isn't at hand (e.g. if the events are replayed from a {@link JdkSnapshot})
+     */
     JavaClassProcessor(URI sourceURI, DeclarationHandler declarationHandler) {
-        this(sourceURI, declarationHandler, NO_OP);
+        this(sourceURI, Optional.<byte[]>absent(), declarationHandler, NO_OP);
     }
 
-    JavaClassProcessor(URI sourceURI, DeclarationHandler declarationHandler, AccessHandler accessHandler) {
+    JavaClassProcessor(URI sourceURI, byte[] classFile, DeclarationHandler declarationHandler, AccessHandler accessHandler) {
+        this(sourceURI, Optional.of(classFile), declarationHandler, accessHandler);
+    }
+
+    private JavaClassProcessor(URI sourceURI, Optional<byte[]> classFile, DeclarationHandler declarationHandler,
+            AccessHandler accessHandler) {
         super(ASM_API_VERSION);
         this.sourceURI = sourceURI;
+        this.classFile = classFile;
         this.declarationHandler = declarationHandler;
         this.accessHandler = accessHandler;
     }
@@ -90,9 +104,13 @@ class JavaClassProcessor extends ClassVisitor {
         return javaClassBuilder != null ? Optional.of(javaClassBuilder.build()) : Optional.<JavaClass>absent();
     }
 
+    Optional<DomainBuilders.JavaClassBuilder> getJavaClassBuilder() {
+        return Optional.fromNullable(javaClassBuilder);
+    }
+
     @Override
     public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
-        LOG.info("Analysing class '{}'", name);
+        LOG.debug("Analysing class '{}'", name);
         JavaType javaType = JavaTypeImporter.createFromAsmObjectTypeName(name);
         if (alreadyImported(javaType)) {
             return;
@@ -105,7 +123,7 @@ class JavaClassProcessor extends ClassVisitor {
         LOG.debug("Found superclass {} on class '{}'", superClassName, name);
 
         javaClassBuilder = new DomainBuilders.JavaClassBuilder()
-                .withSource(createSource(sourceURI))
+                .withSource(classFile.isPresent() ? createSource(sourceURI, classFile.get()) : createSource(sourceURI))
                 .withType(javaType)
                 .withInterface(opCodeForInterfaceIsPresent)
                 .withModifiers(JavaModifier.getModifiersForClass(access));
@@ -260,18 +278,39 @@ class JavaClassProcessor extends ClassVisitor {
         return result.build();
     }
 
-    private static class MethodProcessor extends MethodVisitor {
-        private final String declaringClassName;
+    /**
+     * Only visits the bodies of the methods, constructors and static initializers of a class and reports
+     * all accesses to the {@link AccessHandler}, i.e. the counterpart to a {@link JavaClassProcessor}, that
+     * was used with {@link org.objectweb.asm.ClassReader#SKIP_CODE}.
+     */
+    static class CodeProcessor extends ClassVisitor {
+        private final AccessHandler accessHandler;
+        private String className;
+
+        CodeProcessor(AccessHandler accessHandler) {
+            super(ASM_API_VERSION);
+            this.accessHandler = accessHandler;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = JavaTypeImporter.createFromAsmObjectTypeName(name).getName();
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            accessHandler.setContext(new CodeUnit(name, namesOf(Type.getArgumentTypes(desc)), className));
+            return new MethodCodeProcessor(accessHandler);
+        }
+    }
+
+    private static class MethodCodeProcessor extends MethodVisitor {
         private final AccessHandler accessHandler;
-        private final DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder;
-        private final Set<DomainBuilders.JavaAnnotationBuilder> annotations = new HashSet<>();
         private int actualLineNumber;
 
-        MethodProcessor(String declaringClassName, AccessHandler accessHandler, DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder) {
+        MethodCodeProcessor(AccessHandler accessHandler) {
             super(ASM_API_VERSION);
-            this.declaringClassName = declaringClassName;
             this.accessHandler = accessHandler;
-            this.codeUnitBuilder = codeUnitBuilder;
         }
 
         @Override
@@ -296,6 +335,18 @@ class JavaClassProcessor extends ClassVisitor {
         public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
             accessHandler.handleMethodInstruction(owner, name, desc);
         }
+    }
+
+    private static class MethodProcessor extends MethodCodeProcessor {
+        private final String declaringClassName;
+        private final DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder;
+        private final Set<DomainBuilders.JavaAnnotationBuilder> annotations = new HashSet<>();
+
+        MethodProcessor(String declaringClassName, AccessHandler accessHandler, DomainBuilders.JavaCodeUnitBuilder<?, ?> codeUnitBuilder) {
+            super(accessHandler);
+            this.declaringClassName = declaringClassName;
+            this.codeUnitBuilder = codeUnitBuilder;
+        }
 
         @Override
         public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import com.google.common.hash.Hashing;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.Internal;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromJdkSnapshot;
+import org.objectweb.asm.ClassReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A prebuilt model of the platform classes (i.e. <code>java.*</code> and <code>javax.*</code>) of the running JDK.
+ * The declarations of all platform classes are recorded once per JDK as {@link ClassEventStream events} into a single
+ * file, read from <code>rt.jar</code> and the other JARs of <code>sun.boot.class.path</code>. The file is stored
+ * beneath the import cache directory, if one is configured (compare {@link ArchConfiguration#getImportCacheDirectory()}),
+ * otherwise beneath <code>~/.archunit</code>, and memory mapped, once the snapshot is used.<br><br>
+ * Snapshots are only supported up to Java 8, since the ASM version in use can't parse the class files of newer JDKs.
+ * On newer JDKs the snapshot is empty, without ever being written.<br><br>
+ * Imports using {@link ClassResolverFromJdkSnapshot} replay the recorded events of platform classes,
+ * instead of reading and parsing the class files. All other imports read the class files as usual.<br><br>
+ * The snapshot can also be built upfront, by running this class with the target directory as optional argument.
+ */
+@Internal
+public final class JdkSnapshot {
+    private static final Logger LOG = LoggerFactory.getLogger(JdkSnapshot.class);
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x41524a53;
+    private static final int HEADER_LENGTH = 5 * 4;
+    private static final String CACHE_SUBDIRECTORY = "jdk-snapshot";
+    private static final String FILE_SUFFIX = ".snapshot";
+    private static final int READ_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES;
+
+    private static volatile JdkSnapshot current;
+
+    private final Map<String, Entry> entriesByTypeName = new HashMap<>();
+    private final Map<String, Entry> entriesByUri = new HashMap<>();
+    private final ByteBuffer events;
+
+    private JdkSnapshot(ByteBuffer events) {
+        this.events = events;
+    }
+
+    /**
+     * @return The snapshot of the running JDK, which is created, if it doesn't exist yet. If the snapshot
+     * can't be created, the result is empty.
+     */
+    public static synchronized JdkSnapshot get() {
+        if (current == null) {
+            current = openOrCreate(defaultDirectory().resolve(fileName()));
+        }
+        return current;
+    }
+
+    public Optional<URI> tryGetUriOf(String typeName) {
+        Entry entry = entriesByTypeName.get(typeName);
+        return entry != null ? Optional.of(URI.create(entry.uri)) : Optional.<URI>absent();
+    }
+
+    Optional<byte[]> getEventsOf(URI uri) {
+        Entry entry = entriesByUri.get(uri.toString());
+        if (entry == null) {
+            return Optional.absent();
+        }
+        ByteBuffer buffer = events.duplicate();
+        buffer.position(entry.offset);
+        byte[] result = new byte[entry.length];
+        buffer.get(result);
+        return Optional.of(result);
+    }
+
+    int size() {
+        return entriesByTypeName.size();
+    }
+
+    static JdkSnapshot openOrCreate(Path file) {
+        Optional<JdkSnapshot> snapshot = tryOpen(file);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+        String bootClassPath = System.getProperty("sun.boot.class.path");
+        if (bootClassPath == null) {
+            LOG.info("JDK snapshots are only supported up to Java 8, platform classes will be read from their class files");
+            return empty();
+        }
+        try {
+            write(file, platformClassFiles(bootClassPath));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Couldn't create JDK snapshot " + file, e);
+        }
+        return tryOpen(file).or(empty());
+    }
+
+    private static JdkSnapshot empty() {
+        return new JdkSnapshot(ByteBuffer.allocate(0));
+    }
+
+    // The mapping stays valid, after the channel has been closed
+    static Optional<JdkSnapshot> tryOpen(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.absent();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Ignoring invalid JDK snapshot " + file, e);
+            return Optional.absent();
+        }
+    }
+
+    private static Optional<JdkSnapshot> read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_LENGTH
+                || buffer.getInt() != MAGIC
+                || buffer.getInt() != FORMAT_VERSION
+                || buffer.getInt() != ClassEventStream.FORMAT_VERSION) {
+            return Optional.absent();
+        }
+        int count = buffer.getInt();
+        byte[] index = new byte[buffer.getInt()];
+        buffer.get(index);
+        JdkSnapshot snapshot = new JdkSnapshot(buffer.slice());
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(index));
+        for (int i = 0; i < count; i++) {
+            Entry entry = new Entry(in.readUTF(), in.readUTF(), in.readInt(), in.readInt());
+            if (entry.offset + entry.length > snapshot.events.capacity()) {
+                return Optional.absent();
+            }
+            snapshot.entriesByTypeName.put(entry.typeName, entry);
+            snapshot.entriesByUri.put(entry.uri, entry);
+        }
+        return Optional.of(snapshot);
+    }
+
+    static void write(Path file, Iterable<ClassFileLocation> classFiles) throws IOException {
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        ByteArrayOutputStream events = new ByteArrayOutputStream();
+        Set<String> recorded = new HashSet<>();
+        for (ClassFileLocation classFile : classFiles) {
+            Optional<String> typeName = classFile.getClassName();
+            if (!typeName.isPresent() || !isPlatformClass(typeName.get()) || recorded.contains(typeName.get())) {
+                continue;
+            }
+            Optional<byte[]> classEvents = tryRecordEventsOf(classFile);
+            if (classEvents.isPresent()) {
+                index.writeUTF(typeName.get());
+                index.writeUTF(classFile.getUri().toString());
+                index.writeInt(events.size());
+                index.writeInt(classEvents.get().length);
+                events.write(classEvents.get());
+                recorded.add(typeName.get());
+            }
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(ClassEventStream.FORMAT_VERSION);
+            out.writeInt(recorded.size());
+            out.writeInt(indexBytes.size());
+            indexBytes.writeTo(out);
+            events.writeTo(out);
+        }
+        moveAtomically(tempFile, file);
+    }
+
+    private static boolean isPlatformClass(String typeName) {
+        return typeName.startsWith("java.") || typeName.startsWith("javax.");
+    }
+
+    // Classes, that can't be read or parsed, are left out, thus they're imported from their class files later on
+    private static Optional<byte[]> tryRecordEventsOf(ClassFileLocation classFile) {
+        try {
+            ClassEventStream.Recorder recorder = new ClassEventStream.Recorder(null);
+            new ClassReader(classFile.read()).accept(recorder, READ_FLAGS);
+            return Optional.of(recorder.getEvents());
+        } catch (RuntimeException e) {
+            LOG.debug("Leaving " + classFile.getUri() + " out of JDK snapshot", e);
+            return Optional.absent();
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Path defaultDirectory() {
+        Optional<String> cacheDirectory = ArchConfiguration.get().getImportCacheDirectory();
+        return cacheDirectory.isPresent()
+                ? Paths.get(cacheDirectory.get()).resolve(CACHE_SUBDIRECTORY)
+                : Paths.get(System.getProperty("user.home"), ".archunit", CACHE_SUBDIRECTORY);
+    }
+
+    // One snapshot per JDK, the format versions are part of the name, so outdated snapshots are never looked up
+    private static String fileName() {
+        return Hashing.sha1().newHasher()
+                .putInt(FORMAT_VERSION)
+                .putInt(ClassEventStream.FORMAT_VERSION)
+                .putString(System.getProperty("java.vendor", ""), UTF_8)
+                .putString(System.getProperty("java.version", ""), UTF_8)
+                .putString(System.getProperty("java.home", ""), UTF_8)
+                .hash().toString() + FILE_SUFFIX;
+    }
+
+    private static Iterable<ClassFileLocation> platformClassFiles(String bootClassPath) {
+        List<Iterable<ClassFileLocation>> result = new ArrayList<>();
+        for (String entry : Splitter.on(File.pathSeparator).omitEmptyStrings().split(bootClassPath)) {
+            Path path = Paths.get(entry);
+            if (path.toString().endsWith(".jar") && Files.isRegularFile(path)) {
+                result.add(Location.of(path.toUri()).asClassFileSource(new ImportOptions()));
+            }
+        }
+        return Iterables.concat(result);
+    }
+
+    public static void main(String[] args) {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : defaultDirectory();
+        Path file = directory.resolve(fileName());
+        JdkSnapshot snapshot = openOrCreate(file);
+        LOG.info("JDK snapshot of {} classes at {}", snapshot.size(), file);
+    }
+
+    private static class Entry {
+        private final String typeName;
+        private final String uri;
+        private final int offset;
+        private final int length;
+
+        private Entry(String typeName, String uri, int offset, int length) {
+            this.typeName = typeName;
+            this.uri = uri;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.ImportContext;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaConstructorCall;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaStaticInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.tngtech.archunit.core.importer.DomainBuilders.BuilderWithBuildParameter.BuildFinisher.build;
+import static com.tngtech.archunit.core.importer.DomainBuilders.buildAnnotations;
+
+/**
+ * Imports the details of a single lazily imported class, once they are requested, and serves as the
+ * {@link ImportContext} of that class. The details are recorded within a record of their own, thus a lazily
+ * imported class doesn't keep the record of the whole import alive, but only the classes of the import,
+ * to resolve its super types and the types of its members. Code units of lazily imported classes don't have accesses.
+ */
+class LazyClassImport implements Supplier<Optional<DomainBuilders.JavaClassBuilder>>, ImportContext {
+    private static final Logger LOG = LoggerFactory.getLogger(LazyClassImport.class);
+
+    private final URI uri;
+    private final Optional<JdkSnapshot> snapshot;
+    private final int readFlags;
+    private final JarFileHandles jarFiles;
+    private final ImportStatistics statistics;
+    private final ImportedClasses classes;
+    // Only created on import, so stubs, that are never completed, don't carry a record
+    private ClassFileImportRecord record;
+
+    LazyClassImport(URI uri, Optional<JdkSnapshot> snapshot, int readFlags, JarFileHandles jarFiles,
+            ImportStatistics statistics, ImportedClasses classes) {
+        this.uri = uri;
+        this.snapshot = snapshot;
+        this.readFlags = readFlags;
+        this.jarFiles = jarFiles;
+        this.statistics = statistics;
+        this.classes = classes;
+    }
+
+    // Lazy imports may happen long after the import has finished, thus they don't use the cache of the import
+    @Override
+    public Optional<DomainBuilders.JavaClassBuilder> get() {
+        record = new ClassFileImportRecord();
+        try {
+            return ClassFileProcessor.processClassFile(
+                    uri, snapshot, new ClassFileCache.Disabled(readFlags), jarFiles, statistics, record)
+                    .getJavaClassBuilder();
+        } catch (Exception e) {
+            LOG.warn(String.format("Error during lazy import from %s, keeping simple class", uri), e);
+            record = new ClassFileImportRecord();
+            return Optional.absent();
+        }
+    }
+
+    @Override
+    public JavaClass getJavaClassWithType(String name) {
+        return classes.getOrResolve(name);
+    }
+
+    @Override
+    public Optional<JavaClass> createSuperClass(JavaClass owner) {
+        Optional<String> superClassName = record.getSuperClassFor(owner.getName());
+        return superClassName.isPresent() ?
+                Optional.of(classes.getOrResolve(superClassName.get())) :
+                Optional.<JavaClass>absent();
+    }
+
+    @Override
+    public Set<JavaClass> createInterfaces(JavaClass owner) {
+        ImmutableSet.Builder<JavaClass> result = ImmutableSet.builder();
+        for (String interfaceName : record.getInterfaceNamesFor(owner.getName())) {
+            result.add(classes.getOrResolve(interfaceName));
+        }
+        return result.build();
+    }
+
+    @Override
+    public Set<JavaField> createFields(JavaClass owner) {
+        return build(record.getFieldBuildersFor(owner.getName()), owner, classes.byTypeName());
+    }
+
+    @Override
+    public Set<JavaMethod> createMethods(JavaClass owner) {
+        return build(record.getMethodBuildersFor(owner.getName()), owner, classes.byTypeName());
+    }
+
+    @Override
+    public Set<JavaConstructor> createConstructors(JavaClass owner) {
+        return build(record.getConstructorBuildersFor(owner.getName()), owner, classes.byTypeName());
+    }
+
+    @Override
+    public Optional<JavaStaticInitializer> createStaticInitializer(JavaClass owner) {
+        Optional<DomainBuilders.JavaStaticInitializerBuilder> builder = record.getStaticInitializerBuilderFor(owner.getName());
+        return builder.isPresent() ?
+                Optional.of(builder.get().build(owner, classes.byTypeName())) :
+                Optional.<JavaStaticInitializer>absent();
+    }
+
+    @Override
+    public Map<String, JavaAnnotation> createAnnotations(JavaClass owner) {
+        return buildAnnotations(record.getAnnotationsFor(owner.getName()), classes.byTypeName());
+    }
+
+    @Override
+    public Optional<JavaClass> createEnclosingClass(JavaClass owner) {
+        Optional<String> enclosingClassName = record.getEnclosingClassFor(owner.getName());
+        return enclosingClassName.isPresent() ?
+                Optional.of(classes.getOrResolve(enclosingClassName.get())) :
+                Optional.<JavaClass>absent();
+    }
+
+    @Override
+    public Set<JavaFieldAccess> getFieldAccessesFor(JavaCodeUnit codeUnit) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Set<JavaMethodCall> getMethodCallsFor(JavaCodeUnit codeUnit) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Set<JavaConstructorCall> getConstructorCallsFor(JavaCodeUnit codeUnit) {
+        return Collections.emptySet();
+    }
+}
@@ -22,9 +22,14 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.jar.JarFile;
 
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
 import com.tngtech.archunit.PublicAPI;
 import com.tngtech.archunit.base.ArchUnitException.LocationException;
 import com.tngtech.archunit.base.ArchUnitException.UnsupportedUriSchemeException;
@@ -36,6 +41,7 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
 public abstract class Location {
     private static final String FILE_SCHEME = "file";
     private static final String JAR_SCHEME = "jar";
+    private static final String JAR_ROOT_SEPARATOR = "!/";
 
     final URI uri;
 
@@ -50,6 +56,29 @@ public abstract class Location {
 
     abstract ClassFileSource asClassFileSource(ImportOptions importOptions);
 
+    /**
+     * Locations within the same JAR file are combined into a single {@link ClassFileSource},
+     * so the entries of every JAR file are only scanned once, no matter how many packages are imported from it.
+     */
+    static List<ClassFileSource> asClassFileSources(Collection<Location> locations, ImportOptions importOptions) {
+        Multimap<URI, Location> locationsByRoot = LinkedHashMultimap.create();
+        for (Location location : locations) {
+            locationsByRoot.put(location.getRoot(), location);
+        }
+        List<ClassFileSource> result = new ArrayList<>();
+        for (Collection<Location> sameRoot : locationsByRoot.asMap().values()) {
+            Location first = sameRoot.iterator().next();
+            result.add(sameRoot.size() > 1 && first instanceof JarFileLocation
+                    ? JarFileLocation.asClassFileSource(sameRoot, importOptions)
+                    : first.asClassFileSource(importOptions));
+        }
+        return result;
+    }
+
+    URI getRoot() {
+        return uri;
+    }
+
     @PublicAPI(usage = ACCESS)
     public boolean contains(String part) {
         return uri.toString().contains(part);
@@ -71,6 +100,13 @@ public abstract class Location {
         return Location.of(URI.create(uri + relativeURI));
     }
 
+    /**
+     * The JDK caches opened JAR files by URL. Closing the cached file evicts it, so a JAR, that has been
+     * replaced in the meantime, is read anew, once it is opened the next time.
+     */
+    void evictCachedJarFile() {
+    }
+
     void checkScheme(String scheme, URI uri) {
         checkArgument(scheme.equals(uri.getScheme()),
                 "URI %s of %s must have scheme %s, but has %s",
@@ -143,7 +179,7 @@ public abstract class Location {
     }
 
     private static URI newJarUri(URI uri) {
-        return URI.create(String.format("%s:%s!/", JAR_SCHEME, uri));
+        return URI.create(String.format("%s:%s%s", JAR_SCHEME, uri, JAR_ROOT_SEPARATOR));
     }
 
     private static class JarFileLocation extends Location {
@@ -154,12 +190,39 @@ public abstract class Location {
 
         @Override
         ClassFileSource asClassFileSource(ImportOptions importOptions) {
+            return new ClassFileSource.FromJar(openConnection(), importOptions);
+        }
+
+        static ClassFileSource asClassFileSource(Collection<Location> locationsInSameJar, ImportOptions importOptions) {
+            List<JarURLConnection> connections = new ArrayList<>();
+            for (Location location : locationsInSameJar) {
+                connections.add(((JarFileLocation) location).openConnection());
+            }
+            return new ClassFileSource.FromJar(connections, importOptions);
+        }
+
+        @Override
+        void evictCachedJarFile() {
+            try {
+                openConnection().getJarFile().close();
+            } catch (IOException e) {
+                throw new LocationException(e);
+            }
+        }
+
+        private JarURLConnection openConnection() {
             try {
-                return new ClassFileSource.FromJar((JarURLConnection) uri.toURL().openConnection(), importOptions);
+                return (JarURLConnection) uri.toURL().openConnection();
             } catch (IOException e) {
                 throw new LocationException(e);
             }
         }
+
+        @Override
+        URI getRoot() {
+            String uriString = uri.toString();
+            return URI.create(uriString.substring(0, uriString.indexOf(JAR_ROOT_SEPARATOR) + JAR_ROOT_SEPARATOR.length()));
+        }
     }
 
     private static class FilePathLocation extends Location {
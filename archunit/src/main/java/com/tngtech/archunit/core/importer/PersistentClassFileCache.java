@@ -0,0 +1,270 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import com.google.common.hash.Hashing;
+import com.tngtech.archunit.base.Optional;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the {@link ClassEventStream events} of every parsed class file within a directory, using a hash of the
+ * class file bytes as key. Every entry carries a header with the format version and a checksum, entries that
+ * don't match are ignored and replaced. Entries are evicted by age (last use) and by total size of the directory,
+ * whenever an import added new entries. Other files within the directory are left alone.
+ */
+class PersistentClassFileCache implements ClassFileCache {
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentClassFileCache.class);
+
+    private static final int MAGIC = 0x41524355;
+    private static final int HEADER_LENGTH = 3 * 4;
+    private static final int CHECKSUM_LENGTH = 8;
+    private static final String ENTRY_SUFFIX = ".events";
+
+    private final Path directory;
+    private final long maxSizeInBytes;
+    private final long maxAgeInMillis;
+    private final int readFlags;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicBoolean entriesAdded = new AtomicBoolean();
+
+    PersistentClassFileCache(Path directory, long maxSizeInBytes, long maxAgeInMillis, int readFlags) {
+        this.directory = directory;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxAgeInMillis = maxAgeInMillis;
+        this.readFlags = readFlags;
+    }
+
+    @Override
+    public void accept(byte[] classFile, ClassVisitor visitor) {
+        Path entry = entryFor(classFile);
+        Optional<byte[]> events = tryRead(entry);
+        if (events.isPresent()) {
+            hits.incrementAndGet();
+            replay(events.get(), visitor);
+            return;
+        }
+
+        misses.incrementAndGet();
+        ClassEventStream.Recorder recorder = new ClassEventStream.Recorder(visitor);
+        new ClassReader(classFile).accept(recorder, readFlags);
+        tryWrite(entry, recorder.getEvents());
+    }
+
+    // The format version and the flags ClassReader is run with are part of the key, thus entries created
+    // by a different version or with different flags will never be looked up
+    private Path entryFor(byte[] classFile) {
+        String key = Hashing.sha1().newHasher()
+                .putInt(ClassEventStream.FORMAT_VERSION)
+                .putInt(readFlags)
+                .putBytes(classFile)
+                .hash().toString();
+        return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    private void replay(byte[] events, ClassVisitor visitor) {
+        try {
+            ClassEventStream.replay(events, visitor);
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't replay events from import cache despite valid checksum, " +
+                    "this is most likely a bug", e);
+        }
+    }
+
+    private Optional<byte[]> tryRead(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return Optional.absent();
+        }
+        try {
+            Optional<byte[]> result = unwrap(ByteBuffer.wrap(Files.readAllBytes(entry)));
+            if (result.isPresent()) {
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                LOG.debug("Ignoring invalid import cache entry {}", entry);
+                Files.deleteIfExists(entry);
+            }
+            return result;
+        } catch (IOException e) {
+            LOG.debug("Couldn't read import cache entry " + entry, e);
+            return Optional.absent();
+        }
+    }
+
+    private Optional<byte[]> unwrap(ByteBuffer entry) {
+        if (entry.remaining() < HEADER_LENGTH + CHECKSUM_LENGTH
+                || entry.getInt() != MAGIC
+                || entry.getInt() != ClassEventStream.FORMAT_VERSION) {
+            return Optional.absent();
+        }
+        int length = entry.getInt();
+        if (entry.remaining() != length + CHECKSUM_LENGTH) {
+            return Optional.absent();
+        }
+        byte[] events = new byte[length];
+        entry.get(events);
+        return entry.getLong() == checksumOf(events) ? Optional.of(events) : Optional.<byte[]>absent();
+    }
+
+    private void tryWrite(Path entry, byte[] events) {
+        try {
+            Files.createDirectories(entry.getParent());
+            Path tempFile = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+            Files.write(tempFile, wrap(events));
+            moveAtomically(tempFile, entry);
+            entriesAdded.set(true);
+        } catch (IOException e) {
+            LOG.debug("Couldn't write import cache entry " + entry, e);
+        }
+    }
+
+    private byte[] wrap(byte[] events) {
+        return ByteBuffer.allocate(HEADER_LENGTH + events.length + CHECKSUM_LENGTH)
+                .putInt(MAGIC)
+                .putInt(ClassEventStream.FORMAT_VERSION)
+                .putInt(events.length)
+                .put(events)
+                .putLong(checksumOf(events))
+                .array();
+    }
+
+    private void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private long checksumOf(byte[] events) {
+        CRC32 crc = new CRC32();
+        crc.update(events);
+        return crc.getValue();
+    }
+
+    @Override
+    public void finish() {
+        LOG.debug("Import cache {}: {} hits, {} misses", directory, hits.get(), misses.get());
+        if (entriesAdded.get()) {
+            evict();
+        }
+    }
+
+    void evict() {
+        try {
+            evictEntries();
+        } catch (IOException e) {
+            LOG.warn("Couldn't evict entries from import cache " + directory, e);
+        }
+    }
+
+    private void evictEntries() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        long oldestAllowed = System.currentTimeMillis() - maxAgeInMillis;
+        List<Entry> entries = new ArrayList<>();
+        long totalSize = 0;
+        for (Entry entry : collectEntries()) {
+            if (entry.lastModified < oldestAllowed) {
+                delete(entry);
+            } else {
+                entries.add(entry);
+                totalSize += entry.size;
+            }
+        }
+
+        Collections.sort(entries, Entry.OLDEST_FIRST);
+        for (int i = 0; i < entries.size() && totalSize > maxSizeInBytes; i++) {
+            delete(entries.get(i));
+            totalSize -= entries.get(i).size;
+        }
+    }
+
+    private List<Entry> collectEntries() throws IOException {
+        final List<Entry> result = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (isEntry(file)) {
+                    result.add(new Entry(file, attrs.lastModifiedTime().toMillis(), attrs.size()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // another process might have evicted the file in the meantime
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return result;
+    }
+
+    // The directory is shared with other caches (e.g. the JDK snapshot), so only entries (and temporary files of entries,
+    // that were left behind by crashed writes) are evicted
+    private static boolean isEntry(Path file) {
+        return file.getFileName().toString().contains(ENTRY_SUFFIX);
+    }
+
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(entry.path);
+        } catch (IOException e) {
+            LOG.debug("Couldn't delete import cache entry " + entry.path, e);
+        }
+    }
+
+    private static class Entry {
+        private static final Comparator<Entry> OLDEST_FIRST = new Comparator<Entry>() {
+            @Override
+            public int compare(Entry first, Entry second) {
+                return Long.compare(first.lastModified, second.lastModified);
+            }
+        };
+
+        private final Path path;
+        private final long lastModified;
+        private final long size;
+
+        private Entry(Path path, long lastModified, long size) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
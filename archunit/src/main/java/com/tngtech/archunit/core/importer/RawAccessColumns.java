@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.UnmodifiableIterator;
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * Stores the {@link RawAccessRecord raw accesses} of one kind as a set of rows in primitive columns. Callers and
+ * targets are stored as ids into tables of the distinct {@link CodeUnit CodeUnits} and {@link TargetInfo TargetInfos}
+ * (which are shared instances, compare {@link ImportSymbols}), equal rows are only stored once.
+ * {@link RawAccessRecord RawAccessRecords} are only created on iteration and not retained.
+ */
+abstract class RawAccessColumns<RECORD extends RawAccessRecord> implements Iterable<RECORD> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte NO_ACCESS_TYPE = -1;
+    private static final AccessType[] ACCESS_TYPES = AccessType.values();
+
+    private final Symbols<CodeUnit> callers = new Symbols<>();
+    private final Symbols<TargetInfo> targets = new Symbols<>();
+    private int[] callerIds = new int[INITIAL_CAPACITY];
+    private int[] targetIds = new int[INITIAL_CAPACITY];
+    private int[] lineNumbers = new int[INITIAL_CAPACITY];
+    private byte[] accessTypes = new byte[INITIAL_CAPACITY];
+    private int size = 0;
+    // Open addressing hash table of row + 1 (0 marks a free slot), always at most half full
+    private int[] slots = new int[2 * INITIAL_CAPACITY];
+
+    abstract void add(RECORD record);
+
+    abstract RECORD recordAt(int row);
+
+    void addAll(RawAccessColumns<RECORD> other) {
+        for (int row = 0; row < other.size; row++) {
+            add(other.callerAt(row), other.targetAt(row), other.lineNumberAt(row), other.accessTypes[row]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The distinct targets of all accesses
+     */
+    List<TargetInfo> getTargets() {
+        return Collections.unmodifiableList(targets.symbols);
+    }
+
+    CodeUnit callerAt(int row) {
+        return callers.symbols.get(callerIds[row]);
+    }
+
+    TargetInfo targetAt(int row) {
+        return targets.symbols.get(targetIds[row]);
+    }
+
+    int lineNumberAt(int row) {
+        return lineNumbers[row];
+    }
+
+    AccessType accessTypeAt(int row) {
+        return ACCESS_TYPES[accessTypes[row]];
+    }
+
+    /**
+     * @return A view of all records, every record is created anew on access
+     */
+    List<RECORD> asList() {
+        return new AbstractList<RECORD>() {
+            @Override
+            public RECORD get(int index) {
+                checkElementIndex(index, size);
+                return recordAt(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public UnmodifiableIterator<RECORD> iterator() {
+        return new UnmodifiableIterator<RECORD>() {
+            private int row = 0;
+
+            @Override
+            public boolean hasNext() {
+                return row < size;
+            }
+
+            @Override
+            public RECORD next() {
+                return recordAt(row++);
+            }
+        };
+    }
+
+    void add(CodeUnit caller, TargetInfo target, int lineNumber, byte accessType) {
+        int callerId = callers.idOf(caller);
+        int targetId = targets.idOf(target);
+        int slot = findSlot(callerId, targetId, lineNumber, accessType);
+        if (slots[slot] != 0) {
+            return;
+        }
+
+        ensureCapacity(size + 1);
+        callerIds[size] = callerId;
+        targetIds[size] = targetId;
+        lineNumbers[size] = lineNumber;
+        accessTypes[size] = accessType;
+        slots[slot] = ++size;
+        if (2 * size > slots.length) {
+            rehash();
+        }
+    }
+
+    private int findSlot(int callerId, int targetId, int lineNumber, byte accessType) {
+        int mask = slots.length - 1;
+        int slot = hash(callerId, targetId, lineNumber, accessType) & mask;
+        while (slots[slot] != 0 && !rowEquals(slots[slot] - 1, callerId, targetId, lineNumber, accessType)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean rowEquals(int row, int callerId, int targetId, int lineNumber, byte accessType) {
+        return callerIds[row] == callerId
+                && targetIds[row] == targetId
+                && lineNumbers[row] == lineNumber
+                && accessTypes[row] == accessType;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > callerIds.length) {
+            int newLength = 2 * callerIds.length;
+            callerIds = Arrays.copyOf(callerIds, newLength);
+            targetIds = Arrays.copyOf(targetIds, newLength);
+            lineNumbers = Arrays.copyOf(lineNumbers, newLength);
+            accessTypes = Arrays.copyOf(accessTypes, newLength);
+        }
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+        for (int row = 0; row < size; row++) {
+            slots[findSlot(callerIds[row], targetIds[row], lineNumbers[row], accessTypes[row])] = row + 1;
+        }
+    }
+
+    private static int hash(int callerId, int targetId, int lineNumber, byte accessType) {
+        int hash = callerId;
+        hash = 31 * hash + targetId;
+        hash = 31 * hash + lineNumber;
+        hash = 31 * hash + accessType;
+        // spread the higher bits, since the table index only takes the lower ones
+        return hash ^ (hash >>> 16);
+    }
+
+    static class ForCalls extends RawAccessColumns<RawAccessRecord> {
+        @Override
+        void add(RawAccessRecord record) {
+            add(record.caller, record.target, record.lineNumber, NO_ACCESS_TYPE);
+        }
+
+        @Override
+        RawAccessRecord recordAt(int row) {
+            return new RawAccessRecord(callerAt(row), targetAt(row), lineNumberAt(row));
+        }
+    }
+
+    static class ForFieldAccesses extends RawAccessColumns<RawAccessRecord.ForField> {
+        @Override
+        void add(RawAccessRecord.ForField record) {
+            add(record.caller, record.target, record.lineNumber, (byte) record.accessType.ordinal());
+        }
+
+        @Override
+        RawAccessRecord.ForField recordAt(int row) {
+            return new RawAccessRecord.ForField.Builder()
+                    .withCaller(callerAt(row))
+                    .withTarget(targetAt(row))
+                    .withLineNumber(lineNumberAt(row))
+                    .withAccessType(accessTypeAt(row))
+                    .build();
+        }
+    }
+
+    private static class Symbols<T> {
+        private final Map<T, Integer> ids = new HashMap<>();
+        private final List<T> symbols = new ArrayList<>();
+
+        int idOf(T symbol) {
+            Integer id = ids.get(symbol);
+            if (id == null) {
+                id = symbols.size();
+                ids.put(symbol, id);
+                symbols.add(symbol);
+            }
+            return id;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import com.tngtech.archunit.core.domain.properties.HasName;
 import com.tngtech.archunit.core.domain.properties.HasOwner;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.tngtech.archunit.core.domain.DomainObjectCreationContext.getMethodsWithName;
 import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
 import static com.tngtech.archunit.core.domain.properties.HasName.Predicates.nameMatching;
 import static java.util.Collections.singleton;
@@ -144,11 +145,17 @@ class RawAccessRecord {
         final JavaType owner;
         final String name;
         final String desc;
+        private final int hashCode;
 
         TargetInfo(String owner, String name, String desc) {
-            this.owner = JavaTypeImporter.createFromAsmObjectTypeName(owner);
+            this(JavaTypeImporter.createFromAsmObjectTypeName(owner), name, desc);
+        }
+
+        TargetInfo(JavaType owner, String name, String desc) {
+            this.owner = owner;
             this.name = name;
             this.desc = desc;
+            this.hashCode = Objects.hash(owner, name, desc);
         }
 
         <T extends HasName & HasDescriptor & HasOwner<JavaClass>> boolean matches(T member) {
@@ -175,7 +182,7 @@ class RawAccessRecord {
 
         @Override
         public int hashCode() {
-            return Objects.hash(owner, name, desc);
+            return hashCode;
         }
 
         @Override
@@ -183,7 +190,7 @@ class RawAccessRecord {
             if (this == obj) {
                 return true;
             }
-            if (obj == null || getClass() != obj.getClass()) {
+            if (obj == null || getClass() != obj.getClass() || hashCode != obj.hashCode()) {
                 return false;
             }
             final TargetInfo other = (TargetInfo) obj;
@@ -357,6 +364,10 @@ class RawAccessRecord {
             super(owner, name, desc);
         }
 
+        FieldTargetInfo(JavaType owner, String name, String desc) {
+            super(owner, name, desc);
+        }
+
         @Override
         protected boolean signatureExistsIn(JavaClass javaClass) {
             Optional<JavaField> field = javaClass.tryGetField(name);
@@ -369,6 +380,10 @@ class RawAccessRecord {
             super(owner, name, desc);
         }
 
+        ConstructorTargetInfo(JavaType owner, String name, String desc) {
+            super(owner, name, desc);
+        }
+
         @Override
         protected boolean signatureExistsIn(JavaClass javaClass) {
             for (JavaConstructor constructor : javaClass.getConstructors()) {
@@ -385,9 +400,13 @@ class RawAccessRecord {
             super(owner, name, desc);
         }
 
+        MethodTargetInfo(JavaType owner, String name, String desc) {
+            super(owner, name, desc);
+        }
+
         @Override
         protected boolean signatureExistsIn(JavaClass javaClass) {
-            for (JavaMethod method : javaClass.getMethods()) {
+            for (JavaMethod method : getMethodsWithName(javaClass, name)) {
                 if (hasMatchingSignatureTo(method)) {
                     return true;
                 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.tngtech.archunit.PublicAPI;
+import com.tngtech.archunit.core.domain.JavaClass;
+
+import static com.tngtech.archunit.PublicAPI.Usage.INHERITANCE;
+
+/**
+ * A {@link ClassResolver}, that can resolve many types at once, e.g. in parallel. ArchUnit resolves missing
+ * types level by level, i.e. first all types directly referenced by the imported classes, then all super types
+ * of those resolved classes, and so on (compare {@link com.tngtech.archunit.ArchConfiguration#getClassResolverMaxDepth()}).
+ * Every level is passed to {@link #tryResolveAll(Set)} as a whole.<br><br>
+ * NOTE: The {@link ClassUriImporter ClassUriImporter} supplied to a {@link BatchClassResolver} may be called
+ * concurrently.
+ */
+@PublicAPI(usage = INHERITANCE)
+public interface BatchClassResolver extends ClassResolver {
+    /**
+     * @param typeNames The names of all types to resolve
+     * @return All types, that could be resolved, by type name. Types that couldn't be resolved are simply missing
+     * from the result.
+     */
+    Map<String, JavaClass> tryResolveAll(Set<String> typeNames);
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Maps the name of every class on the classpath (i.e. <code>sun.boot.class.path</code>, if present, and
+ * <code>java.class.path</code>) to the first classpath entry containing its class file. The classpath is only
+ * scanned once per JVM (unless it changes), but an indexed class is only looked up, as long as its JAR file is
+ * unchanged, or its class file still exists, respectively. If an import cache directory is configured
+ * (compare {@link ArchConfiguration#getImportCacheDirectory()}), the class names of each JAR file are
+ * additionally stored there, so later runs don't need to enumerate unchanged JAR files again. Stored class names
+ * of JAR files, that don't exist anymore, are removed, whenever the classpath is indexed.
+ */
+class ClassPathIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(ClassPathIndex.class);
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String CACHE_SUBDIRECTORY = "classpath-index";
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static String indexedClassPath;
+    private static ClassPathIndex index;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> entryByTypeName = new HashMap<>();
+
+    private ClassPathIndex() {
+    }
+
+    static synchronized ClassPathIndex get() {
+        String classPath = System.getProperty("sun.boot.class.path", "") + File.pathSeparator
+                + System.getProperty("java.class.path", "");
+        Optional<String> cacheDirectory = ArchConfiguration.get().getImportCacheDirectory();
+        if (!classPath.equals(indexedClassPath)) {
+            index = create(classPath, cacheDirectory.isPresent()
+                    ? Optional.of(Paths.get(cacheDirectory.get()).resolve(CACHE_SUBDIRECTORY))
+                    : Optional.<Path>absent());
+            indexedClassPath = classPath;
+        }
+        return index;
+    }
+
+    static ClassPathIndex create(String classPath, Optional<Path> cacheDirectory) {
+        ClassPathIndex result = new ClassPathIndex();
+        for (String entry : Splitter.on(File.pathSeparator).omitEmptyStrings().split(classPath)) {
+            result.add(Paths.get(entry).toAbsolutePath(), cacheDirectory);
+        }
+        if (cacheDirectory.isPresent()) {
+            removeStoredClassNamesOfDeletedJars(cacheDirectory.get());
+        }
+        LOG.debug("Indexed {} classes in {} classpath entries", result.entryByTypeName.size(), result.entries.size());
+        return result;
+    }
+
+    /**
+     * @return The URI of the class file, unless the class isn't indexed, or its JAR file has changed, or its class file
+     * doesn't exist anymore, since the index was created. Thus a class, that has been moved, can still be looked up
+     * by other means.
+     */
+    Optional<URI> tryGetUriOf(String typeName) {
+        Integer entry = entryByTypeName.get(typeName);
+        if (entry == null) {
+            return Optional.absent();
+        }
+        String relativePath = typeName.replace('.', '/') + CLASS_FILE_SUFFIX;
+        return entries.get(entry).contains(relativePath)
+                ? Optional.of(URI.create(entries.get(entry).uri + relativePath))
+                : Optional.<URI>absent();
+    }
+
+    private void add(Path entry, Optional<Path> cacheDirectory) {
+        try {
+            if (Files.isDirectory(entry)) {
+                add(new DirectoryEntry(entry), classNamesInDirectory(entry));
+            } else if (Files.isRegularFile(entry)) {
+                JarFileEntry jar = new JarFileEntry(entry);
+                add(jar, classNamesInJar(jar, cacheDirectory));
+            }
+        } catch (IOException e) {
+            LOG.debug("Couldn't index classpath entry " + entry, e);
+        }
+    }
+
+    private void add(Entry classPathEntry, List<String> classNames) {
+        int entry = entries.size();
+        entries.add(classPathEntry);
+        for (String className : classNames) {
+            if (!entryByTypeName.containsKey(className)) {
+                entryByTypeName.put(className, entry);
+            }
+        }
+    }
+
+    private static List<String> classNamesInDirectory(final Path directory) throws IOException {
+        final List<String> result = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Optional<String> className = classNameOf(directory.relativize(file).toString().replace(File.separatorChar, '/'));
+                result.addAll(className.asSet());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return result;
+    }
+
+    // Stored class names start with a header of path, size and modification time of the JAR file, if the JAR
+    // has changed, the class names are read and stored again, replacing the outdated ones
+    private static List<String> classNamesInJar(JarFileEntry jar, Optional<Path> cacheDirectory) throws IOException {
+        if (!cacheDirectory.isPresent()) {
+            return readClassNamesInJar(jar.path);
+        }
+        Path cacheEntry = cacheDirectory.get().resolve(cacheKeyOf(jar.path));
+        List<String> header = jar.header();
+        if (Files.isRegularFile(cacheEntry)) {
+            List<String> stored = Files.readAllLines(cacheEntry, UTF_8);
+            if (stored.size() >= header.size() && stored.subList(0, header.size()).equals(header)) {
+                return stored.subList(header.size(), stored.size());
+            }
+        }
+        List<String> result = readClassNamesInJar(jar.path);
+        tryWrite(cacheEntry, Lists.newArrayList(Iterables.concat(header, result)));
+        return result;
+    }
+
+    private static List<String> readClassNamesInJar(Path jar) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                result.addAll(classNameOf(entry.getName()).asSet());
+            }
+        }
+        return result;
+    }
+
+    // Versioned class files of multi release JARs and other resources below META-INF don't define classes
+    // of the classpath
+    private static Optional<String> classNameOf(String relativePath) {
+        if (!relativePath.endsWith(CLASS_FILE_SUFFIX) || relativePath.startsWith("META-INF/")) {
+            return Optional.absent();
+        }
+        return Optional.of(relativePath.substring(0, relativePath.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.'));
+    }
+
+    // One entry per JAR file, so the class names of a changed JAR replace the outdated ones
+    private static String cacheKeyOf(Path jar) {
+        return Hashing.sha1().newHasher()
+                .putInt(FORMAT_VERSION)
+                .putString(jar.toString(), UTF_8)
+                .hash().toString();
+    }
+
+    // Entries of other formats or of other classpaths are removed as well, unless their first line is an existing file
+    private static void removeStoredClassNamesOfDeletedJars(Path cacheDirectory) {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> cacheEntries = Files.newDirectoryStream(cacheDirectory)) {
+            for (Path cacheEntry : cacheEntries) {
+                if (!cacheEntry.getFileName().toString().endsWith(TEMP_FILE_SUFFIX) && !storedJarExists(cacheEntry)) {
+                    Files.deleteIfExists(cacheEntry);
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Couldn't remove outdated classpath index entries of " + cacheDirectory, e);
+        }
+    }
+
+    private static boolean storedJarExists(Path cacheEntry) {
+        try (BufferedReader reader = Files.newBufferedReader(cacheEntry, UTF_8)) {
+            String jar = reader.readLine();
+            return jar != null && Paths.get(jar).isAbsolute() && Files.isRegularFile(Paths.get(jar));
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void tryWrite(Path cacheEntry, List<String> classNames) {
+        try {
+            Files.createDirectories(cacheEntry.getParent());
+            Path tempFile = Files.createTempFile(cacheEntry.getParent(), cacheEntry.getFileName().toString(), TEMP_FILE_SUFFIX);
+            Files.write(tempFile, classNames, UTF_8);
+            try {
+                Files.move(tempFile, cacheEntry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheEntry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOG.debug("Couldn't write classpath index entry " + cacheEntry, e);
+        }
+    }
+
+    // URIs are created like the URLs of the class loader, e.g. 'file:/some/dir/' instead of 'file:///some/dir/'
+    private abstract static class Entry {
+        final Path path;
+        final String uri;
+
+        Entry(Path path, String uri) {
+            this.path = path;
+            this.uri = uri;
+        }
+
+        abstract boolean contains(String relativePath);
+    }
+
+    private static class DirectoryEntry extends Entry {
+        DirectoryEntry(Path directory) {
+            super(directory, directory.toFile().toURI().toString());
+        }
+
+        @Override
+        boolean contains(String relativePath) {
+            return Files.isRegularFile(path.resolve(relativePath));
+        }
+    }
+
+    // A JAR file is assumed to be unchanged, as long as size and modification time are
+    private static class JarFileEntry extends Entry {
+        private final long size;
+        private final long lastModified;
+
+        JarFileEntry(Path jar) throws IOException {
+            super(jar, "jar:" + jar.toFile().toURI() + "!/");
+            size = Files.size(jar);
+            lastModified = Files.getLastModifiedTime(jar).toMillis();
+        }
+
+        List<String> header() {
+            return ImmutableList.of(path.toString(), String.valueOf(size), String.valueOf(lastModified));
+        }
+
+        @Override
+        boolean contains(String relativePath) {
+            try {
+                return Files.size(path) == size && Files.getLastModifiedTime(path).toMillis() == lastModified;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -84,6 +84,18 @@ public interface ClassResolver {
          */
         @PublicAPI(usage = ACCESS)
         Optional<JavaClass> tryImport(URI uri);
+
+        /**
+         * Creates a stub for the given type, that will only be imported from the given {@link URI}, once any
+         * of its details (e.g. super classes, interfaces, members or annotations) are requested. If the
+         * class file can't be imported at that time, the stub simply stays without further details.
+         *
+         * @param uri The {@link URI} to import the {@link JavaClass} from later on
+         * @param typeName The name of the type to create a stub for
+         * @return A {@link JavaClass} of the given type, that is imported lazily
+         */
+        @PublicAPI(usage = ACCESS)
+        JavaClass importLazily(URI uri, String typeName);
     }
 
     @Internal
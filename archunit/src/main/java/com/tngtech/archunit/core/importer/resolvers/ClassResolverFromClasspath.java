@@ -18,7 +18,19 @@ package com.tngtech.archunit.core.importer.resolvers;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import com.google.common.base.Throwables;
+import com.tngtech.archunit.ArchConfiguration;
 import com.tngtech.archunit.base.ArchUnitException;
 import com.tngtech.archunit.base.Optional;
 import com.tngtech.archunit.core.MayResolveTypesViaReflection;
@@ -28,11 +40,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A {@link ClassResolver}, that tries to locate missing dependencies on the classpath.
- * I.e. uses {@link Class#getResource(String)} to find the {@link URI} of the classfile for the missing
- * type, then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.
+ * I.e. looks up the {@link URI} of the classfile for the missing type within an index of all classes
+ * on the classpath, which is created once, falling back to {@link Class#getResource(String)} for types
+ * that are not indexed (e.g. classes provided by a custom {@link ClassLoader}),
+ * then uses the supplied {@link ClassResolver.ClassUriImporter} to import the type.
  */
 @MayResolveTypesViaReflection(reason = "This is a dedicated option to resolve further dependencies from the classpath")
-public final class ClassResolverFromClasspath implements ClassResolver {
+public final class ClassResolverFromClasspath implements BatchClassResolver {
     private ClassUriImporter classUriImporter;
 
     @Override
@@ -43,15 +57,75 @@ public final class ClassResolverFromClasspath implements ClassResolver {
 
     @Override
     public Optional<JavaClass> tryResolve(String typeName) {
-        String typeFile = "/" + typeName.replace(".", "/") + ".class";
-
-        Optional<URI> uri = tryGetUriOf(typeFile);
+        Optional<URI> uri = tryLocate(typeName);
 
         return uri.isPresent() ? classUriImporter.tryImport(uri.get()) : Optional.<JavaClass>absent();
     }
 
-    private Optional<URI> tryGetUriOf(String typeFile) {
-        URL resource = getClass().getResource(typeFile);
+    /**
+     * Imports the class files of all types, that can be located, in parallel, if parallel import is enabled
+     * (compare {@link ArchConfiguration#parallelImportEnabled()}).
+     */
+    @Override
+    public Map<String, JavaClass> tryResolveAll(Set<String> typeNames) {
+        Map<String, ImportOfClass> imports = new LinkedHashMap<>();
+        for (String typeName : typeNames) {
+            Optional<URI> uri = tryLocate(typeName);
+            if (uri.isPresent()) {
+                imports.put(typeName, new ImportOfClass(uri.get()));
+            }
+        }
+
+        Map<String, JavaClass> result = new HashMap<>();
+        for (Map.Entry<String, Optional<JavaClass>> resolved : runAll(imports).entrySet()) {
+            if (resolved.getValue().isPresent()) {
+                result.put(resolved.getKey(), resolved.getValue().get());
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Optional<JavaClass>> runAll(Map<String, ImportOfClass> imports) {
+        Map<String, Optional<JavaClass>> result = new HashMap<>();
+        if (!ArchConfiguration.get().parallelImportEnabled() || imports.size() < 2) {
+            for (Map.Entry<String, ImportOfClass> entry : imports.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().call());
+            }
+            return result;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            List<Future<Optional<JavaClass>>> futures = pool.invokeAll(imports.values());
+            Iterator<String> typeNames = imports.keySet().iterator();
+            for (Future<Optional<JavaClass>> future : futures) {
+                result.put(typeNames.next(), getResult(future));
+            }
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Optional<JavaClass> getResult(Future<Optional<JavaClass>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    static Optional<URI> tryLocate(String typeName) {
+        Optional<URI> uri = ClassPathIndex.get().tryGetUriOf(typeName);
+        return uri.isPresent() ? uri : tryGetUriOf("/" + typeName.replace(".", "/") + ".class");
+    }
+
+    private static Optional<URI> tryGetUriOf(String typeFile) {
+        URL resource = ClassResolverFromClasspath.class.getResource(typeFile);
         if (resource == null) {
             return Optional.absent();
         }
@@ -61,4 +135,17 @@ public final class ClassResolverFromClasspath implements ClassResolver {
             throw new ArchUnitException.LocationException(e);
         }
     }
+
+    private class ImportOfClass implements Callable<Optional<JavaClass>> {
+        private final URI uri;
+
+        private ImportOfClass(URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public Optional<JavaClass> call() {
+            return classUriImporter.tryImport(uri);
+        }
+    }
 }
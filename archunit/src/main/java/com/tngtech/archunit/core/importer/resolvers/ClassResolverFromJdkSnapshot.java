@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.MayResolveTypesViaReflection;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.JdkSnapshot;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ClassResolver}, that resolves platform classes (i.e. <code>java.*</code> and <code>javax.*</code>)
+ * from the {@link JdkSnapshot} of the running JDK, which is built once per JDK and memory mapped. Thus resolving
+ * platform classes doesn't need to read or parse any class file. All other types are resolved
+ * like {@link ClassResolverFromClasspath} does.<br><br>
+ * Only imports using this resolver replay platform classes from the snapshot. Snapshots are only supported
+ * up to Java 8, on newer JDKs platform classes are resolved from the classpath as well. If md5 sums of class
+ * sources are enabled, the class files of platform classes are still read to calculate them.
+ */
+@MayResolveTypesViaReflection(reason = "This is a dedicated option to resolve further dependencies from the classpath")
+public final class ClassResolverFromJdkSnapshot implements BatchClassResolver {
+    private final ClassResolverFromClasspath classResolverFromClasspath = new ClassResolverFromClasspath();
+    private ClassUriImporter classUriImporter;
+
+    @Override
+    public void setClassUriImporter(ClassUriImporter classUriImporter) {
+        this.classUriImporter = checkNotNull(classUriImporter,
+                "%s may not be null", ClassUriImporter.class.getSimpleName());
+        classResolverFromClasspath.setClassUriImporter(classUriImporter);
+    }
+
+    @Override
+    public Optional<JavaClass> tryResolve(String typeName) {
+        Optional<URI> uri = JdkSnapshot.get().tryGetUriOf(typeName);
+        return uri.isPresent() ? classUriImporter.tryImport(uri.get()) : classResolverFromClasspath.tryResolve(typeName);
+    }
+
+    @Override
+    public Map<String, JavaClass> tryResolveAll(Set<String> typeNames) {
+        Map<String, JavaClass> result = new HashMap<>();
+        Set<String> notInSnapshot = new HashSet<>();
+        for (String typeName : typeNames) {
+            Optional<URI> uri = JdkSnapshot.get().tryGetUriOf(typeName);
+            if (!uri.isPresent()) {
+                notInSnapshot.add(typeName);
+                continue;
+            }
+            Optional<JavaClass> javaClass = classUriImporter.tryImport(uri.get());
+            if (javaClass.isPresent()) {
+                result.put(typeName, javaClass.get());
+            }
+        }
+        result.putAll(classResolverFromClasspath.tryResolveAll(notInSnapshot));
+        return result;
+    }
+}
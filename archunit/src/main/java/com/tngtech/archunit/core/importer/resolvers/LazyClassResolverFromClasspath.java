@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.net.URI;
+
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.MayResolveTypesViaReflection;
+import com.tngtech.archunit.core.domain.JavaClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ClassResolver}, that locates missing dependencies on the classpath just like
+ * {@link ClassResolverFromClasspath}, but doesn't import them right away. Instead every located type is
+ * added as a stub, that is only imported, once its details (e.g. super classes, interfaces, members or annotations)
+ * are requested, e.g. by an {@link JavaClass#isAssignableTo(Class)} check against a library type.
+ * Types that can't be located are added as simple stubs, like without any {@link ClassResolver}.
+ *
+ * @see ClassUriImporter#importLazily(URI, String)
+ */
+@MayResolveTypesViaReflection(reason = "This is a dedicated option to resolve further dependencies from the classpath")
+public final class LazyClassResolverFromClasspath implements ClassResolver {
+    private ClassUriImporter classUriImporter;
+
+    @Override
+    public void setClassUriImporter(ClassUriImporter classUriImporter) {
+        this.classUriImporter = checkNotNull(classUriImporter,
+                "%s may not be null", ClassUriImporter.class.getSimpleName());
+    }
+
+    @Override
+    public Optional<JavaClass> tryResolve(String typeName) {
+        Optional<URI> uri = ClassResolverFromClasspath.tryLocate(typeName);
+
+        return uri.isPresent() ? Optional.of(classUriImporter.importLazily(uri.get(), typeName)) : Optional.<JavaClass>absent();
+    }
+}
@@ -15,7 +15,9 @@
  */
 package com.tngtech.archunit.core.importer.resolvers;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
@@ -32,7 +34,7 @@ import static com.tngtech.archunit.PublicAPI.Usage.ACCESS;
  *
  * @see ClassResolverFromClasspath
  */
-public final class SelectedClassResolverFromClasspath implements ClassResolver {
+public final class SelectedClassResolverFromClasspath implements BatchClassResolver {
     private final Set<String> packageRoots;
     private final ClassResolverFromClasspath classResolverFromClasspath = new ClassResolverFromClasspath();
 
@@ -50,11 +52,27 @@ public final class SelectedClassResolverFromClasspath implements ClassResolver {
     @Override
     @PublicAPI(usage = ACCESS)
     public Optional<JavaClass> tryResolve(String typeName) {
+        return isSelected(typeName) ? classResolverFromClasspath.tryResolve(typeName) : Optional.<JavaClass>absent();
+    }
+
+    @Override
+    @PublicAPI(usage = ACCESS)
+    public Map<String, JavaClass> tryResolveAll(Set<String> typeNames) {
+        Set<String> selected = new HashSet<>();
+        for (String typeName : typeNames) {
+            if (isSelected(typeName)) {
+                selected.add(typeName);
+            }
+        }
+        return classResolverFromClasspath.tryResolveAll(selected);
+    }
+
+    private boolean isSelected(String typeName) {
         for (String root : packageRoots) {
             if (typeName.startsWith(root)) {
-                return classResolverFromClasspath.tryResolve(typeName);
+                return true;
             }
         }
-        return Optional.absent();
+        return false;
     }
 }
@@ -198,6 +198,21 @@ public final class ArchConditions {
                 JavaAccess.Functions.Get.origin().then(Get.<JavaClass>owner()).is(predicate));
     }
 
+    /**
+     * @param predicate Determines which classes must not be reached via a chain of dependencies
+     * @return A condition matching classes that depend directly or indirectly on classes matching the predicate
+     * @see JavaClass#getTransitiveDependencies()
+     */
+    @PublicAPI(usage = ACCESS)
+    public static ArchCondition<JavaClass> transitivelyDependOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        return new TransitiveDependencyCondition(predicate);
+    }
+
+    @PublicAPI(usage = ACCESS)
+    public static ArchCondition<JavaClass> notTransitivelyDependOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        return not(transitivelyDependOnClassesThat(predicate));
+    }
+
     /**
      * @param packageIdentifier A String identifying a package according to {@link PackageMatcher}
      * @return A condition matching accesses to packages matching the identifier
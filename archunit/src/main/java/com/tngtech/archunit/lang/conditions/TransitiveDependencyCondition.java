@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 TNG Technology Consulting GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tngtech.archunit.lang.conditions;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+class TransitiveDependencyCondition extends ArchCondition<JavaClass> {
+    private final DescribedPredicate<? super JavaClass> predicate;
+
+    TransitiveDependencyCondition(DescribedPredicate<? super JavaClass> predicate) {
+        super("transitively depend on classes that " + predicate.getDescription());
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void check(JavaClass item, ConditionEvents events) {
+        boolean anyMatch = false;
+        for (JavaClass dependency : item.getTransitiveDependencies()) {
+            if (predicate.apply(dependency)) {
+                String message = String.format("Class %s transitively depends on %s", item.getName(), dependency.getName());
+                events.add(new SimpleConditionEvent<>(item, true, message));
+                anyMatch = true;
+            }
+        }
+        if (!anyMatch) {
+            String message = String.format("Class %s doesn't transitively depend on any class that %s",
+                    item.getName(), predicate.getDescription());
+            events.add(new SimpleConditionEvent<>(item, false, message));
+        }
+    }
+}
@@ -379,6 +379,11 @@ class ClassesShouldInternal extends ObjectsShouldInternal<JavaClass>
         return copyWithNewCondition(conditionAggregator.add(ArchConditions.accessClassesThat(predicate)));
     }
 
+    @Override
+    public ClassesShouldConjunction transitivelyDependOnClassesThat(DescribedPredicate<? super JavaClass> predicate) {
+        return copyWithNewCondition(conditionAggregator.add(ArchConditions.transitivelyDependOnClassesThat(predicate)));
+    }
+
     @Override
     public OnlyBeAccessedSpecification<ClassesShouldConjunction> onlyBeAccessed() {
         return new OnlyBeAccessedSpecificationInternal(this);
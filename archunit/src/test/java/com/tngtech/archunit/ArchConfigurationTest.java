@@ -48,13 +48,15 @@ public class ArchConfigurationTest {
     public void simple_properties_explicitly_set() {
         writeProperties(ImmutableMap.of(
                 ArchConfiguration.RESOLVE_MISSING_DEPENDENCIES_FROM_CLASS_PATH, true,
-                ArchConfiguration.ENABLE_MD5_IN_CLASS_SOURCES, true
+                ArchConfiguration.ENABLE_MD5_IN_CLASS_SOURCES, true,
+                ArchConfiguration.ENABLE_PARALLEL_IMPORT, true
         ));
 
         ArchConfiguration configuration = testConfiguration(PROPERTIES_RESOURCE_NAME);
 
         assertThat(configuration.resolveMissingDependenciesFromClassPath()).isTrue();
         assertThat(configuration.md5InClassSourcesEnabled()).isTrue();
+        assertThat(configuration.parallelImportEnabled()).isTrue();
         assertThat(configuration.getClassResolver()).isAbsent();
         assertThat(configuration.getClassResolverArguments()).isEmpty();
     }
@@ -72,6 +74,45 @@ public class ArchConfigurationTest {
         assertThat(configuration.getClassResolverArguments()).containsExactly("one.foo", "two.bar");
     }
 
+    @Test
+    public void resolver_limits_explicitly_set() {
+        writeProperties(ImmutableMap.of(
+                ArchConfiguration.CLASS_RESOLVER_MAX_DEPTH, 2,
+                ArchConfiguration.CLASS_RESOLVER_MAX_CLASSES, 100
+        ));
+
+        ArchConfiguration configuration = testConfiguration(PROPERTIES_RESOURCE_NAME);
+
+        assertThat(configuration.getClassResolverMaxDepth()).isEqualTo(2);
+        assertThat(configuration.getClassResolverMaxClasses()).isEqualTo(100);
+    }
+
+    @Test
+    public void import_cache_explicitly_set() {
+        writeProperties(ImmutableMap.of(
+                ArchConfiguration.IMPORT_CACHE_DIRECTORY, "/some/cache",
+                ArchConfiguration.IMPORT_CACHE_MAX_SIZE_IN_MEGABYTES, 42,
+                ArchConfiguration.IMPORT_CACHE_MAX_AGE_IN_DAYS, 7
+        ));
+
+        ArchConfiguration configuration = testConfiguration(PROPERTIES_RESOURCE_NAME);
+
+        assertThat(configuration.getImportCacheDirectory()).contains("/some/cache");
+        assertThat(configuration.getImportCacheMaxSizeInMegabytes()).isEqualTo(42);
+        assertThat(configuration.getImportCacheMaxAgeInDays()).isEqualTo(7);
+    }
+
+    @Test
+    public void class_location_precedence_explicitly_set() {
+        writeProperties(ImmutableMap.of(
+                ArchConfiguration.CLASS_LOCATION_PRECEDENCE, "target/classes, some-lib.jar"
+        ));
+
+        ArchConfiguration configuration = testConfiguration(PROPERTIES_RESOURCE_NAME);
+
+        assertThat(configuration.getClassLocationPrecedence()).containsExactly("target/classes", "some-lib.jar");
+    }
+
     @Test
     public void reset_works() {
         ArchConfiguration configuration = testConfiguration(PROPERTIES_RESOURCE_NAME);
@@ -106,6 +147,13 @@ public class ArchConfigurationTest {
     private void assertDefault(ArchConfiguration configuration) {
         assertThat(configuration.resolveMissingDependenciesFromClassPath()).isFalse();
         assertThat(configuration.md5InClassSourcesEnabled()).isFalse();
+        assertThat(configuration.parallelImportEnabled()).isFalse();
+        assertThat(configuration.getImportCacheDirectory()).isAbsent();
+        assertThat(configuration.getImportCacheMaxSizeInMegabytes()).isEqualTo(512);
+        assertThat(configuration.getImportCacheMaxAgeInDays()).isEqualTo(30);
+        assertThat(configuration.getClassLocationPrecedence()).isEmpty();
+        assertThat(configuration.getClassResolverMaxDepth()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(configuration.getClassResolverMaxClasses()).isEqualTo(Integer.MAX_VALUE);
     }
 
     private ArchConfiguration testConfiguration(String resourceName) {
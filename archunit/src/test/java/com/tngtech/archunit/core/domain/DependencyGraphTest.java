@@ -0,0 +1,186 @@
+package com.tngtech.archunit.core.domain;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.tngtech.archunit.base.DescribedPredicate.not;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.type;
+import static com.tngtech.archunit.core.domain.TestUtils.importClasses;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependencyGraphTest {
+    @Test
+    public void contains_each_dependency_between_imported_classes_once() {
+        JavaClasses classes = importClasses(Origin.class, Target.class, SubTarget.class, SomeInterface.class);
+        DependencyGraph graph = classes.getDependencyGraph();
+
+        int origin = graph.getId(classes.get(Origin.class));
+        int target = graph.getId(classes.get(Target.class));
+        int subTarget = graph.getId(classes.get(SubTarget.class));
+        int someInterface = graph.getId(classes.get(SomeInterface.class));
+
+        assertThat(graph.size()).isEqualTo(4);
+        assertThat(graph.getJavaClass(target)).isEqualTo(classes.get(Target.class));
+        assertThat(graph.getOutgoing(origin)).containsOnly(target);
+        assertThat(graph.getOutgoing(origin, 0)).isEqualTo(target);
+        assertThat(graph.getOutgoing(target)).containsOnly(someInterface);
+        assertThat(graph.getOutgoing(subTarget)).containsOnly(target);
+        assertThat(graph.getOutDegree(someInterface)).isZero();
+        assertThat(graph.getIncoming(target)).containsOnly(origin, subTarget);
+        assertThat(graph.getInDegree(target)).isEqualTo(2);
+        assertThat(graph.getIncoming(someInterface, 0)).isEqualTo(target);
+        assertThat(graph.getNumberOfDependencies()).isEqualTo(3);
+        assertThat(graph.dependsOn(origin, target)).as("Origin depends on Target").isTrue();
+        assertThat(graph.dependsOn(target, origin)).as("Target depends on Origin").isFalse();
+    }
+
+    @Test
+    public void ignores_classes_outside_of_the_graph() {
+        JavaClasses classes = importClasses(Origin.class, Target.class, SomeInterface.class);
+        DependencyGraph graph = classes.that(not(type(Target.class))).getDependencyGraph();
+
+        assertThat(graph.size()).isEqualTo(2);
+        assertThat(graph.tryGetId(classes.get(Target.class)).isPresent()).as("Target is part of graph").isFalse();
+        assertThat(graph.getOutDegree(graph.getId(classes.get(Origin.class)))).isZero();
+        assertThat(graph.getInDegree(graph.getId(classes.get(SomeInterface.class)))).isZero();
+    }
+
+    @Test
+    public void is_created_once() {
+        JavaClasses classes = importClasses(Origin.class, Target.class);
+
+        assertThat(classes.getDependencyGraph()).isSameAs(classes.getDependencyGraph());
+    }
+
+    @Test
+    public void finds_transitive_dependencies_and_dependents() {
+        JavaClasses classes = importClasses(Origin.class, Target.class, SubTarget.class, SomeInterface.class);
+        DependencyGraph graph = classes.getDependencyGraph();
+        int origin = graph.getId(classes.get(Origin.class));
+        int target = graph.getId(classes.get(Target.class));
+        int someInterface = graph.getId(classes.get(SomeInterface.class));
+
+        assertThat(idsIn(graph.getTransitiveDependencies(origin))).containsOnly(target, someInterface);
+        assertThat(idsIn(graph.getTransitiveDependents(someInterface)))
+                .containsOnly(origin, target, graph.getId(classes.get(SubTarget.class)));
+        assertThat(graph.dependsTransitivelyOn(origin, someInterface)).as("Origin depends transitively on SomeInterface").isTrue();
+        assertThat(graph.dependsTransitivelyOn(someInterface, origin)).as("SomeInterface depends transitively on Origin").isFalse();
+
+        assertThat(classes.get(Origin.class).getTransitiveDependencies())
+                .containsOnly(classes.get(Target.class), classes.get(SomeInterface.class), objectOf(classes));
+        assertThat(classes.get(Target.class).getTransitiveDependents())
+                .containsOnly(classes.get(Origin.class), classes.get(SubTarget.class));
+    }
+
+    @Test
+    public void classes_within_a_cycle_depend_transitively_on_each_other() {
+        JavaClasses classes = importClasses(CycleStart.class, CycleEnd.class, Target.class, SomeInterface.class);
+        JavaClass cycleStart = classes.get(CycleStart.class);
+        JavaClass cycleEnd = classes.get(CycleEnd.class);
+        DependencyGraph graph = classes.getDependencyGraph();
+
+        assertThat(cycleStart.getTransitiveDependencies())
+                .containsOnly(cycleStart, cycleEnd, classes.get(Target.class), classes.get(SomeInterface.class), objectOf(classes));
+        assertThat(classes.get(SomeInterface.class).getTransitiveDependents())
+                .containsOnly(cycleStart, cycleEnd, classes.get(Target.class));
+        assertThat(graph.areInSameCycle(graph.getId(cycleStart), graph.getId(cycleEnd))).as("classes are in same cycle").isTrue();
+        assertThat(graph.areInSameCycle(graph.getId(cycleStart), graph.getId(classes.get(Target.class))))
+                .as("classes are in same cycle").isFalse();
+    }
+
+    @Test
+    public void selects_classes_by_reachability() {
+        JavaClasses classes = importClasses(Origin.class, Target.class, SubTarget.class, SomeInterface.class);
+
+        JavaClasses dependencies = classes.thatAreTransitiveDependenciesOfClassesThat(type(SubTarget.class));
+        assertThat(dependencies).containsOnly(classes.get(Target.class), classes.get(SomeInterface.class));
+        assertThat(dependencies.getDescription()).startsWith("classes that are transitive dependencies of classes that");
+
+        JavaClasses dependents = classes.thatTransitivelyDependOnClassesThat(type(Target.class));
+        assertThat(dependents).containsOnly(classes.get(Origin.class), classes.get(SubTarget.class));
+        assertThat(dependents.getDescription()).startsWith("classes that transitively depend on classes that");
+    }
+
+    @Test
+    public void transitive_dependencies_contain_classes_outside_of_the_import() {
+        JavaClasses classes = importClasses(Origin.class, Target.class);
+        JavaClass origin = classes.get(Origin.class);
+        JavaClass someInterface = getOnlyElement(classes.get(Target.class).getInterfaces());
+
+        assertThat(classes.contain(SomeInterface.class)).as("SomeInterface is imported").isFalse();
+        assertThat(origin.getTransitiveDependencies()).containsOnly(classes.get(Target.class), someInterface, objectOf(classes));
+        assertThat(classes.get(Target.class).getTransitiveDependents()).containsOnly(origin);
+    }
+
+    @Test
+    public void follows_direct_dependencies_of_classes_that_were_not_imported() {
+        JavaClass target = importClasses(Origin.class).get(Origin.class).getField("target").getType();
+
+        assertThat(target.getTransitiveDependencies()).contains(getOnlyElement(target.getInterfaces()));
+    }
+
+    @Test
+    public void classes_that_were_not_imported_have_no_transitive_dependents() {
+        JavaClass javaClass = importClasses(Origin.class, Target.class).get(Target.class).getInterfaces().iterator().next();
+
+        assertThat(javaClass.getTransitiveDependents()).isEmpty();
+    }
+
+    private static JavaClass objectOf(JavaClasses classes) {
+        return classes.get(Target.class).getSuperClass().get();
+    }
+
+    private static List<Integer> idsIn(BitSet bitSet) {
+        List<Integer> result = new ArrayList<>();
+        for (int id = bitSet.nextSetBit(0); id >= 0; id = bitSet.nextSetBit(id + 1)) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unused")
+    static class Origin {
+        Target target;
+
+        void call() {
+            target.field = target.method();
+            call();
+        }
+    }
+
+    interface SomeInterface {
+    }
+
+    static class Target implements SomeInterface {
+        String field;
+
+        String method() {
+            return field;
+        }
+    }
+
+    static class SubTarget extends Target {
+    }
+
+    static class CycleStart {
+        CycleEnd end;
+
+        void call() {
+            end.call();
+        }
+    }
+
+    static class CycleEnd {
+        CycleStart start;
+        Target target;
+
+        void call() {
+            start.call();
+            target.method();
+        }
+    }
+}
@@ -11,12 +11,14 @@ import java.util.Set;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.base.Optional;
 import org.assertj.core.api.AbstractBooleanAssert;
 import org.assertj.core.api.Condition;
 import org.assertj.core.api.iterable.Extractor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.INTERFACES;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableFrom;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.assignableTo;
@@ -29,12 +31,15 @@ import static com.tngtech.archunit.core.domain.JavaConstructor.CONSTRUCTOR_NAME;
 import static com.tngtech.archunit.core.domain.TestUtils.importClasses;
 import static com.tngtech.archunit.core.domain.TestUtils.javaClassViaReflection;
 import static com.tngtech.archunit.core.domain.TestUtils.javaClassesViaReflection;
+import static com.tngtech.archunit.core.domain.TestUtils.lazyJavaClassWithoutDetails;
 import static com.tngtech.archunit.core.domain.TestUtils.simulateCall;
 import static com.tngtech.archunit.testutil.Conditions.codeUnitWithSignature;
 import static com.tngtech.archunit.testutil.Conditions.containing;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JavaClassTest {
@@ -125,6 +130,30 @@ public class JavaClassTest {
                         Object.class.getName());
     }
 
+    @Test
+    public void hierarchy_views_are_only_computed_once() {
+        JavaClasses classes = importClasses(
+                ChildWithFieldAndMethod.class,
+                ParentWithFieldAndMethod.class,
+                InterfaceWithFieldAndMethod.class);
+        JavaClass child = classes.get(ChildWithFieldAndMethod.class);
+        JavaClass parent = classes.get(ParentWithFieldAndMethod.class);
+
+        assertThat(child.getClassHierarchy()).isSameAs(child.getClassHierarchy());
+        assertThat(child.getAllInterfaces()).isSameAs(child.getAllInterfaces());
+        assertThat(child.getAllClassesSelfIsAssignableTo()).isSameAs(child.getAllClassesSelfIsAssignableTo());
+        assertThat(parent.getAllSubClasses()).containsOnly(child).isSameAs(parent.getAllSubClasses());
+
+        assertThat(child.isAssignableTo(InterfaceWithFieldAndMethod.class.getName()))
+                .as("child is assignable to interface").isTrue();
+        assertThat(child.isAssignableTo(Serializable.class.getName()))
+                .as("child is assignable to Serializable").isFalse();
+        assertThat(classes.get(InterfaceWithFieldAndMethod.class).isAssignableFrom(child.getName()))
+                .as("interface is assignable from child").isTrue();
+        assertThat(child.isAssignableFrom(parent.getName()))
+                .as("child is assignable from parent").isFalse();
+    }
+
     @Test
     public void isAnnotatedWith_type() {
         assertThat(javaClassViaReflection(Parent.class).isAnnotatedWith(SomeAnnotation.class))
@@ -164,6 +193,19 @@ public class JavaClassTest {
                 .containsOnly(javaClass, javaClass.getSuperClass().get());
     }
 
+    @Test
+    public void access_and_dependency_views_are_only_computed_once() {
+        JavaClass clazz = importClasses(ChildWithFieldAndMethod.class, ParentWithFieldAndMethod.class)
+                .get(ChildWithFieldAndMethod.class);
+
+        assertThat(clazz.getAccessesFromSelf()).isNotEmpty().isSameAs(clazz.getAccessesFromSelf());
+        assertThat(clazz.getFieldAccessesFromSelf()).isSameAs(clazz.getFieldAccessesFromSelf());
+        assertThat(clazz.getMethodCallsFromSelf()).isSameAs(clazz.getMethodCallsFromSelf());
+        assertThat(clazz.getConstructorCallsFromSelf()).isSameAs(clazz.getConstructorCallsFromSelf());
+        assertThat(clazz.getAccessesToSelf()).isSameAs(clazz.getAccessesToSelf());
+        assertThat(clazz.getDirectDependencies()).isNotEmpty().isSameAs(clazz.getDirectDependencies());
+    }
+
     @Test
     public void JavaClass_is_equivalent_to_reflect_type() {
         JavaClass list = javaClassViaReflection(List.class);
@@ -172,6 +214,28 @@ public class JavaClassTest {
         assertThat(list.isEquivalentTo(Collection.class)).as("JavaClass is Collection.class").isFalse();
     }
 
+    @Test
+    public void lazily_imported_class_stays_a_simple_class_if_its_import_fails() {
+        ImportContext context = mock(ImportContext.class);
+        when(context.createSuperClass(any(JavaClass.class))).thenReturn(Optional.<JavaClass>absent());
+        when(context.createInterfaces(any(JavaClass.class))).thenThrow(new IllegalStateException("broken"));
+        JavaClass javaClass = lazyJavaClassWithoutDetails("com.foo.Broken", context);
+
+        try {
+            javaClass.getFields();
+            Assert.fail("Expected failure of lazy import");
+        } catch (IllegalStateException e) {
+            assertThat(e).hasMessage("broken");
+        }
+
+        assertThat(javaClass.getFields()).isEmpty();
+        assertThat(javaClass.getMethods()).isEmpty();
+        assertThat(javaClass.getAllMembers()).isEmpty();
+        assertThat(javaClass.getStaticInitializer().isPresent()).as("static initializer present").isFalse();
+        assertThat(javaClass.getAnnotations()).isEmpty();
+        verify(context).createInterfaces(javaClass);
+    }
+
     @Test
     public void getMembers_and_getAllMembers() {
         JavaClass clazz = importClasses(
@@ -226,6 +290,27 @@ public class JavaClassTest {
                 .is(equivalentCodeUnit(ChildWithFieldAndMethod.class, CONSTRUCTOR_NAME, Object.class));
     }
 
+    @Test
+    public void finds_overloaded_methods_and_members_of_the_hierarchy_by_name() {
+        JavaClass clazz = importClasses(ClassWithOverloadedMethods.class, ParentWithFieldAndMethod.class, InterfaceWithFieldAndMethod.class)
+                .get(ClassWithOverloadedMethods.class);
+
+        assertThat(clazz.getMethod("overloaded").getParameters()).isEmpty();
+        assertThat(clazz.getMethod("overloaded", String.class).getParameters().getNames())
+                .containsExactly(String.class.getName());
+        assertThat(clazz.getMethod("overloaded", int.class, Object[].class).getParameters().getNames())
+                .containsExactly(int.class.getName(), Object[].class.getName());
+        assertThat(clazz.tryGetMethod("overloaded", Object.class).isPresent()).isFalse();
+        assertThat(clazz.tryGetField("overloaded").isPresent()).isFalse();
+        assertThat(clazz.tryGetField("parentField").isPresent()).isFalse();
+
+        assertThat(clazz.getAllMethodsWithName("overloaded")).hasSize(3);
+        assertThat(clazz.getAllMethodsWithName("parentMethod")).hasSize(2);
+        assertThat(getOnlyElement(clazz.getAllFieldsWithName("parentField")).getOwner().isEquivalentTo(ParentWithFieldAndMethod.class)).isTrue();
+        assertThat(getOnlyElement(clazz.getAllFieldsWithName("interfaceField")).getOwner().isEquivalentTo(InterfaceWithFieldAndMethod.class)).isTrue();
+        assertThat(clazz.getAllMethodsWithName("wrong")).isEmpty();
+    }
+
     private Condition<JavaCodeUnit> equivalentCodeUnit(final Class<?> owner, final String methodName, final Class<?> paramType) {
         return new Condition<JavaCodeUnit>() {
             @Override
@@ -537,6 +622,21 @@ public class JavaClassTest {
         }
     }
 
+    private static class ClassWithOverloadedMethods extends ParentWithFieldAndMethod {
+        ClassWithOverloadedMethods() {
+            super(null);
+        }
+
+        void overloaded() {
+        }
+
+        void overloaded(String string) {
+        }
+
+        void overloaded(int number, Object[] objects) {
+        }
+    }
+
     static class ClassWithInnerClass {
         class Inner {
         }
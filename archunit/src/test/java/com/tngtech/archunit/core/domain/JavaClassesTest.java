@@ -1,11 +1,21 @@
 package com.tngtech.archunit.core.domain;
 
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.tngtech.archunit.base.DescribedPredicate;
 import org.junit.Test;
 
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAnyPackage;
 import static com.tngtech.archunit.core.domain.TestUtils.javaClassViaReflection;
+import static com.tngtech.archunit.core.domain.TestUtils.javaClassWithName;
+import static com.tngtech.archunit.core.domain.TestUtils.javaClassesViaReflection;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class JavaClassesTest {
@@ -62,6 +72,65 @@ public class JavaClassesTest {
         assertThat(ImmutableSet.copyOf(classes)).isEqualTo(iterable);
     }
 
+    @Test
+    public void classes_are_sorted_by_package_and_selected_by_package() {
+        JavaClasses classes = javaClassesViaReflection(
+                ConcurrentMap.class, String.class, List.class, ArrayList.class, Annotation.class);
+
+        assertThat(classes).extracting("name").containsExactly(
+                String.class.getName(), Annotation.class.getName(),
+                ArrayList.class.getName(), List.class.getName(), ConcurrentMap.class.getName());
+
+        assertThat(classes.that(resideInAPackage("java.util")))
+                .extracting("name").containsExactly(ArrayList.class.getName(), List.class.getName());
+        assertThat(classes.that(resideInAPackage("java.util..")))
+                .extracting("name").containsExactly(ArrayList.class.getName(), List.class.getName(), ConcurrentMap.class.getName());
+        assertThat(classes.that(resideInAnyPackage("java.lang", "java.util.concurrent..")))
+                .extracting("name").containsExactly(String.class.getName(), ConcurrentMap.class.getName());
+        assertThat(classes.that(resideInAPackage("..util..")))
+                .extracting("name").containsExactly(ArrayList.class.getName(), List.class.getName(), ConcurrentMap.class.getName());
+        assertThat(classes.that(resideInAPackage("java.utilx..")))
+                .isEmpty();
+    }
+
+    @Test
+    public void selection_by_package_matches_the_package_predicate() {
+        List<JavaClass> all = new ArrayList<>();
+        for (String name : ImmutableList.of("com.foo.A", "com.foo.bar.B", "com.foo.b$r.C", "com.foo.b\u00e4r.D",
+                "com.foo.bar.b\u00e4z.E", "com.foo.bar.baz.F", "com.foobar.G", "com.f\u00f6\u00f6.H", "com.f\u00f6\u00f6.bar.I")) {
+            all.add(javaClassWithName(name));
+        }
+        JavaClasses classes = JavaClasses.of(all);
+
+        for (String identifier : ImmutableList.of("com", "com..", "com.foo", "com.foo..", "com.foo.bar..",
+                "com.foo.b\u00e4r", "com.foo.b\u00e4r..", "com.f\u00f6\u00f6..", "com.foobar..")) {
+            DescribedPredicate<JavaClass> predicate = resideInAPackage(identifier);
+            List<JavaClass> expected = new ArrayList<>();
+            for (JavaClass javaClass : all) {
+                if (predicate.apply(javaClass)) {
+                    expected.add(javaClass);
+                }
+            }
+
+            assertThat(classes.that(predicate)).as("classes residing in '%s'", identifier)
+                    .containsOnlyElementsOf(expected)
+                    .hasSameSizeAs(expected);
+        }
+    }
+
+    @Test
+    public void filtered_classes_only_contain_the_selected_classes() {
+        JavaClasses classes = javaClassesViaReflection(String.class, List.class, ArrayList.class);
+
+        JavaClasses filtered = classes.that(resideInAPackage("java..")).that(resideInAPackage("java.util"));
+
+        assertThat(filtered.size()).isEqualTo(2);
+        assertThat(filtered.contain(List.class)).as("filtered classes contain List").isTrue();
+        assertThat(filtered.contain(String.class)).as("filtered classes contain String").isFalse();
+        assertThat(filtered.get(ArrayList.class)).isEqualTo(classes.get(ArrayList.class));
+        assertThat(classes.size()).isEqualTo(3);
+    }
+
     private DescribedPredicate<JavaClass> haveTheNameOf(final Class<?> clazz) {
         return new DescribedPredicate<JavaClass>("have the name " + clazz.getSimpleName()) {
             @Override
@@ -0,0 +1,40 @@
+package com.tngtech.archunit.core.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReachabilityTest {
+    @Test
+    public void handles_long_chains_of_dependencies() {
+        int length = 10000;
+        int[] offsets = new int[length + 1];
+        int[] targets = new int[length - 1];
+        for (int node = 0; node < length - 1; node++) {
+            targets[node] = node + 1;
+            offsets[node + 1] = node + 1;
+        }
+        offsets[length] = length - 1;
+
+        Reachability reachability = new Reachability(offsets, targets);
+
+        assertThat(reachability.getReachableFrom(0).cardinality()).isEqualTo(length - 1);
+        assertThat(reachability.getReachableFrom(0).get(0)).as("first node reaches itself").isFalse();
+        assertThat(reachability.getReachableFrom(length - 2).cardinality()).isEqualTo(1);
+        assertThat(reachability.getReachableFrom(length - 1).isEmpty()).as("last node reaches nothing").isTrue();
+    }
+
+    @Test
+    public void nodes_of_a_cycle_reach_each_other() {
+        // 0 -> 1 -> 2 -> 0, 2 -> 3
+        int[] offsets = {0, 1, 2, 4, 4};
+        int[] targets = {1, 2, 0, 3};
+
+        Reachability reachability = new Reachability(offsets, targets);
+
+        assertThat(reachability.getComponent(0)).isEqualTo(reachability.getComponent(2));
+        assertThat(reachability.getComponent(3)).isNotEqualTo(reachability.getComponent(0));
+        assertThat(reachability.getReachableFrom(1).toString()).isEqualTo("{0, 1, 2, 3}");
+        assertThat(reachability.getReachableFrom(3).isEmpty()).as("node 3 reaches nothing").isTrue();
+    }
+}
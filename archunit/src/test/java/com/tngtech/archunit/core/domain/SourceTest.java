@@ -67,6 +67,15 @@ public class SourceTest {
         assertThat(source.getMd5sum().asBytes()).isEqualTo(expectedMd5BytesAt(url));
     }
 
+    @Test
+    @UseDataProvider("classes")
+    public void calculates_md5_from_bytes_already_read(URL url) throws Exception {
+        Source source = new Source(url.toURI(), bytesAt(url));
+
+        assertThat(source.getMd5sum().asBytes()).isEqualTo(expectedMd5BytesAt(url));
+        assertThat(source).isEqualTo(new Source(url.toURI()));
+    }
+
     @Test
     @UseDataProvider("classes")
     public void equals_hashcode_and_toString(URL url) throws Exception {
@@ -2,6 +2,7 @@ package com.tngtech.archunit.core.domain;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -12,6 +13,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
@@ -108,6 +111,14 @@ public class TestUtils {
         return Md5sum.of(bytes);
     }
 
+    public static JavaClass javaClassWithName(String typeName) {
+        return ImportTestUtils.javaClassWithName(typeName);
+    }
+
+    public static JavaClass lazyJavaClassWithoutDetails(String typeName, ImportContext context) {
+        return ImportTestUtils.lazyJavaClassWithoutDetails(typeName, context);
+    }
+
     public static JavaClass javaClassViaReflection(Class<?> owner) {
         return getOnlyElement(javaClassesViaReflection(owner));
     }
@@ -233,6 +244,84 @@ public class TestUtils {
         return Dependency.from(access);
     }
 
+    /**
+     * @return A description of all declarations and accesses of the classes, thus two imports yield
+     * equivalent classes, if their fingerprints are equal
+     */
+    public static SortedSet<String> fingerprintOf(JavaClasses classes) {
+        SortedSet<String> result = declarationFingerprintOf(classes);
+        for (JavaClass javaClass : classes) {
+            for (JavaAccess<?> access : javaClass.getAccessesFromSelf()) {
+                result.add(access.toString());
+            }
+            for (JavaAccess<?> access : javaClass.getAccessesToSelf()) {
+                result.add("to " + javaClass.getName() + ": " + access);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #fingerprintOf(JavaClasses)}, but without accesses
+     */
+    public static SortedSet<String> declarationFingerprintOf(JavaClasses classes) {
+        SortedSet<String> result = new TreeSet<>();
+        for (JavaClass javaClass : classes) {
+            result.add(javaClass.getName() + " extends " + nameOf(javaClass.getSuperClass())
+                    + " implements " + interfaceNamesOf(javaClass)
+                    + " enclosed by " + nameOf(javaClass.getEnclosingClass())
+                    + " with " + javaClass.getModifiers() + " from " + javaClass.getSource().get()
+                    + " annotated with " + descriptionsOf(javaClass.getAnnotations()));
+            for (JavaMember member : javaClass.getMembers()) {
+                result.add(member.getFullName() + " with " + member.getModifiers()
+                        + " annotated with " + descriptionsOf(member.getAnnotations()));
+            }
+        }
+        return result;
+    }
+
+    private static SortedSet<String> interfaceNamesOf(JavaClass javaClass) {
+        SortedSet<String> result = new TreeSet<>();
+        for (JavaClass anInterface : javaClass.getAllInterfaces()) {
+            result.add(anInterface.getName());
+        }
+        return result;
+    }
+
+    private static String nameOf(Optional<JavaClass> javaClass) {
+        return javaClass.isPresent() ? javaClass.get().getName() : "";
+    }
+
+    private static SortedSet<String> descriptionsOf(Set<JavaAnnotation> annotations) {
+        SortedSet<String> result = new TreeSet<>();
+        for (JavaAnnotation annotation : annotations) {
+            result.add(describe(annotation));
+        }
+        return result;
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof JavaClass) {
+            return ((JavaClass) value).getName();
+        }
+        if (value instanceof JavaAnnotation) {
+            JavaAnnotation annotation = (JavaAnnotation) value;
+            SortedSet<String> properties = new TreeSet<>();
+            for (Map.Entry<String, Object> property : annotation.getProperties().entrySet()) {
+                properties.add(property.getKey() + "=" + describe(property.getValue()));
+            }
+            return "@" + annotation.getType().getName() + properties;
+        }
+        if (value.getClass().isArray()) {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                elements.add(describe(Array.get(value, i)));
+            }
+            return value.getClass().getComponentType().getSimpleName() + elements;
+        }
+        return String.valueOf(value);
+    }
+
     public static class AccessesSimulator {
         private final Set<MethodCallTarget> targets = new HashSet<>();
 
@@ -350,4 +439,4 @@ public class TestUtils {
                             formatMethod(targetOwner.getName(), methodName, paramNames));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import static com.tngtech.java.junit.dataprovider.DataProviders.$;
+import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class ClassFileBytesTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @DataProvider
+    public static Object[][] file_sizes() {
+        return $$(
+                $(0),
+                $(1000),
+                $((int) ClassFileBytes.MAPPING_THRESHOLD + 1));
+    }
+
+    @Test
+    @UseDataProvider("file_sizes")
+    public void reads_complete_files(int size) throws IOException {
+        byte[] content = randomBytes(size);
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content);
+
+        assertThat(ClassFileBytes.read(file.toPath())).isEqualTo(content);
+    }
+
+    @DataProvider
+    public static Object[][] expected_sizes() {
+        return $$(
+                $(-1L),
+                $(1000L),
+                $(500L),
+                $(2000L));
+    }
+
+    @Test
+    @UseDataProvider("expected_sizes")
+    public void reads_complete_streams_regardless_of_expected_size(long expectedSize) throws IOException {
+        byte[] content = randomBytes(1000);
+
+        byte[] read = ClassFileBytes.read(new ByteArrayInputStream(content), expectedSize);
+
+        assertThat(read).isEqualTo(content);
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] result = new byte[size];
+        new Random(size).nextBytes(result);
+        return result;
+    }
+}
@@ -9,8 +9,15 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,11 +27,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.jar.JarFile;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.tngtech.archunit.ArchConfiguration;
@@ -55,6 +65,8 @@ import com.tngtech.archunit.core.domain.properties.HasName;
 import com.tngtech.archunit.core.domain.properties.HasOwner;
 import com.tngtech.archunit.core.importer.DomainBuilders.FieldAccessTargetBuilder;
 import com.tngtech.archunit.core.importer.DomainBuilders.MethodCallTargetBuilder;
+import com.tngtech.archunit.core.importer.resolvers.ClassResolverFromJdkSnapshot;
+import com.tngtech.archunit.core.importer.resolvers.LazyClassResolverFromClasspath;
 import com.tngtech.archunit.core.importer.testexamples.SomeAnnotation;
 import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.ClassAnnotationWithArrays;
 import com.tngtech.archunit.core.importer.testexamples.annotatedclassimport.ClassWithAnnotationWithEmptyArrays;
@@ -150,6 +162,7 @@ import org.assertj.core.api.Condition;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -175,6 +188,8 @@ import static com.tngtech.archunit.core.domain.SourceTest.bytesAt;
 import static com.tngtech.archunit.core.domain.SourceTest.urlOf;
 import static com.tngtech.archunit.core.domain.TestUtils.MD5_SUM_DISABLED;
 import static com.tngtech.archunit.core.domain.TestUtils.asClasses;
+import static com.tngtech.archunit.core.domain.TestUtils.declarationFingerprintOf;
+import static com.tngtech.archunit.core.domain.TestUtils.fingerprintOf;
 import static com.tngtech.archunit.core.domain.TestUtils.md5sumOf;
 import static com.tngtech.archunit.core.domain.TestUtils.resolvedTargetFrom;
 import static com.tngtech.archunit.core.domain.TestUtils.targetFrom;
@@ -190,11 +205,14 @@ import static com.tngtech.archunit.testutil.Assertions.assertThatClasses;
 import static com.tngtech.archunit.testutil.ReflectionTestUtils.constructor;
 import static com.tngtech.archunit.testutil.ReflectionTestUtils.field;
 import static com.tngtech.archunit.testutil.ReflectionTestUtils.method;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.junit.Assume.assumeTrue;
 
 public class ClassFileImporterTest {
     @Rule
     public final OutsideOfClassPathRule outsideOfClassPath = new OutsideOfClassPathRule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @After
     public void tearDown() {
@@ -1240,6 +1258,26 @@ public class ClassFileImporterTest {
         assertThat(reflect(target)).isEqualTo(Object.class.getConstructor());
     }
 
+    @Test
+    public void shares_one_target_between_all_accesses_to_the_same_member() throws Exception {
+        ImportedClasses classes = classesIn("testexamples/callimport");
+        List<ConstructorCallTarget> objectInitTargets = new ArrayList<>();
+        for (JavaClass javaClass : classes) {
+            for (JavaConstructorCall call : javaClass.getConstructorCallsFromSelf()) {
+                if (call.getTarget().getFullName().equals(Object.class.getName() + ".<init>()")) {
+                    objectInitTargets.add(call.getTarget());
+                }
+            }
+        }
+
+        assertThat(objectInitTargets.size()).as("calls to Object.<init>()").isGreaterThan(1);
+        ConstructorCallTarget target = objectInitTargets.get(0);
+        for (ConstructorCallTarget other : objectInitTargets) {
+            assertThat(other).isSameAs(target);
+        }
+        assertThat(target.resolveConstructor().get()).isSameAs(target.resolveConstructor().get());
+    }
+
     @Test
     public void imports_constructor_calls_to_sub_type_constructor_on_external_class() throws Exception {
         JavaClass classWithExternalConstructorCall = classesIn("testexamples/callimport").get(ExternalSubTypeConstructorCall.class);
@@ -1625,6 +1663,89 @@ public class ClassFileImporterTest {
         assertThat(clazz.getSuperClass().get().getMethods()).isEmpty();
     }
 
+    @Test
+    public void resolves_missing_dependencies_from_classpath_only_up_to_the_configured_depth() {
+        ArchConfiguration.get().unsetClassResolver();
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(true);
+        ArchConfiguration.get().setClassResolverMaxDepth(1);
+
+        JavaClass abstractList = new ClassFileImporter().importClass(ArrayList.class).getSuperClass().get();
+        JavaClass abstractCollection = abstractList.getSuperClass().get();
+
+        assertThat(abstractList.getMethods()).isNotEmpty();
+        assertThat(abstractCollection.getName()).isEqualTo(AbstractCollection.class.getName());
+        assertThat(abstractCollection.getMethods()).isEmpty();
+    }
+
+    @Test
+    public void resolves_missing_dependencies_from_classpath_only_up_to_the_configured_number_of_classes() {
+        ArchConfiguration.get().unsetClassResolver();
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(true);
+        ArchConfiguration.get().setClassResolverMaxClasses(0);
+
+        JavaClass abstractList = new ClassFileImporter().importClass(ArrayList.class).getSuperClass().get();
+
+        assertThat(abstractList.getName()).isEqualTo(AbstractList.class.getName());
+        assertThat(abstractList.getMethods()).isEmpty();
+    }
+
+    @Test
+    public void imports_missing_dependencies_from_classpath_lazily() throws Exception {
+        ArchConfiguration.get().setClassResolver(LazyClassResolverFromClasspath.class);
+        RecordingImportListener listener = new RecordingImportListener();
+
+        JavaClass arrayList = new ClassFileImporter().withImportListener(listener).importClass(ArrayList.class);
+
+        assertThat(listener.metrics.getBytesRead()).isEqualTo(bytesAt(urlOf(ArrayList.class)).length);
+        JavaClass abstractList = arrayList.getSuperClass().get();
+        assertThat(abstractList.getSource().get().getUri()).isEqualTo(urlOf(AbstractList.class).toURI());
+        assertThat(abstractList.getMethods()).isNotEmpty();
+        assertThat(abstractList.getModifiers()).contains(JavaModifier.ABSTRACT);
+        assertThat(abstractList.getSuperClass().get().getName()).isEqualTo(AbstractCollection.class.getName());
+        assertThat(arrayList.isAssignableTo(Collection.class)).as("ArrayList is assignable to Collection").isTrue();
+        assertThat(abstractList.getSubClasses()).contains(arrayList);
+    }
+
+    @Test
+    public void resolves_platform_classes_from_jdk_snapshot() throws Exception {
+        assumeJdkSnapshotSupported();
+        ArchConfiguration.get().setImportCacheDirectory(temporaryFolder.newFolder().getAbsolutePath());
+        ArchConfiguration.get().setClassResolver(ClassResolverFromJdkSnapshot.class);
+        RecordingImportListener listener = new RecordingImportListener();
+
+        JavaClass clazz = new ClassFileImporter().withImportListener(listener).importClass(ClassToImportOne.class);
+
+        assertThat(listener.metrics.getBytesRead()).isEqualTo(bytesAt(urlOf(ClassToImportOne.class)).length);
+        JavaClass object = clazz.getSuperClass().get();
+        assertThat(object.getSource().get().getUri()).isEqualTo(urlOf(Object.class).toURI());
+        assertThat(object.getMethods()).isNotEmpty();
+        assertThat(object.getConstructors()).isNotEmpty();
+    }
+
+    @Test
+    public void imports_with_other_resolvers_read_platform_classes_even_after_jdk_snapshot_was_used() throws Exception {
+        assumeJdkSnapshotSupported();
+        ArchConfiguration.get().setImportCacheDirectory(temporaryFolder.newFolder().getAbsolutePath());
+        ArchConfiguration.get().setResolveMissingDependenciesFromClassPath(true);
+        long bytesReadWithoutSnapshot = bytesReadImporting(ClassToImportOne.class);
+
+        ArchConfiguration.get().setClassResolver(ClassResolverFromJdkSnapshot.class);
+        assertThat(bytesReadImporting(ClassToImportOne.class)).isLessThan(bytesReadWithoutSnapshot);
+
+        ArchConfiguration.get().unsetClassResolver();
+        assertThat(bytesReadImporting(ClassToImportOne.class)).isEqualTo(bytesReadWithoutSnapshot);
+    }
+
+    private void assumeJdkSnapshotSupported() {
+        assumeTrue("JDK snapshots are only supported up to Java 8", System.getProperty("sun.boot.class.path") != null);
+    }
+
+    private long bytesReadImporting(Class<?> clazz) {
+        RecordingImportListener listener = new RecordingImportListener();
+        new ClassFileImporter().withImportListener(listener).importClass(clazz);
+        return listener.metrics.getBytesRead();
+    }
+
     @Test
     public void class_has_source_of_import() throws Exception {
         ArchConfiguration.get().setMd5InClassSourcesEnabled(true);
@@ -1670,6 +1791,297 @@ public class ClassFileImporterTest {
         assertThatClasses(classes).contain(expectedClasses);
     }
 
+    @Test
+    public void parallel_import_reports_classes_in_source_order_on_the_importing_thread() {
+        TestJarFile testJar = new TestJarFile();
+        for (Class<?> clazz : ImmutableList.of(ClassToImportOne.class, ClassToImportTwo.class, CallsOtherMethod.class,
+                ClassWithAnnotatedMethods.class, OwnFieldAccess.class, ClassWithInnerClass.class)) {
+            testJar.withEntry(entryOf(clazz));
+        }
+        JarFile jar = testJar.create();
+        RecordingImportListener sequentialListener = new RecordingImportListener();
+        JavaClasses sequentiallyImported = new ClassFileImporter().withImportListener(sequentialListener).importJar(jar);
+
+        ArchConfiguration.get().setParallelImportEnabled(true);
+        RecordingImportListener parallelListener = new RecordingImportListener();
+        JavaClasses parallelImported = new ClassFileImporter().withImportListener(parallelListener).importJar(jar);
+
+        assertThat(parallelListener.importedClasses).isNotEmpty().isEqualTo(sequentialListener.importedClasses);
+        assertThat(parallelListener.callingThreads).containsOnly(Thread.currentThread());
+        assertThat(fingerprintOf(parallelImported)).isEqualTo(fingerprintOf(sequentiallyImported));
+    }
+
+    @Test
+    public void import_cache_replays_stored_classes_on_cache_hit() throws IOException {
+        String[] packages = {getClass().getPackage().getName() + ".testexamples", Rule.class.getPackage().getName()};
+        SortedSet<String> expectedFingerprint = fingerprintOf(new ClassFileImporter().importPackages(packages));
+        ArchConfiguration.get().setImportCacheDirectory(temporaryFolder.getRoot().getAbsolutePath());
+
+        JavaClasses importedOnCacheMiss = new ClassFileImporter().importPackages(packages);
+        Map<Path, Object> fileKeys = new HashMap<>();
+        FileTime beforeCacheHit = FileTime.fromMillis(System.currentTimeMillis() - 60000);
+        for (Path entry : cacheEntriesIn(temporaryFolder.getRoot().toPath())) {
+            fileKeys.put(entry, Files.readAttributes(entry, BasicFileAttributes.class).fileKey());
+            Files.setLastModifiedTime(entry, beforeCacheHit);
+        }
+        assumeTrue("file keys are supported", !fileKeys.isEmpty() && !fileKeys.containsValue(null));
+        JavaClasses importedOnCacheHit = new ClassFileImporter().importPackages(packages);
+
+        // on a hit the stored entry is read and marked as used, on a miss it would be replaced by a new file
+        assertThat(cacheEntriesIn(temporaryFolder.getRoot().toPath())).as("entries after cache hit")
+                .hasSameElementsAs(fileKeys.keySet());
+        for (Path entry : fileKeys.keySet()) {
+            assertThat(Files.readAttributes(entry, BasicFileAttributes.class).fileKey()).as("file key of " + entry)
+                    .isEqualTo(fileKeys.get(entry));
+            assertThat(Files.getLastModifiedTime(entry)).as("last use of " + entry).isGreaterThan(beforeCacheHit);
+        }
+        assertThat(fingerprintOf(importedOnCacheMiss)).isEqualTo(expectedFingerprint);
+        assertThat(fingerprintOf(importedOnCacheHit)).isEqualTo(expectedFingerprint);
+    }
+
+    private List<Path> cacheEntriesIn(Path directory) throws IOException {
+        final List<Path> result = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                result.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return result;
+    }
+
+    @Test
+    public void reimport_yields_the_same_classes_as_a_complete_import() throws Exception {
+        File root = temporaryFolder.newFolder();
+        copyPackagesOf(root, ClassToImportOne.class, CallsOtherMethod.class, ClassWithAnnotatedMethods.class, OwnFieldAccess.class);
+        JavaClasses previous = new ClassFileImporter().importPath(root.toPath());
+        SortedSet<String> previousFingerprint = fingerprintOf(previous);
+
+        File deletedClassFile = new File(new File(root, "callimport"), CallsOtherMethod.class.getSimpleName() + ".class");
+        assertThat(deletedClassFile.delete()).as("class file deleted").isTrue();
+        File addedFolder = copyPackagesOf(root, ClassWithInnerClass.class);
+        JavaClasses reimported = new ClassFileImporter().reimport(previous,
+                ImmutableSet.of(Location.of(deletedClassFile.toPath()), Location.of(addedFolder.toPath())));
+
+        SortedSet<String> expectedFingerprint = fingerprintOf(new ClassFileImporter().importPath(root.toPath()));
+        assertThat(fingerprintOf(reimported)).isEqualTo(expectedFingerprint).isNotEqualTo(previousFingerprint);
+        assertThat(fingerprintOf(previous)).as("previous import").isEqualTo(previousFingerprint);
+    }
+
+    @Test
+    public void reimport_keeps_classes_of_sibling_folders_sharing_a_prefix_with_a_changed_location() throws Exception {
+        File root = temporaryFolder.newFolder();
+        File unchangedFolder = copyPackagesOf(root, CallsOtherMethod.class);
+        JavaClasses previous = new ClassFileImporter().importPath(root.toPath());
+        SortedSet<String> previousFingerprint = fingerprintOf(previous);
+
+        String truncatedName = unchangedFolder.getName().substring(0, unchangedFolder.getName().length() - 1);
+        File deletedFolder = new File(root, truncatedName);
+        JavaClasses reimported = new ClassFileImporter().reimport(previous,
+                Collections.singleton(Location.of(deletedFolder.toPath())));
+
+        assertThat(reimported.contain(CallsOtherMethod.class)).as("reimport contains " + CallsOtherMethod.class.getSimpleName()).isTrue();
+        assertThat(fingerprintOf(reimported)).isEqualTo(previousFingerprint);
+    }
+
+    @Test
+    public void reimport_replaces_classes_of_changed_and_deleted_JARs_given_by_path() throws Exception {
+        String kept = entryOf(CallsOtherMethod.class);
+        String removed = entryOf(ClassToImportOne.class);
+        File changedJar = new File(new TestJarFile().withEntry(kept).withEntry(removed).create().getName());
+        File deletedJar = new File(new TestJarFile().withEntry(entryOf(ClassToImportTwo.class)).create().getName());
+        JavaClasses previous = new ClassFileImporter()
+                .importLocations(ImmutableList.of(Location.of(changedJar.toURI()), Location.of(deletedJar.toURI())));
+        assertThat(previous).hasSize(3);
+
+        Files.copy(new File(new TestJarFile().withEntry(kept).create().getName()).toPath(), changedJar.toPath(), REPLACE_EXISTING);
+        assertThat(deletedJar.delete()).as("JAR deleted").isTrue();
+        JavaClasses reimported = new ClassFileImporter().reimport(previous,
+                ImmutableSet.of(Location.of(changedJar.toPath()), Location.of(deletedJar.toPath())));
+
+        assertThat(reimported).extracting("name").containsOnly(CallsOtherMethod.class.getName());
+    }
+
+    private String entryOf(Class<?> clazz) {
+        return "/" + clazz.getName().replace('.', '/') + ".class";
+    }
+
+    @Test
+    public void declarations_only_profile_imports_declarations_without_accesses() {
+        String[] packages = {getClass().getPackage().getName() + ".testexamples", Rule.class.getPackage().getName()};
+        RecordingImportListener fullListener = new RecordingImportListener();
+        JavaClasses fullyImported = new ClassFileImporter().withImportListener(fullListener).importPackages(packages);
+
+        RecordingImportListener declarationsOnlyListener = new RecordingImportListener();
+        JavaClasses declarationsOnly = new ClassFileImporter()
+                .withImportProfile(ImportProfile.DECLARATIONS_ONLY)
+                .withImportListener(declarationsOnlyListener)
+                .importPackages(packages);
+
+        assertThat(fullListener.metrics.getAccessRecords()).as("access records of full import").isPositive();
+        assertThat(declarationsOnlyListener.metrics.getAccessRecords()).as("access records without code").isZero();
+
+        assertThat(fullyImported.isAccessDataAvailable()).as("access data available").isTrue();
+        assertThat(declarationsOnly.isAccessDataAvailable()).as("access data available").isFalse();
+        assertThat(declarationsOnly.that(DescribedPredicate.<JavaClass>alwaysTrue()).isAccessDataAvailable())
+                .as("access data of filtered classes available").isFalse();
+        assertThat(declarationFingerprintOf(declarationsOnly)).isNotEmpty().isEqualTo(declarationFingerprintOf(fullyImported));
+        for (JavaClass javaClass : declarationsOnly) {
+            assertThat(javaClass.getAccessesFromSelf()).as("accesses from " + javaClass.getName()).isEmpty();
+        }
+    }
+
+    @Test
+    public void deferred_code_profile_decodes_code_units_once_accesses_are_requested() {
+        String[] packages = {getClass().getPackage().getName() + ".testexamples", Rule.class.getPackage().getName()};
+        JavaClasses fullyImported = new ClassFileImporter().importPackages(packages);
+
+        RecordingImportListener listener = new RecordingImportListener();
+        JavaClasses deferredCode = new ClassFileImporter()
+                .withImportProfile(ImportProfile.DEFERRED_CODE)
+                .withImportListener(listener)
+                .importPackages(packages);
+
+        assertThat(listener.metrics.getAccessRecords()).as("access records linked during import").isZero();
+        assertThat(deferredCode.isAccessDataAvailable()).as("access data available").isTrue();
+        assertThat(describe(deferredCode.get(CallsOtherMethod.class).getAccessesFromSelf()))
+                .isNotEmpty()
+                .isEqualTo(describe(fullyImported.get(CallsOtherMethod.class).getAccessesFromSelf()));
+        assertThat(fingerprintOf(deferredCode)).isEqualTo(fingerprintOf(fullyImported));
+    }
+
+    private SortedSet<String> describe(Set<? extends JavaAccess<?>> accesses) {
+        SortedSet<String> result = new TreeSet<>();
+        for (JavaAccess<?> access : accesses) {
+            result.add(access.toString());
+        }
+        return result;
+    }
+
+    @Test
+    public void notifies_import_listener_about_progress_and_metrics() throws IOException {
+        RecordingImportListener listener = new RecordingImportListener();
+
+        new ClassFileImporter().withImportListener(listener).importClasses(CallsOtherMethod.class);
+
+        assertThat(listener.importedClasses).containsExactly(CallsOtherMethod.class.getName());
+        assertThat(listener.completedPhases).containsExactly(ImportPhase.values());
+        assertThat(listener.metrics.getImportedClasses()).isEqualTo(1);
+        assertThat(listener.metrics.getAccessRecords()).isEqualTo(3);
+        assertThat(listener.metrics.getBytesRead()).isGreaterThanOrEqualTo(bytesAt(urlOf(CallsOtherMethod.class)).length);
+        assertThat(listener.metrics.getResolverHits() + listener.metrics.getResolverMisses()).isGreaterThan(0);
+        for (ImportPhase phase : ImportPhase.values()) {
+            assertThat(listener.metrics.getDurationInNanos(phase)).as("duration of " + phase).isGreaterThanOrEqualTo(0);
+        }
+    }
+
+    @Test
+    public void imports_duplicate_classes_from_the_location_of_highest_precedence() throws Exception {
+        File first = copyPackagesOf(temporaryFolder.newFolder("first"), CallsOtherMethod.class);
+        File second = copyPackagesOf(temporaryFolder.newFolder("second"), CallsOtherMethod.class);
+        List<Location> locations = ImmutableList.of(Location.of(first.toPath()), Location.of(second.toPath()));
+
+        JavaClasses imported = new ClassFileImporter().importLocations(locations);
+        assertThat(sourceUriOf(imported.get(CallsOtherMethod.class))).startsWith(first.toPath().toUri().toString());
+
+        ArchConfiguration.get().setClassLocationPrecedence("second");
+        imported = new ClassFileImporter().importLocations(locations);
+        assertThat(sourceUriOf(imported.get(CallsOtherMethod.class))).startsWith(second.toPath().toUri().toString());
+    }
+
+    @Test
+    public void reports_duplicate_classes_imported_in_parallel_only_once() throws Exception {
+        File first = copyPackagesOf(temporaryFolder.newFolder("first"), CallsOtherMethod.class);
+        File second = copyPackagesOf(temporaryFolder.newFolder("second"), CallsOtherMethod.class);
+        ArchConfiguration.get().setParallelImportEnabled(true);
+        RecordingImportListener listener = new RecordingImportListener();
+
+        JavaClasses imported = new ClassFileImporter().withImportListener(listener)
+                .importLocations(ImmutableList.of(Location.of(first.toPath()), Location.of(second.toPath())));
+
+        assertThat(listener.importedClasses).hasSize(imported.size()).doesNotHaveDuplicates();
+        assertThat(listener.metrics.getImportedClasses()).isEqualTo(imported.size());
+    }
+
+    @Test
+    public void imports_duplicate_classes_from_JARs_of_highest_precedence() {
+        String entry = "/" + CallsOtherMethod.class.getName().replace('.', '/') + ".class";
+        JarFile first = new TestJarFile().withEntry(entry).create();
+        JarFile second = new TestJarFile().withEntry(entry).create();
+        List<Location> locations = ImmutableList.of(Location.of(first), Location.of(second));
+        ArchConfiguration.get().setClassLocationPrecedence(new File(second.getName()).getParentFile().getName());
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            ArchConfiguration.get().setParallelImportEnabled(parallel);
+            JavaClasses imported = new ClassFileImporter().importLocations(locations);
+
+            assertThat(imported).hasSize(1);
+            assertThat(sourceUriOf(imported.get(CallsOtherMethod.class)))
+                    .as("source if parallel = " + parallel)
+                    .contains(new File(second.getName()).toURI().toString());
+        }
+    }
+
+    @Test
+    public void reimport_of_declarations_only_yields_declarations_only() throws Exception {
+        File root = temporaryFolder.newFolder();
+        File changedFolder = copyPackagesOf(root, CallsOtherMethod.class);
+        JavaClasses previous = new ClassFileImporter()
+                .withImportProfile(ImportProfile.DECLARATIONS_ONLY)
+                .importPath(root.toPath());
+
+        JavaClasses reimported = new ClassFileImporter()
+                .reimport(previous, Collections.<Location>singleton(Location.of(changedFolder.toPath())));
+
+        assertThat(reimported.isAccessDataAvailable()).as("access data available").isFalse();
+        for (JavaClass javaClass : reimported) {
+            assertThat(javaClass.getAccessesFromSelf()).as("accesses from " + javaClass.getName()).isEmpty();
+        }
+    }
+
+    private static class RecordingImportListener extends ImportListener.Adapter {
+        private final List<String> importedClasses = new ArrayList<>();
+        private final List<ImportPhase> completedPhases = new ArrayList<>();
+        private final Set<Thread> callingThreads = new HashSet<>();
+        private ImportMetrics metrics;
+
+        @Override
+        public void onClassImported(String className) {
+            importedClasses.add(className);
+            callingThreads.add(Thread.currentThread());
+        }
+
+        @Override
+        public void onPhaseCompleted(ImportPhase phase, long durationInNanos) {
+            completedPhases.add(phase);
+        }
+
+        @Override
+        public void onImportCompleted(ImportMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+
+    private String sourceUriOf(JavaClass javaClass) {
+        return javaClass.getSource().get().getUri().toString();
+    }
+
+    private File copyPackagesOf(File root, Class<?>... classes) throws Exception {
+        File target = null;
+        for (Class<?> clazz : classes) {
+            File packageFolder = new File(urlOf(clazz).toURI()).getParentFile();
+            target = new File(root, packageFolder.getName());
+            assertThat(target.mkdir()).as("created " + target).isTrue();
+            for (File classFile : packageFolder.listFiles()) {
+                if (classFile.getName().endsWith(".class")) {
+                    Files.copy(classFile.toPath(), new File(target, classFile.getName()).toPath());
+                }
+            }
+        }
+        return target;
+    }
+
     private Set<String> packagesOf(Set<Class<?>> classes) {
         Set<String> result = new HashSet<>();
         for (Class<?> c : classes) {
@@ -2,23 +2,34 @@ package com.tngtech.archunit.core.importer;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarFile;
 
 import com.google.common.collect.ImmutableSet;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.importer.ClassFileSource.FromJar.EntryPrefixes;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 @RunWith(DataProviderRunner.class)
 public class ClassFileSourceTest {
@@ -26,6 +37,11 @@ public class ClassFileSourceTest {
     @Rule
     public final TemporaryFolder tempDir = new TemporaryFolder();
 
+    @After
+    public void tearDown() {
+        ArchConfiguration.get().reset();
+    }
+
     @DataProvider
     public static Object[][] expected_classes() {
         return $$(
@@ -79,6 +95,108 @@ public class ClassFileSourceTest {
         assertSourceMatches(source, expectedIncluded);
     }
 
+    @DataProvider
+    public static Object[][] parallel_and_sequential() {
+        return $$($(true), $(false));
+    }
+
+    @Test
+    @UseDataProvider("parallel_and_sequential")
+    public void excluded_directories_are_skipped_as_a_whole(boolean parallel) throws IOException {
+        ArchConfiguration.get().setParallelImportEnabled(parallel);
+        File dir = tempDir.newFolder();
+        for (String file : ImmutableSet.of("/one/Foo.class", "/one/excluded/Bar.class", "/one/excluded/two/Baz.class", "/two/Bar.class")) {
+            File newFile = new File(dir, file);
+            newFile.getParentFile().mkdirs();
+            checkState(newFile.createNewFile());
+        }
+        RecordingDirectoryPruning pruning = new RecordingDirectoryPruning("/excluded/");
+
+        ClassFileSource source = Location.of(dir.toPath()).asClassFileSource(new ImportOptions().with(pruning));
+
+        assertSourceMatches(source, ImmutableSet.of("/one/Foo.class", "/two/Bar.class"));
+        assertThat(pruning.includedLocations)
+                .extractingResultOf("toString")
+                .usingElementComparator(MATCH_IF_EXPECTED_IS_SUBSTRING)
+                .containsOnly("/one/Foo.class", "/two/Bar.class");
+    }
+
+    @Test
+    @UseDataProvider("parallel_and_sequential")
+    public void test_directories_are_skipped_if_tests_are_not_included(boolean parallel) throws IOException {
+        ArchConfiguration.get().setParallelImportEnabled(parallel);
+        File dir = tempDir.newFolder();
+        for (String file : ImmutableSet.of("/main/Foo.class", "/test/Bar.class", "/test-classes/some/Baz.class")) {
+            File newFile = new File(dir, file);
+            newFile.getParentFile().mkdirs();
+            checkState(newFile.createNewFile());
+        }
+
+        ClassFileSource source = Location.of(dir.toPath()).asClassFileSource(
+                new ImportOptions().with(ImportOption.Predefined.DONT_INCLUDE_TESTS));
+
+        assertSourceMatches(source, ImmutableSet.of("/main/Foo.class"));
+    }
+
+    @DataProvider
+    public static Object[][] entries() {
+        return $$(
+                $("com/foo/Any.class", true),
+                $("com/foo/bar/Any.class", true),
+                $("com/foo/other/Any.class", true),
+                $("org/baz/Some.class", true),
+                $("com/foobar/Any.class", false),
+                $("com/fo", false),
+                $("org/baz/Other.class", false),
+                $("", false));
+    }
+
+    @Test
+    @UseDataProvider("entries")
+    public void entry_prefixes_match_entries_beneath_any_prefix(String entryName, boolean expectedMatch) {
+        EntryPrefixes prefixes = EntryPrefixes.of(Arrays.asList("com/foo/", "com/foo/bar/", "org/baz/Some.class"));
+
+        assertThat(prefixes.matchPrefixOf(entryName)).as("'%s' matches", entryName).isEqualTo(expectedMatch);
+    }
+
+    @Test
+    public void empty_entry_prefix_matches_everything() {
+        EntryPrefixes prefixes = EntryPrefixes.of(Arrays.asList("com/foo/", ""));
+
+        assertThat(prefixes.matchPrefixOf("")).isTrue();
+        assertThat(prefixes.matchPrefixOf("org/Any.class")).isTrue();
+    }
+
+    @Test
+    public void class_names_are_derived_from_JAR_entries() {
+        JarFile jarFile = new TestJarFile()
+                .withEntry("com/foo/Bar.class")
+                .withEntry("com/foo/Bar$Inner.class")
+                .withEntry("META-INF/versions/9/com/foo/Bar.class")
+                .create();
+
+        Map<String, Optional<String>> classNamesByEntry = new HashMap<>();
+        for (ClassFileLocation location : Location.of(jarFile).asClassFileSource(new ImportOptions())) {
+            String uri = location.getUri().toString();
+            classNamesByEntry.put(uri.substring(uri.indexOf("!/") + 2), location.getClassName());
+        }
+
+        assertThat(classNamesByEntry).containsOnly(
+                entry("com/foo/Bar.class", Optional.of("com.foo.Bar")),
+                entry("com/foo/Bar$Inner.class", Optional.of("com.foo.Bar$Inner")),
+                entry("META-INF/versions/9/com/foo/Bar.class", Optional.<String>absent()));
+    }
+
+    @Test
+    public void class_names_are_not_derived_from_file_paths() throws IOException {
+        File dir = tempDir.newFolder();
+        checkState(new File(dir, "Foo.class").createNewFile());
+
+        ClassFileLocation location = getOnlyElement(Location.of(dir.toPath()).asClassFileSource(new ImportOptions()));
+
+        assertThat(location.getClassName()).isEqualTo(Optional.<String>absent());
+    }
+
     private void assertSourceMatches(ClassFileSource source, Set<String> expectedIncluded) {
         assertThat(source).hasSize(expectedIncluded.size());
         assertThat(source)
@@ -97,6 +215,26 @@ public class ClassFileSourceTest {
         });
     }
 
+    private static class RecordingDirectoryPruning implements ImportOption.DirectoryPruning {
+        private final String excludedInfix;
+        private final Set<Location> includedLocations = Collections.synchronizedSet(new HashSet<Location>());
+
+        RecordingDirectoryPruning(String excludedInfix) {
+            this.excludedInfix = excludedInfix;
+        }
+
+        @Override
+        public boolean includesDirectory(Location directory) {
+            return !directory.contains(excludedInfix);
+        }
+
+        @Override
+        public boolean includes(Location location) {
+            includedLocations.add(location);
+            return !location.contains(excludedInfix);
+        }
+    }
+
     private static final Comparator<Object> MATCH_IF_EXPECTED_IS_SUBSTRING = new Comparator<Object>() {
         @Override
         public int compare(Object uri, Object expectedSub) {
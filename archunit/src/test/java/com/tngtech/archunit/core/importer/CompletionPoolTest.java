@@ -0,0 +1,69 @@
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.base.Function;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompletionPoolTest {
+    @After
+    public void tearDown() {
+        ArchConfiguration.get().reset();
+    }
+
+    @Test
+    public void maps_elements_in_order_sequentially() {
+        ArchConfiguration.get().setParallelImportEnabled(false);
+
+        assertThat(squaresOf(numbersUpTo(1000))).isEqualTo(expectedSquaresUpTo(1000));
+    }
+
+    @Test
+    public void maps_elements_in_order_in_parallel() {
+        ArchConfiguration.get().setParallelImportEnabled(true);
+
+        assertThat(squaresOf(numbersUpTo(1000))).isEqualTo(expectedSquaresUpTo(1000));
+    }
+
+    @Test
+    public void maps_no_elements() {
+        ArchConfiguration.get().setParallelImportEnabled(true);
+
+        assertThat(squaresOf(new ArrayList<Integer>())).isEmpty();
+    }
+
+    private List<Integer> squaresOf(List<Integer> numbers) {
+        CompletionPool pool = CompletionPool.create();
+        try {
+            return pool.map(numbers, new Function<Integer, Integer>() {
+                @Override
+                public Integer apply(Integer input) {
+                    return input * input;
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Integer> numbersUpTo(int max) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private List<Integer> expectedSquaresUpTo(int max) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            result.add(i * i);
+        }
+        return result;
+    }
+}
@@ -55,6 +55,15 @@ public class DontIncludeTestsTest {
                 .as("includes location %s", targetFile.getAbsolutePath()).isEqualTo(expectedInclude);
     }
 
+    @Test
+    @UseDataProvider("folders")
+    public void excludes_test_directories_as_a_whole(String folderName, boolean expectedInclude) throws IOException {
+        File folder = temporaryFolder.newFolder(folderName);
+
+        assertThat(dontIncludeTests.includesDirectory(Location.of(folder.toPath())))
+                .as("includes directory %s", folder.getAbsolutePath()).isEqualTo(expectedInclude);
+    }
+
     private Location locationOf(Class<?> clazz) {
         return getOnlyElement(Locations.ofClass(clazz));
     }
@@ -0,0 +1,43 @@
+package com.tngtech.archunit.core.importer;
+
+import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImportSymbolsTest {
+    private final ImportSymbols symbols = new ImportSymbols();
+
+    @Test
+    public void interns_equal_strings() {
+        String first = symbols.intern(new String("java/lang/String"));
+        String second = symbols.intern(new String("java/lang/String"));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void creates_every_type_only_once() {
+        assertThat(symbols.typeOf("java/util/List").getName()).isEqualTo("java.util.List");
+        assertThat(symbols.typeOf(new String("java/util/List"))).isSameAs(symbols.typeOf("java/util/List"));
+    }
+
+    @Test
+    public void canonicalizes_equal_targets() {
+        MethodTargetInfo first = symbols.methodTarget("java/util/List", new String("size"), new String("()I"));
+        MethodTargetInfo second = symbols.methodTarget("java/util/List", new String("size"), new String("()I"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second).isEqualTo(new MethodTargetInfo("java/util/List", "size", "()I"));
+    }
+
+    @Test
+    public void keeps_targets_of_different_kind_apart() {
+        RawAccessRecord.TargetInfo method = symbols.methodTarget("some/Owner", "<init>", "()V");
+        RawAccessRecord.TargetInfo constructor = symbols.constructorTarget("some/Owner", "<init>", "()V");
+
+        assertThat(constructor).isNotSameAs(method).isInstanceOf(RawAccessRecord.ConstructorTargetInfo.class);
+        assertThat(constructor.owner).isSameAs(method.owner);
+        assertThat(constructor.name).isSameAs(method.name);
+    }
+}
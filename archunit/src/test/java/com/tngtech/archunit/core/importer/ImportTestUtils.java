@@ -125,6 +125,16 @@ public class ImportTestUtils {
                 .build();
     }
 
+    public static JavaClass javaClassWithName(String typeName) {
+        return new DomainBuilders.JavaClassBuilder().withType(JavaType.From.name(typeName)).build();
+    }
+
+    public static JavaClass lazyJavaClassWithoutDetails(String typeName, ImportContext context) {
+        DomainBuilders.JavaClassBuilder stub = new DomainBuilders.JavaClassBuilder().withType(JavaType.From.name(typeName));
+        return DomainObjectCreationContext.createLazyJavaClass(stub,
+                Suppliers.ofInstance(Optional.<DomainBuilders.JavaClassBuilder>absent()), context);
+    }
+
     private static Map<String, Object> mapOf(Annotation annotation, ClassesByTypeName importedClasses) {
         ImmutableMap.Builder<String, Object> result = ImmutableMap.builder();
         for (Method method : annotation.annotationType().getDeclaredMethods()) {
@@ -0,0 +1,49 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JarFileHandlesTest {
+    private static final String ENTRY = "com/tngtech/archunit/core/importer/JarFileHandlesTest.class";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reads_class_files_from_jar_uris_before_and_after_close() throws IOException {
+        byte[] expected = ByteStreams.toByteArray(getClass().getResourceAsStream("/" + ENTRY));
+        File jarFile = temporaryFolder.newFile("with space.jar");
+        try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jarFile))) {
+            jarOut.putNextEntry(new ZipEntry(ENTRY));
+            jarOut.write(expected);
+            jarOut.closeEntry();
+        }
+        URI uri = URI.create("jar:" + jarFile.toURI() + "!/" + ENTRY);
+        JarFileHandles handles = new JarFileHandles();
+
+        assertThat(JarFileHandles.canRead(uri)).isTrue();
+        assertThat(handles.read(uri)).isEqualTo(expected);
+        assertThat(handles.read(uri)).isEqualTo(expected);
+
+        handles.close();
+
+        assertThat(handles.read(uri)).isEqualTo(expected);
+    }
+
+    @Test
+    public void only_reads_jar_uris_of_files() {
+        assertThat(JarFileHandles.canRead(URI.create("file:/some/Foo.class"))).isFalse();
+        assertThat(JarFileHandles.canRead(URI.create("jar:http://example.org/some.jar!/Foo.class"))).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.tngtech.archunit.base.Optional;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.tngtech.archunit.core.domain.SourceTest.bytesAt;
+import static com.tngtech.archunit.core.domain.SourceTest.urlOf;
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class JdkSnapshotTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void contains_only_platform_classes_written_before() throws Exception {
+        assumeTrue("Platform classes can only be read from JARs up to Java 8", System.getProperty("sun.boot.class.path") != null);
+        Path file = temporaryFolder.getRoot().toPath().resolve("test.snapshot");
+
+        JdkSnapshot.write(file, classFilesOf(ArrayList.class, List.class, getClass()));
+        JdkSnapshot snapshot = JdkSnapshot.tryOpen(file).get();
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.tryGetUriOf(ArrayList.class.getName())).contains(urlOf(ArrayList.class).toURI());
+        assertThat(snapshot.tryGetUriOf(getClass().getName())).isAbsent();
+        assertThat(snapshot.getEventsOf(urlOf(List.class).toURI()).get()).isNotEmpty();
+        assertThat(snapshot.getEventsOf(urlOf(getClass()).toURI())).isAbsent();
+    }
+
+    @Test
+    public void leaves_out_classes_that_cannot_be_parsed() throws Exception {
+        Path file = temporaryFolder.getRoot().toPath().resolve("test.snapshot");
+        ClassFileLocation unparsable = new ClassFileInMemory("java.lang.Unparsable", new byte[]{1, 2, 3});
+        ClassFileLocation valid = new ClassFileInMemory("java.lang.Valid", bytesAt(urlOf(getClass())));
+
+        JdkSnapshot.write(file, ImmutableList.of(unparsable, valid));
+        JdkSnapshot snapshot = JdkSnapshot.tryOpen(file).get();
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.tryGetUriOf("java.lang.Unparsable")).isAbsent();
+        assertThat(snapshot.tryGetUriOf("java.lang.Valid")).contains(valid.getUri());
+    }
+
+    @Test
+    public void ignores_invalid_snapshots() throws Exception {
+        Path file = temporaryFolder.getRoot().toPath().resolve("test.snapshot");
+
+        assertThat(JdkSnapshot.tryOpen(file)).isAbsent();
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThat(JdkSnapshot.tryOpen(file)).isAbsent();
+    }
+
+    private Iterable<ClassFileLocation> classFilesOf(Class<?>... classes) throws Exception {
+        ImmutableList.Builder<Iterable<ClassFileLocation>> result = ImmutableList.builder();
+        for (Class<?> clazz : classes) {
+            result.add(Location.of(urlOf(clazz)).asClassFileSource(new ImportOptions()));
+        }
+        return Iterables.concat(result.build());
+    }
+
+    private static class ClassFileInMemory implements ClassFileLocation {
+        private final String className;
+        private final byte[] bytes;
+
+        ClassFileInMemory(String className, byte[] bytes) {
+            this.className = className;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public byte[] read() {
+            return bytes;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("memory:/" + className.replace('.', '/') + ".class");
+        }
+
+        @Override
+        public Optional<String> getClassName() {
+            return Optional.of(className);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarFile;
 
+import com.google.common.collect.ImmutableList;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -85,6 +86,18 @@ public class LocationTest {
                 .contains(asList(toByteArray(streamOfOwnClass())));
     }
 
+    @Test
+    public void File_location_as_ClassFileSource_reads_complete_class_files() throws IOException {
+        ClassFileSource source = Location.of(urlOfOwnClass()).asClassFileSource(new ImportOptions());
+
+        List<List<Byte>> importedFiles = new ArrayList<>();
+        for (ClassFileLocation location : source) {
+            importedFiles.add(asList(location.read()));
+        }
+        assertThat(importedFiles).as("Imported Files as byte arrays")
+                .contains(asList(toByteArray(streamOfOwnClass())));
+    }
+
     @Test
     public void JAR_location_as_ClassFileSource() throws IOException {
         JarFile jar = new TestJarFile()
@@ -105,6 +118,57 @@ public class LocationTest {
                         asList(toByteArray(streamOfClass(Location.class))));
     }
 
+    @Test
+    public void JAR_location_as_ClassFileSource_reads_complete_class_files() throws IOException {
+        JarFile jar = new TestJarFile()
+                .withEntry(fullClassFileName(getClass()))
+                .withEntry(fullClassFileName(Location.class))
+                .create();
+        ClassFileSource source = Location.of(new URL("file://" + jar.getName())).asClassFileSource(new ImportOptions());
+
+        List<List<Byte>> importedFiles = new ArrayList<>();
+        for (ClassFileLocation location : source) {
+            importedFiles.add(asList(location.read()));
+        }
+        assertThat(importedFiles).as("Imported Files as byte arrays")
+                .contains(
+                        asList(toByteArray(streamOfClass(getClass()))),
+                        asList(toByteArray(streamOfClass(Location.class))));
+    }
+
+    @Test
+    public void JAR_locations_within_the_same_JAR_are_combined_into_one_ClassFileSource() {
+        JarFile jar = new TestJarFile()
+                .withEntry("com/first/")
+                .withEntry("com/first/One.class")
+                .withEntry("com/first/nested/")
+                .withEntry("com/first/nested/Two.class")
+                .withEntry("com/second/")
+                .withEntry("com/second/Three.class")
+                .withEntry("com/third/")
+                .withEntry("com/third/Four.class")
+                .create();
+        Location jarRoot = Location.of(jar);
+        List<Location> locations = ImmutableList.of(
+                jarRoot.append("com/first/"),
+                Location.of(urlOfOwnClass()),
+                jarRoot.append("com/first/nested/"),
+                jarRoot.append("com/second/"));
+
+        List<ClassFileSource> sources = Location.asClassFileSources(locations, new ImportOptions());
+
+        assertThat(sources).hasSize(2);
+        List<URI> urisInJar = new ArrayList<>();
+        for (ClassFileLocation location : sources.get(0)) {
+            urisInJar.add(location.getUri());
+        }
+        assertThat(urisInJar).containsOnly(
+                jarRoot.append("com/first/One.class").asURI(),
+                jarRoot.append("com/first/nested/Two.class").asURI(),
+                jarRoot.append("com/second/Three.class").asURI());
+        assertThat(urisInJar).doesNotHaveDuplicates();
+    }
+
     @DataProvider
     public static Object[][] locations_of_own_class() throws URISyntaxException {
         return $$(
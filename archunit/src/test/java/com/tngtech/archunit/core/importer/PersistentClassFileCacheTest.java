@@ -0,0 +1,191 @@
+package com.tngtech.archunit.core.importer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.ByteStreams;
+import com.tngtech.archunit.core.importer.testexamples.annotationmethodimport.ClassWithAnnotatedMethods;
+import com.tngtech.archunit.core.importer.testexamples.annotationmethodimport.MethodAnnotationWithArrays;
+import com.tngtech.archunit.core.importer.testexamples.callimport.CallsOtherConstructor;
+import com.tngtech.archunit.core.importer.testexamples.innerclassimport.CalledClass;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.objectweb.asm.ClassReader;
+
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(DataProviderRunner.class)
+public class PersistentClassFileCacheTest {
+    private static final long MAX_SIZE = 1024 * 1024;
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(1);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheDirectory;
+
+    @Before
+    public void setUp() {
+        cacheDirectory = temporaryFolder.getRoot().toPath();
+    }
+
+    @DataProvider
+    public static Object[][] classes() {
+        return testForEach(
+                ClassWithAnnotatedMethods.class,
+                MethodAnnotationWithArrays.class,
+                CallsOtherConstructor.class,
+                CalledClass.class);
+    }
+
+    @Test
+    @UseDataProvider("classes")
+    public void replays_the_events_of_the_class_file_on_cache_hit(Class<?> clazz) throws IOException {
+        byte[] classFile = bytesOf(clazz);
+        byte[] parsedEvents = eventsParsedFrom(classFile);
+
+        ClassEventStream.Recorder onMiss = new ClassEventStream.Recorder(null);
+        newCache().accept(classFile, onMiss);
+        ClassEventStream.Recorder onHit = new ClassEventStream.Recorder(null);
+        newCache().accept(classFile, onHit);
+
+        assertThat(entries()).hasSize(1);
+        assertThat(onMiss.getEvents()).isEqualTo(parsedEvents);
+        assertThat(onHit.getEvents()).isEqualTo(parsedEvents);
+    }
+
+    @Test
+    public void replaces_invalid_entries() throws IOException {
+        byte[] classFile = bytesOf(ClassWithAnnotatedMethods.class);
+        newCache().accept(classFile, new ClassEventStream.Recorder(null));
+        Path entry = getOnlyElement(entries());
+        byte[] validEntry = Files.readAllBytes(entry);
+        byte[] invalidEntry = validEntry.clone();
+        invalidEntry[invalidEntry.length / 2]++;
+        Files.write(entry, invalidEntry);
+
+        ClassEventStream.Recorder recorder = new ClassEventStream.Recorder(null);
+        newCache().accept(classFile, recorder);
+
+        assertThat(recorder.getEvents()).isEqualTo(eventsParsedFrom(classFile));
+        assertThat(Files.readAllBytes(entry)).isEqualTo(validEntry);
+    }
+
+    @Test
+    public void evicts_entries_not_used_within_max_age() throws IOException {
+        newCache().accept(bytesOf(ClassWithAnnotatedMethods.class), new ClassEventStream.Recorder(null));
+        newCache().accept(bytesOf(CalledClass.class), new ClassEventStream.Recorder(null));
+        Path outdated = entries().get(0);
+        Files.setLastModifiedTime(outdated, FileTime.fromMillis(System.currentTimeMillis() - 2 * MAX_AGE));
+
+        newCache().evict();
+
+        assertThat(entries()).hasSize(1).doesNotContain(outdated);
+    }
+
+    @Test
+    public void evicts_least_recently_used_entries_beyond_max_size() throws IOException {
+        newCache().accept(bytesOf(ClassWithAnnotatedMethods.class), new ClassEventStream.Recorder(null));
+        newCache().accept(bytesOf(CalledClass.class), new ClassEventStream.Recorder(null));
+        List<Path> entries = entries();
+        Path leastRecentlyUsed = entries.get(0);
+        Path mostRecentlyUsed = entries.get(1);
+        Files.setLastModifiedTime(leastRecentlyUsed, FileTime.fromMillis(System.currentTimeMillis() - 1000));
+
+        new PersistentClassFileCache(cacheDirectory, Files.size(mostRecentlyUsed), MAX_AGE, 0).evict();
+
+        assertThat(entries()).containsExactly(mostRecentlyUsed);
+    }
+
+    @Test
+    public void eviction_leaves_the_jdk_snapshot_alone() throws Exception {
+        newCache().accept(bytesOf(CalledClass.class), new ClassEventStream.Recorder(null));
+        Path entry = getOnlyElement(entries());
+        Path snapshot = cacheDirectory.resolve("jdk-snapshot").resolve("test.snapshot");
+        JdkSnapshot.write(snapshot, Collections.<ClassFileLocation>emptyList());
+        Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis() - 2 * MAX_AGE));
+
+        new PersistentClassFileCache(cacheDirectory, 0, MAX_AGE, 0).evict();
+
+        assertThat(entries()).containsExactly(snapshot).doesNotContain(entry);
+    }
+
+    // The classpath index (compare ClassPathIndex) stores the class names of every JAR file within 'classpath-index'
+    @Test
+    public void eviction_leaves_the_classpath_index_alone() throws Exception {
+        newCache().accept(bytesOf(CalledClass.class), new ClassEventStream.Recorder(null));
+        Path entry = getOnlyElement(entries());
+        Path indexEntry = Files.createDirectories(cacheDirectory.resolve("classpath-index")).resolve("0123456789abcdef");
+        Files.write(indexEntry, Collections.singleton(CalledClass.class.getName()), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(indexEntry, FileTime.fromMillis(System.currentTimeMillis() - 2 * MAX_AGE));
+
+        new PersistentClassFileCache(cacheDirectory, 0, MAX_AGE, 0).evict();
+
+        assertThat(entries()).containsExactly(indexEntry).doesNotContain(entry);
+    }
+
+    @Test
+    public void keeps_separate_entries_for_different_read_flags() throws IOException {
+        byte[] classFile = bytesOf(CallsOtherConstructor.class);
+        newCache().accept(classFile, new ClassEventStream.Recorder(null));
+
+        ClassEventStream.Recorder recorder = new ClassEventStream.Recorder(null);
+        newCache(ClassReader.SKIP_CODE).accept(classFile, recorder);
+
+        assertThat(entries()).hasSize(2);
+        assertThat(recorder.getEvents()).isEqualTo(eventsParsedFrom(classFile, ClassReader.SKIP_CODE));
+    }
+
+    private PersistentClassFileCache newCache() {
+        return newCache(0);
+    }
+
+    private PersistentClassFileCache newCache(int readFlags) {
+        return new PersistentClassFileCache(cacheDirectory, MAX_SIZE, MAX_AGE, readFlags);
+    }
+
+    private byte[] eventsParsedFrom(byte[] classFile) {
+        return eventsParsedFrom(classFile, 0);
+    }
+
+    private byte[] eventsParsedFrom(byte[] classFile, int readFlags) {
+        ClassEventStream.Recorder recorder = new ClassEventStream.Recorder(null);
+        new ClassReader(classFile).accept(recorder, readFlags);
+        return recorder.getEvents();
+    }
+
+    private byte[] bytesOf(Class<?> clazz) throws IOException {
+        String resourceName = "/" + clazz.getName().replace('.', '/') + ".class";
+        return ByteStreams.toByteArray(clazz.getResourceAsStream(resourceName));
+    }
+
+    private List<Path> entries() throws IOException {
+        final List<Path> result = new ArrayList<>();
+        Files.walkFileTree(cacheDirectory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                result.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tngtech.archunit.core.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType;
+import com.tngtech.archunit.core.importer.RawAccessRecord.CodeUnit;
+import com.tngtech.archunit.core.importer.RawAccessRecord.FieldTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.MethodTargetInfo;
+import com.tngtech.archunit.core.importer.RawAccessRecord.TargetInfo;
+import org.junit.Test;
+
+import static com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType.GET;
+import static com.tngtech.archunit.core.domain.JavaFieldAccess.AccessType.SET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RawAccessColumnsTest {
+    private final CodeUnit caller = new CodeUnit("call", Collections.<String>emptyList(), "some.Caller");
+    private final TargetInfo target = new MethodTargetInfo("some/Target", "called", "()V");
+
+    @Test
+    public void stores_equal_accesses_only_once() {
+        RawAccessColumns.ForCalls columns = new RawAccessColumns.ForCalls();
+
+        columns.add(call(caller, target, 7));
+        columns.add(call(caller, target, 7));
+        columns.add(call(caller, new MethodTargetInfo("some/Target", "called", "()V"), 7));
+        columns.add(call(caller, target, 8));
+
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(ImmutableList.copyOf(columns)).containsExactly(call(caller, target, 7), call(caller, target, 8));
+        assertThat(columns.getTargets()).containsExactly(target);
+    }
+
+    @Test
+    public void distinguishes_field_accesses_by_access_type() {
+        FieldTargetInfo field = new FieldTargetInfo("some/Target", "field", "I");
+        RawAccessColumns.ForFieldAccesses columns = new RawAccessColumns.ForFieldAccesses();
+
+        columns.add(fieldAccess(field, GET));
+        columns.add(fieldAccess(field, SET));
+        columns.add(fieldAccess(field, GET));
+
+        assertThat(ImmutableList.copyOf(columns)).containsExactly(fieldAccess(field, GET), fieldAccess(field, SET));
+    }
+
+    @Test
+    public void grows_beyond_initial_capacity() {
+        RawAccessColumns.ForCalls columns = new RawAccessColumns.ForCalls();
+        List<RawAccessRecord> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            RawAccessRecord record = call(caller, new MethodTargetInfo("some/Target" + i % 10, "called", "()V"), i);
+            columns.add(record);
+            columns.add(record);
+            expected.add(record);
+        }
+
+        assertThat(ImmutableList.copyOf(columns)).isEqualTo(expected);
+        assertThat(columns.getTargets()).hasSize(10);
+    }
+
+    @Test
+    public void adds_all_accesses_of_other_columns() {
+        TargetInfo otherTarget = new MethodTargetInfo("some/Other", "called", "()V");
+        RawAccessColumns.ForCalls columns = new RawAccessColumns.ForCalls();
+        columns.add(call(caller, target, 1));
+        RawAccessColumns.ForCalls other = new RawAccessColumns.ForCalls();
+        other.add(call(caller, otherTarget, 1));
+        other.add(call(caller, target, 1));
+
+        columns.addAll(other);
+
+        assertThat(ImmutableList.copyOf(columns)).containsExactly(call(caller, target, 1), call(caller, otherTarget, 1));
+    }
+
+    private RawAccessRecord call(CodeUnit caller, TargetInfo target, int lineNumber) {
+        return new RawAccessRecord(caller, target, lineNumber);
+    }
+
+    private RawAccessRecord.ForField fieldAccess(FieldTargetInfo target, AccessType accessType) {
+        return new RawAccessRecord.ForField.Builder()
+                .withCaller(caller)
+                .withTarget(target)
+                .withLineNumber(3)
+                .withAccessType(accessType)
+                .build();
+    }
+}
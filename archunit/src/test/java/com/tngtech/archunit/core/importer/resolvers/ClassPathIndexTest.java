@@ -0,0 +1,150 @@
+package com.tngtech.archunit.core.importer.resolvers;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.tngtech.archunit.base.Optional;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.tngtech.archunit.testutil.Assertions.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class ClassPathIndexTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void finds_classes_in_directories_and_jars() throws IOException {
+        File directory = directoryWith("com/foo/InDirectory.class", "com/foo/InDirectory$Inner.class", "com/foo/readme.txt");
+        File jar = jarWith("com/bar/InJar.class", "META-INF/versions/9/com/bar/InJar.class");
+
+        ClassPathIndex index = ClassPathIndex.create(classPathOf(directory, jar), Optional.<Path>absent());
+
+        assertThat(index.tryGetUriOf("com.foo.InDirectory")).contains(
+                new File(directory, "com/foo/InDirectory.class").toURI());
+        assertThat(index.tryGetUriOf("com.foo.InDirectory$Inner")).contains(
+                new File(directory, "com/foo/InDirectory$Inner.class").toURI());
+        assertThat(index.tryGetUriOf("com.bar.InJar").get().toString()).isEqualTo(
+                "jar:" + jar.toURI() + "!/com/bar/InJar.class");
+        assertThat(index.tryGetUriOf("com.foo.readme")).isAbsent();
+        assertThat(index.tryGetUriOf("META-INF.versions.9.com.bar.InJar")).isAbsent();
+        assertThat(index.tryGetUriOf("com.bar.Missing")).isAbsent();
+    }
+
+    @Test
+    public void first_entry_on_the_classpath_wins() throws IOException {
+        File first = jarWith("com/foo/Duplicate.class");
+        File second = directoryWith("com/foo/Duplicate.class");
+
+        ClassPathIndex index = ClassPathIndex.create(classPathOf(first, second), Optional.<Path>absent());
+
+        assertThat(index.tryGetUriOf("com.foo.Duplicate").get().toString()).startsWith("jar:" + first.toURI());
+    }
+
+    @Test
+    public void ignores_missing_entries() throws IOException {
+        File jar = jarWith("com/foo/Existing.class");
+
+        ClassPathIndex index = ClassPathIndex.create(
+                classPathOf(new File(temporaryFolder.getRoot(), "missing.jar"), jar), Optional.<Path>absent());
+
+        assertThat(index.tryGetUriOf("com.foo.Existing")).isPresent();
+    }
+
+    @Test
+    public void reuses_stored_class_names_of_unchanged_jars() throws IOException {
+        File jar = jarWith("com/foo/Stored.class");
+        Path cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+
+        ClassPathIndex.create(classPathOf(jar), Optional.of(cacheDirectory));
+        File[] entries = cacheDirectory.toFile().listFiles();
+        assertThat(entries).hasSize(1);
+        List<String> header = Files.readAllLines(entries[0].toPath(), UTF_8).subList(0, 3);
+        Files.write(entries[0].toPath(), ImmutableList.<String>builder().addAll(header).add("com.foo.FromCache").build(), UTF_8);
+
+        ClassPathIndex index = ClassPathIndex.create(classPathOf(jar), Optional.of(cacheDirectory));
+
+        assertThat(index.tryGetUriOf("com.foo.FromCache")).isPresent();
+        assertThat(index.tryGetUriOf("com.foo.Stored")).isAbsent();
+    }
+
+    @Test
+    public void replaces_stored_class_names_of_changed_jars() throws IOException {
+        File jar = jarWith("com/foo/Old.class");
+        Path cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+        ClassPathIndex.create(classPathOf(jar), Optional.of(cacheDirectory));
+
+        writeJar(jar, "com/foo/New.class", "com/foo/Other.class");
+        ClassPathIndex index = ClassPathIndex.create(classPathOf(jar), Optional.of(cacheDirectory));
+
+        assertThat(index.tryGetUriOf("com.foo.New")).isPresent();
+        assertThat(index.tryGetUriOf("com.foo.Old")).isAbsent();
+        assertThat(cacheDirectory.toFile().listFiles()).hasSize(1);
+    }
+
+    @Test
+    public void removes_stored_class_names_of_deleted_jars() throws IOException {
+        File kept = jarWith("com/foo/Kept.class");
+        File deleted = jarWith("com/foo/Deleted.class");
+        Path cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+        ClassPathIndex.create(classPathOf(kept, deleted), Optional.of(cacheDirectory));
+        assertThat(cacheDirectory.toFile().listFiles()).hasSize(2);
+
+        assertThat(deleted.delete()).as("JAR deleted").isTrue();
+        ClassPathIndex.create(classPathOf(kept), Optional.of(cacheDirectory));
+
+        assertThat(cacheDirectory.toFile().listFiles()).hasSize(1);
+    }
+
+    @Test
+    public void does_not_look_up_classes_that_were_moved_after_indexing() throws IOException {
+        File directory = directoryWith("com/foo/InDirectory.class");
+        File jar = jarWith("com/bar/InJar.class");
+        ClassPathIndex index = ClassPathIndex.create(classPathOf(directory, jar), Optional.<Path>absent());
+
+        assertThat(new File(directory, "com/foo/InDirectory.class").delete()).as("class file deleted").isTrue();
+        writeJar(jar, "com/bar/Other.class", "com/bar/Another.class");
+
+        assertThat(index.tryGetUriOf("com.foo.InDirectory")).isAbsent();
+        assertThat(index.tryGetUriOf("com.bar.InJar")).isAbsent();
+    }
+
+    private File directoryWith(String... files) throws IOException {
+        File directory = temporaryFolder.newFolder();
+        for (String file : files) {
+            File target = new File(directory, file);
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.write(target.toPath(), new byte[0]);
+        }
+        return directory;
+    }
+
+    private File jarWith(String... entries) throws IOException {
+        File jar = temporaryFolder.newFile();
+        writeJar(jar, entries);
+        return jar;
+    }
+
+    private void writeJar(File jar, String... entries) throws IOException {
+        try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                jarOut.putNextEntry(new ZipEntry(entry));
+                jarOut.closeEntry();
+            }
+        }
+    }
+
+    private String classPathOf(File... entries) {
+        return Joiner.on(File.pathSeparator).join(entries);
+    }
+}
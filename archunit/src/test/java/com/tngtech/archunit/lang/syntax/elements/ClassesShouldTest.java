@@ -3,6 +3,8 @@ package com.tngtech.archunit.lang.syntax.elements;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -48,6 +50,7 @@ import static com.tngtech.archunit.lang.conditions.ArchConditions.notBeProtected
 import static com.tngtech.archunit.lang.conditions.ArchConditions.notBePublic;
 import static com.tngtech.archunit.lang.conditions.ArchConditions.notHaveModifier;
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
 import static java.util.regex.Pattern.quote;
@@ -838,6 +841,50 @@ public class ClassesShouldTest {
                         ClassWithFieldMethodAndConstructor.class, ""));
     }
 
+    @DataProvider
+    public static Object[][] notTransitivelyDependOnClassesThat_rules() {
+        return $$(
+                $(noClasses().should().transitivelyDependOnClassesThat(type(ClassWithMethod.class))),
+                $(classes().should(ArchConditions.notTransitivelyDependOnClassesThat(type(ClassWithMethod.class))))
+        );
+    }
+
+    @Test
+    @UseDataProvider("notTransitivelyDependOnClassesThat_rules")
+    public void notTransitivelyDependOnClassesThat(ArchRule rule) {
+        EvaluationResult result = rule.evaluate(importClasses(
+                ClassWithMethod.class, ClassCallingMethod.class, ClassCallingWrongMethod.class, WrongNamedClass.class));
+
+        assertThat(singleLineFailureReportOf(result))
+                .containsPattern("(no classes should|classes should not) transitively depend on classes that")
+                .contains(String.format("Class %s transitively depends on %s",
+                        ClassCallingWrongMethod.class.getName(), ClassWithMethod.class.getName()))
+                .contains(String.format("Class %s transitively depends on %s",
+                        ClassCallingMethod.class.getName(), ClassWithMethod.class.getName()))
+                .doesNotContain(String.format("Class %s transitively depends", WrongNamedClass.class.getName()));
+    }
+
+    @DataProvider
+    public static Object[][] notTransitivelyDependOnClassesOutsideOfTheImport_rules() {
+        DescribedPredicate<JavaClass> jdbc = JavaClass.Predicates.resideInAPackage("java.sql..");
+        return $$(
+                $(noClasses().should().transitivelyDependOnClassesThat(jdbc)),
+                $(classes().should(ArchConditions.notTransitivelyDependOnClassesThat(jdbc)))
+        );
+    }
+
+    @Test
+    @UseDataProvider("notTransitivelyDependOnClassesOutsideOfTheImport_rules")
+    public void notTransitivelyDependOnClassesOutsideOfTheImport(ArchRule rule) {
+        EvaluationResult result = rule.evaluate(importClasses(ClassCallingJdbc.class, ClassCallingJdbcIndirectly.class));
+
+        assertThat(singleLineFailureReportOf(result))
+                .contains(String.format("Class %s transitively depends on %s",
+                        ClassCallingJdbc.class.getName(), Connection.class.getName()))
+                .contains(String.format("Class %s transitively depends on %s",
+                        ClassCallingJdbcIndirectly.class.getName(), Connection.class.getName()));
+    }
+
     private String singleLineFailureReportOf(EvaluationResult result) {
         return result.getFailureReport().toString().replaceAll("\\r?\\n", FAILURE_REPORT_NEWLINE_MARKER);
     }
@@ -984,6 +1031,22 @@ public class ClassesShouldTest {
         }
     }
 
+    private static class ClassCallingJdbc {
+        Connection connection;
+
+        void call() throws SQLException {
+            connection.createStatement();
+        }
+    }
+
+    private static class ClassCallingJdbcIndirectly {
+        ClassCallingJdbc classCallingJdbc;
+
+        void call() throws SQLException {
+            classCallingJdbc.call();
+        }
+    }
+
     private static class ClassWithMethod {
         void method(String param) {
         }